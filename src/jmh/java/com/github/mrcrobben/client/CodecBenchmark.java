@@ -0,0 +1,117 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.codec.Codec;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sending an object serialised to a {@code String} with sending it through a {@link Codec}, which encodes
+ * it into a pooled buffer.
+ * <p>
+ * Run with {@code -prof gc} and compare {@code gc.alloc.rate.norm}, the bytes allocated per request: the string path
+ * allocates the serialised string and its UTF-8 copy for every request, the codec path reuses its buffer.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CodecBenchmark {
+
+    private static final byte[] RESPONSE = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PREFIX = "{\"id\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SEPARATOR = "\",\"content\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"1000", "100000"})
+    public int payloadSize;
+
+    private StubServer server;
+    private HttpClient httpClient;
+    private Document document;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        server = new StubServer(RESPONSE);
+        httpClient = new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "secretKey", "us-west-2", server.http1Endpoint(),
+                        "execute-api", 10_000))
+                .codec(new DocumentCodec())
+                .build();
+        final var content = new byte[payloadSize];
+        Arrays.fill(content, (byte) 'a');
+        document = new Document("doc-1", content);
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        server.close();
+    }
+
+    @Benchmark
+    public Status executeString() throws IOException {
+        final var json = "{\"id\":\"" + document.id() + "\",\"content\":\""
+                + new String(document.content(), StandardCharsets.US_ASCII) + "\"}";
+        try (InputStream response = httpClient.execute(HttpMethod.POST, json, ContentType.JSON)) {
+            return parse(new String(response.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Benchmark
+    public Status executeCodec() {
+        return httpClient.execute(HttpMethod.POST, document, Status.class);
+    }
+
+    private static Status parse(final String json) {
+        final var start = json.indexOf(':') + 2;
+        return new Status(json.substring(start, json.indexOf('"', start)));
+    }
+
+    public record Document(String id, byte[] content) {
+    }
+
+    public record Status(String status) {
+    }
+
+    /**
+     * Writes documents as JSON straight into the request buffer and reads the status from the response stream.
+     */
+    private static final class DocumentCodec implements Codec {
+
+        @Override
+        public ContentType contentType() {
+            return ContentType.JSON;
+        }
+
+        @Override
+        public void encode(final Object value, final OutputStream out) throws IOException {
+            final var document = (Document) value;
+            out.write(PREFIX);
+            out.write(document.id().getBytes(StandardCharsets.US_ASCII));
+            out.write(SEPARATOR);
+            out.write(document.content());
+            out.write(SUFFIX);
+        }
+
+        @Override
+        public <T> T decode(final InputStream in, final Class<T> type) throws IOException {
+            return type.cast(parse(new String(in.readNBytes(RESPONSE.length), StandardCharsets.UTF_8)));
+        }
+    }
+}
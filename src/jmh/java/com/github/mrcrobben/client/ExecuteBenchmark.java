@@ -0,0 +1,92 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures end-to-end execution of signed requests against an in-process stub server, for payloads from 100 B to
+ * 10 MB.
+ * <p>
+ * Both throughput and the latency distribution are reported; run with {@code -prof gc} to see the allocation rate
+ * per request.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExecuteBenchmark {
+
+    private static final byte[] RESPONSE = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int payloadSize;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpClient httpClient;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/stub", exchange -> {
+            exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            exchange.getResponseBody().write(RESPONSE);
+            exchange.close();
+        });
+        server.start();
+
+        final var endpoint = "http://localhost:" + server.getAddress().getPort() + "/stub";
+        httpClient = new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "secretKey", "us-west-2", endpoint, "execute-api",
+                        10_000))
+                .build();
+        payload = new byte[payloadSize];
+        Arrays.fill(payload, (byte) 'a');
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public byte[] execute() throws IOException {
+        try (InputStream response = httpClient.execute(HttpMethod.POST, payload, ContentType.JSON)) {
+            return response.readAllBytes();
+        }
+    }
+
+    @Benchmark
+    public byte[] executeAsync() throws IOException {
+        try (InputStream response = httpClient.executeAsync(HttpMethod.POST, RequestBody.fromBytes(payload),
+                ContentType.JSON).join()) {
+            return response.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.routing.Endpoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.auth.spi.signer.SignedRequest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building and signing a request with the client's own code paths, for payloads from 100 B to 10 MB.
+ * <p>
+ * Signing hashes the payload, so its cost grows with the payload size, while building the request does not touch
+ * the payload. Building from a {@link RequestTemplate} includes expanding the path and adding a query parameter.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestBuildingBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    public int payloadSize;
+
+    private HttpClient httpClient;
+    private Endpoint endpoint;
+    private RequestBody body;
+    private ApiRequest request;
+    private RequestTemplate template;
+    private SdkHttpFullRequest preparedRequest;
+
+    @Setup
+    public void setUp() {
+        httpClient = new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "secretKey", "us-west-2",
+                        "https://example.execute-api.us-west-2.amazonaws.com/prod", "execute-api", 3000))
+                .build();
+        endpoint = httpClient.getEndpoints().get(0);
+        final var payload = new byte[payloadSize];
+        Arrays.fill(payload, (byte) 'a');
+        body = RequestBody.fromBytes(payload);
+        request = ApiRequest.of(HttpMethod.POST, body, ContentType.JSON);
+        template = httpClient.prepare(HttpMethod.POST, "/orders/{id}/items", ContentType.JSON,
+                Map.of("x-api-key", "key"));
+        preparedRequest = prepare();
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+    }
+
+    @Benchmark
+    public SdkHttpFullRequest prepare() {
+        return httpClient.getPreparedRequest(endpoint, request, Map.of());
+    }
+
+    @Benchmark
+    public SdkHttpFullRequest prepareFromTemplate() {
+        final var templated = template.bind("order-42").queryParameter("expand", "true").body(body).build();
+        return httpClient.getPreparedRequest(endpoint, templated, Map.of());
+    }
+
+    @Benchmark
+    public SignedRequest sign() {
+        return httpClient.getSignedRequest(preparedRequest, endpoint.region(), body, null);
+    }
+}
@@ -0,0 +1,70 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.PayloadSigningMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.auth.aws.signer.AwsV4HttpSigner;
+import software.amazon.awssdk.http.auth.spi.signer.SignedRequest;
+import software.amazon.awssdk.identity.spi.AwsCredentialsIdentity;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of signing a single request.
+ * <p>
+ * {@link #perRequestSigner()} reproduces the previous behaviour of creating the signer and the credentials
+ * identity for every request, {@link #cachedSigner()} uses the {@link RequestSigner} of the client.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SigningBenchmark {
+
+    private AwsProperties awsProperties;
+    private RequestSigner requestSigner;
+    private SdkHttpFullRequest request;
+    private ContentStreamProvider payload;
+
+    @Setup
+    public void setUp() {
+        awsProperties = new AwsProperties("accessKey", "secretKey", "us-west-2",
+                "https://example.execute-api.us-west-2.amazonaws.com/prod", "execute-api", 3000);
+        requestSigner = new RequestSigner(awsProperties, PayloadSigningMode.SIGNED);
+        payload = ContentStreamProvider.fromUtf8String("{\"key\":\"value\"}");
+        request = SdkHttpFullRequest.builder()
+                .method(SdkHttpMethod.POST)
+                .uri(URI.create(awsProperties.awsApiGatewayEndpoint()))
+                .putHeader("Content-Type", ContentType.JSON.getContentType())
+                .contentStreamProvider(payload)
+                .build();
+    }
+
+    @Benchmark
+    public SignedRequest perRequestSigner() {
+        final var signer = AwsV4HttpSigner.create();
+        final var credentials = AwsCredentialsIdentity.create(awsProperties.awsIamAccessKey(),
+                awsProperties.awsSecretAccessKey());
+
+        return signer.sign(r -> r.identity(credentials)
+                .request(request)
+                .payload(payload)
+                .putProperty(AwsV4HttpSigner.SERVICE_SIGNING_NAME, awsProperties.serviceName())
+                .putProperty(AwsV4HttpSigner.REGION_NAME, awsProperties.awsRegion()));
+    }
+
+    @Benchmark
+    public SignedRequest cachedSigner() {
+        return requestSigner.sign(request, payload);
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.mrcrobben.client;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.FullHttpRequest;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An in-process server answering every request with a fixed body, over HTTP/1.1 on one port and over HTTP/2 with
+ * prior knowledge on another, so that all transports are measured against the same server implementation.
+ */
+final class StubServer implements AutoCloseable {
+
+    private final byte[] response;
+    private final EventLoopGroup group = new NioEventLoopGroup();
+    private final Channel http1;
+    private final Channel http2;
+
+    /**
+     * Starts the server on two ephemeral ports.
+     *
+     * @param response the body of every response. Must not be {@code null}.
+     * @throws InterruptedException if interrupted while binding the ports.
+     */
+    StubServer(final byte[] response) throws InterruptedException {
+        this.response = response;
+        this.http1 = bind(new ChannelInitializer<SocketChannel>() {
+            @Override
+            protected void initChannel(final SocketChannel channel) {
+                channel.pipeline().addLast(new HttpServerCodec(), new HttpObjectAggregator(16 * 1024 * 1024),
+                        new Http1Responder());
+            }
+        });
+        this.http2 = bind(new ChannelInitializer<SocketChannel>() {
+            @Override
+            protected void initChannel(final SocketChannel channel) {
+                channel.pipeline().addLast(Http2FrameCodecBuilder.forServer().build(),
+                        new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+                            @Override
+                            protected void initChannel(final Http2StreamChannel stream) {
+                                stream.pipeline().addLast(new Http2Responder());
+                            }
+                        }));
+            }
+        });
+    }
+
+    /**
+     * Returns the endpoint serving HTTP/1.1.
+     *
+     * @return the URL of the HTTP/1.1 endpoint.
+     */
+    String http1Endpoint() {
+        return "http://localhost:" + ((InetSocketAddress) http1.localAddress()).getPort() + "/stub";
+    }
+
+    /**
+     * Returns the endpoint serving HTTP/2 with prior knowledge.
+     *
+     * @return the URL of the HTTP/2 endpoint.
+     */
+    String http2Endpoint() {
+        return "http://localhost:" + ((InetSocketAddress) http2.localAddress()).getPort() + "/stub";
+    }
+
+    @Override
+    public void close() {
+        http1.close().syncUninterruptibly();
+        http2.close().syncUninterruptibly();
+        group.shutdownGracefully(0, 0, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    private Channel bind(final ChannelHandler initializer) throws InterruptedException {
+        return new ServerBootstrap()
+                .group(group)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(initializer)
+                .bind("localhost", 0)
+                .sync()
+                .channel();
+    }
+
+    private final class Http1Responder extends SimpleChannelInboundHandler<FullHttpRequest> {
+
+        @Override
+        protected void channelRead0(final ChannelHandlerContext ctx, final FullHttpRequest request) {
+            final var reply = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.OK,
+                    Unpooled.wrappedBuffer(response));
+            reply.headers().setInt(HttpHeaderNames.CONTENT_LENGTH, response.length);
+            ctx.writeAndFlush(reply);
+        }
+    }
+
+    private final class Http2Responder extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            var endStream = false;
+            if (msg instanceof Http2HeadersFrame) {
+                endStream = ((Http2HeadersFrame) msg).isEndStream();
+            } else if (msg instanceof Http2DataFrame) {
+                final var data = (Http2DataFrame) msg;
+                endStream = data.isEndStream();
+                data.release();
+            }
+            if (endStream) {
+                ctx.write(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().status("200")));
+                ctx.writeAndFlush(new DefaultHttp2DataFrame(Unpooled.wrappedBuffer(response), true));
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.model.PoolProperties;
+import com.github.mrcrobben.model.TransportType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the throughput of the transports with 32 threads sending signed requests concurrently against an
+ * in-process stub server.
+ * <p>
+ * The HTTP/1.1 transports need a connection per request in flight, while the HTTP/2 transport multiplexes the
+ * requests over one connection; the pool is sized for the threads so that none of them waits for a connection.
+ * See {@link TransportStartupBenchmark} for the time to the first response.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+public class TransportBenchmark {
+
+    private static final byte[] RESPONSE = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"APACHE", "URL_CONNECTION", "HTTP2"})
+    public TransportType transportType;
+
+    @Param({"100", "10000"})
+    public int payloadSize;
+
+    private StubServer server;
+    private HttpClient httpClient;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        server = new StubServer(RESPONSE);
+        final var endpoint = transportType == TransportType.HTTP2 ? server.http2Endpoint() : server.http1Endpoint();
+        httpClient = new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "secretKey", "us-west-2", endpoint, "execute-api",
+                        10_000))
+                .poolProperties(new PoolProperties(64, null, null, null, null, null, null, null))
+                .transportType(transportType)
+                .build();
+        payload = new byte[payloadSize];
+        Arrays.fill(payload, (byte) 'a');
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClient.close();
+        server.close();
+    }
+
+    @Benchmark
+    public byte[] execute() throws IOException {
+        try (InputStream response = httpClient.execute(HttpMethod.POST, payload, ContentType.JSON)) {
+            return response.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.model.TransportType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time from building a client in a fresh JVM to its first response, for every transport.
+ * <p>
+ * Each fork builds one client and sends one request, so class loading and connection setup are included; closing
+ * the client is not measured. The fork and iteration counts passed by the {@code benchmark} profile override the
+ * annotations; run it with {@code -Djmh.args="TransportStartupBenchmark -f 10 -wi 0 -i 1"}. The stub server is built
+ * on Netty, so the core Netty classes are already loaded and the startup time of the HTTP/2 transport is somewhat
+ * understated.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class TransportStartupBenchmark {
+
+    private static final byte[] RESPONSE = "{\"status\":\"ok\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"APACHE", "URL_CONNECTION", "HTTP2"})
+    public TransportType transportType;
+
+    private StubServer server;
+    private AwsProperties awsProperties;
+    private HttpClient httpClient;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        server = new StubServer(RESPONSE);
+        final var endpoint = transportType == TransportType.HTTP2 ? server.http2Endpoint() : server.http1Endpoint();
+        awsProperties = new AwsProperties("accessKey", "secretKey", "us-west-2", endpoint, "execute-api", 10_000);
+    }
+
+    @TearDown(Level.Invocation)
+    public void closeClient() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public byte[] firstResponse() throws IOException {
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties)
+                .transportType(transportType)
+                .build();
+        try (InputStream response = httpClient.execute(HttpMethod.POST, "{}", ContentType.JSON)) {
+            return response.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.mrcrobben.cache;
+
+/**
+ * A snapshot of the counters of a {@link ResponseCache}.
+ *
+ * @param hits the number of requests answered from a fresh cache entry.
+ * @param misses the number of requests without a usable cache entry.
+ * @param revalidations the number of stale entries confirmed by a {@code 304 Not Modified} response.
+ * @param evictions the number of entries removed to stay within the size limits.
+ * @param entries the number of entries currently cached.
+ * @param bytes the total size of the currently cached bodies.
+ */
+public record CacheStatistics(long hits,
+                              long misses,
+                              long revalidations,
+                              long evictions,
+                              int entries,
+                              long bytes) {
+
+    /**
+     * Statistics of a client without response cache.
+     */
+    public static final CacheStatistics EMPTY = new CacheStatistics(0, 0, 0, 0, 0, 0);
+}
@@ -0,0 +1,45 @@
+package com.github.mrcrobben.cache;
+
+import software.amazon.awssdk.http.SdkHttpResponse;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * A response held by the {@link ResponseCache}, with its body and freshness lifetime.
+ *
+ * @param httpResponse the status line and headers of the response.
+ * @param body the response body.
+ * @param expires the instant until which the response may be used without revalidation.
+ */
+public record CachedResponse(SdkHttpResponse httpResponse,
+                             byte[] body,
+                             Instant expires) {
+
+    /**
+     * Checks whether the response may still be used without asking the server.
+     *
+     * @param now the current time.
+     * @return {@code true} if the response is fresh.
+     */
+    public boolean isFresh(final Instant now) {
+        return now.isBefore(expires);
+    }
+
+    public Optional<String> etag() {
+        return httpResponse.firstMatchingHeader("ETag");
+    }
+
+    public Optional<String> lastModified() {
+        return httpResponse.firstMatchingHeader("Last-Modified");
+    }
+
+    /**
+     * Checks whether the response carries a validator for a conditional request.
+     *
+     * @return {@code true} if an {@code ETag} or {@code Last-Modified} header is present.
+     */
+    public boolean hasValidator() {
+        return etag().isPresent() || lastModified().isPresent();
+    }
+}
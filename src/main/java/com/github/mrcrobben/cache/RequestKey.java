@@ -0,0 +1,57 @@
+package com.github.mrcrobben.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Identifies requests that are interchangeable for caching and coalescing.
+ * <p>
+ * The body is compared by content, so two keys are only equal if the requests send exactly the same bytes. Request
+ * headers such as {@code x-api-key} or tenant headers are part of the key, with their names lower-cased and sorted,
+ * so requests made on behalf of different callers never share a response.
+ * </p>
+ *
+ * @param method the HTTP method.
+ * @param uri the full request URI.
+ * @param contentType the content type of the request.
+ * @param headers the request headers, by lower-case name in sorted order.
+ * @param body a read-only view of the request body.
+ */
+public record RequestKey(String method, String uri, String contentType, Map<String, String> headers,
+                         ByteBuffer body) {
+
+    /**
+     * Creates the key of a request without request headers.
+     *
+     * @param method the HTTP method of the request.
+     * @param uri the full URI of the request.
+     * @param contentType the content type of the request.
+     * @param body the request body; it must not be modified while the key is in use.
+     * @return the request key.
+     */
+    public static RequestKey of(final String method, final String uri, final String contentType,
+                                final ByteBuffer body) {
+        return of(method, uri, contentType, Map.of(), body);
+    }
+
+    /**
+     * Creates the key of a request.
+     *
+     * @param method the HTTP method of the request.
+     * @param uri the full URI of the request.
+     * @param contentType the content type of the request.
+     * @param headers the headers set on the request, matched case-insensitively by name.
+     * @param body the request body; it must not be modified while the key is in use.
+     * @return the request key.
+     */
+    public static RequestKey of(final String method, final String uri, final String contentType,
+                                final Map<String, String> headers, final ByteBuffer body) {
+        final var canonical = new TreeMap<String, String>();
+        headers.forEach((name, value) -> canonical.put(name.toLowerCase(Locale.ROOT), value));
+        return new RequestKey(method, uri, contentType, Collections.unmodifiableMap(canonical),
+                body.asReadOnlyBuffer());
+    }
+}
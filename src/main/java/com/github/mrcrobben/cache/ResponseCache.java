@@ -0,0 +1,237 @@
+package com.github.mrcrobben.cache;
+
+import com.github.mrcrobben.model.CacheProperties;
+import software.amazon.awssdk.http.SdkHttpResponse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * A size-bounded in-memory cache of successful {@code GET} responses.
+ * <p>
+ * Freshness follows the {@code Cache-Control} ({@code max-age}, {@code no-cache}, {@code no-store}) and
+ * {@code Expires} headers of the response, minus its {@code Age}. Responses with neither, but with an {@code ETag}
+ * or {@code Last-Modified} validator, are cached as immediately stale so they are revalidated on every use. Entries
+ * are evicted in least-recently-used order once the entry count or the total body size exceeds its limit.
+ * {@code Vary} is not evaluated; the {@link RequestKey} already covers method, URI, content type, request headers
+ * and request body.
+ * </p>
+ */
+public final class ResponseCache {
+
+    private final CacheProperties properties;
+    private final LinkedHashMap<RequestKey, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long revalidations;
+    private long evictions;
+
+    /**
+     * Constructs an empty response cache.
+     *
+     * @param properties the size limits of the cache. Must not be {@code null}.
+     */
+    public ResponseCache(final CacheProperties properties) {
+        if (properties == null) {
+            throw new IllegalArgumentException("Cache properties must not be null.");
+        }
+        this.properties = properties;
+    }
+
+    /**
+     * Looks up the entry of a request and counts a hit if it is fresh, a miss otherwise.
+     *
+     * @param key the cache key of the request.
+     * @param now the current time.
+     * @return the cached entry, fresh or stale, or an empty {@link Optional} if there is none.
+     */
+    public synchronized Optional<CachedResponse> lookup(final RequestKey key, final Instant now) {
+        final var entry = entries.get(key);
+        if (entry != null && entry.isFresh(now)) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    /**
+     * Checks whether a response may be stored, judging by its status and headers only.
+     *
+     * @param httpResponse the status line and headers of the response.
+     * @param now the time the response was received.
+     * @return {@code true} if the response is a {@code 200} with a known length that fits into the cache and with
+     * either a freshness lifetime or a validator. A decompressed body may still turn out too large when it is
+     * {@link #store stored}.
+     */
+    public boolean isStorable(final SdkHttpResponse httpResponse, final Instant now) {
+        if (httpResponse.statusCode() != 200) {
+            return false;
+        }
+        final var contentLength = httpResponse.firstMatchingHeader("Content-Length")
+                .flatMap(ResponseCache::parseLong);
+        if (contentLength.isEmpty() || contentLength.get() > properties.maxBytes()) {
+            return false;
+        }
+        final var expires = expires(httpResponse, now);
+        return expires.isPresent() && (expires.get().isAfter(now)
+                || httpResponse.firstMatchingHeader("ETag").isPresent()
+                || httpResponse.firstMatchingHeader("Last-Modified").isPresent());
+    }
+
+    /**
+     * Stores a response that {@link #isStorable(SdkHttpResponse, Instant) is storable}, replacing any previous entry
+     * of the request and evicting the least recently used entries as needed.
+     * <p>
+     * The {@code Content-Length} of the entry is set to the length of the stored body, which differs from the
+     * received one if the body was decompressed. A body larger than the byte limit of the cache is not kept, and any
+     * previous entry of the request is dropped.
+     * </p>
+     *
+     * @param key the cache key of the request.
+     * @param httpResponse the status line and headers of the response, describing the body as stored.
+     * @param body the complete response body.
+     * @param now the time the response was received.
+     * @return the entry, also if it was too large to be kept.
+     */
+    public synchronized CachedResponse store(final RequestKey key, final SdkHttpResponse httpResponse,
+                                             final byte[] body, final Instant now) {
+        final var stored = httpResponse.toBuilder()
+                .putHeader("Content-Length", Integer.toString(body.length))
+                .build();
+        final var entry = new CachedResponse(stored, body, expires(stored, now).orElse(now));
+        remove(key);
+        if (body.length > properties.maxBytes()) {
+            return entry;
+        }
+        entries.put(key, entry);
+        bytes += body.length;
+        evict();
+        return entry;
+    }
+
+    /**
+     * Renews a stale entry after the server confirmed it with {@code 304 Not Modified}.
+     *
+     * @param key the cache key of the request.
+     * @param entry the stale entry that was revalidated.
+     * @param notModified the {@code 304} response, whose caching headers replace those of the entry.
+     * @param now the time the response was received.
+     * @return the renewed entry.
+     */
+    public synchronized CachedResponse revalidated(final RequestKey key, final CachedResponse entry,
+                                                   final SdkHttpResponse notModified, final Instant now) {
+        revalidations++;
+
+        final var merged = entry.httpResponse().toBuilder();
+        notModified.headers().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase("Content-Length") && !name.equalsIgnoreCase("Content-Encoding")) {
+                merged.putHeader(name, values);
+            }
+        });
+        final var httpResponse = merged.build();
+        final var renewed = new CachedResponse(httpResponse, entry.body(),
+                expires(httpResponse, now).orElse(now));
+
+        if (entries.get(key) == entry) {
+            entries.put(key, renewed);
+        }
+        return renewed;
+    }
+
+    /**
+     * Returns a snapshot of the counters of this cache.
+     *
+     * @return the current {@link CacheStatistics}.
+     */
+    public synchronized CacheStatistics statistics() {
+        return new CacheStatistics(hits, misses, revalidations, evictions, entries.size(), bytes);
+    }
+
+    private void remove(final RequestKey key) {
+        final var previous = entries.remove(key);
+        if (previous != null) {
+            bytes -= previous.body().length;
+        }
+    }
+
+    private void evict() {
+        final var iterator = entries.values().iterator();
+        while ((entries.size() > properties.maxEntries() || bytes > properties.maxBytes()) && iterator.hasNext()) {
+            bytes -= iterator.next().body().length;
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Computes until when a response is fresh.
+     *
+     * @param httpResponse the response.
+     * @param now the time the response was received.
+     * @return the expiry instant, or an empty {@link Optional} if the response must not be stored.
+     */
+    static Optional<Instant> expires(final SdkHttpResponse httpResponse, final Instant now) {
+        final var cacheControl = httpResponse.firstMatchingHeader("Cache-Control")
+                .map(value -> value.toLowerCase(Locale.ROOT))
+                .orElse("");
+        if (cacheControl.contains("no-store")) {
+            return Optional.empty();
+        }
+        if (cacheControl.contains("no-cache")) {
+            return Optional.of(now);
+        }
+
+        final var age = httpResponse.firstMatchingHeader("Age")
+                .flatMap(ResponseCache::parseSeconds)
+                .orElse(Duration.ZERO);
+        for (String directive : cacheControl.split(",")) {
+            final var trimmed = directive.trim();
+            if (trimmed.startsWith("max-age=")) {
+                final var maxAge = parseSeconds(trimmed.substring("max-age=".length()));
+                if (maxAge.isPresent()) {
+                    final var lifetime = maxAge.get().minus(age);
+                    return Optional.of(lifetime.isNegative() ? now : now.plus(lifetime));
+                }
+            }
+        }
+
+        final var expires = httpResponse.firstMatchingHeader("Expires").map(ResponseCache::parseDate);
+        if (expires.isPresent()) {
+            final var date = httpResponse.firstMatchingHeader("Date").map(ResponseCache::parseDate)
+                    .flatMap(d -> d)
+                    .orElse(now);
+            final var lifetime = expires.get().map(e -> Duration.between(date, e)).orElse(Duration.ZERO);
+            return Optional.of(lifetime.isNegative() ? now : now.plus(lifetime));
+        }
+
+        return Optional.of(now);
+    }
+
+    private static Optional<Duration> parseSeconds(final String value) {
+        return parseLong(value).map(seconds -> Duration.ofSeconds(Math.max(0, seconds)));
+    }
+
+    private static Optional<Long> parseLong(final String value) {
+        try {
+            return Optional.of(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Instant> parseDate(final String value) {
+        try {
+            return Optional.of(ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.exception.ApiGatewayException;
+import software.amazon.awssdk.http.Abortable;
+import software.amazon.awssdk.http.SdkHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * A response received from the API Gateway: status, headers and a streaming body.
+ * <p>
+ * The body holds on to a pooled connection until it is fully read or the response is closed, so responses must
+ * always be closed, preferably with try-with-resources. Closing drains a small remainder of the body so the
+ * connection can be reused, and aborts the connection if more than {@value #DRAIN_LIMIT} bytes are left.
+ * </p>
+ * <p>
+ * If the client decompresses responses, a body with a {@code gzip} or {@code deflate} {@code Content-Encoding} is
+ * decompressed while it is read; the headers are returned as received.
+ * </p>
+ */
+public final class ApiGatewayResponse implements AutoCloseable {
+
+    /**
+     * The maximum number of unread body bytes that are drained on close, and the maximum size of an error body.
+     */
+    static final int DRAIN_LIMIT = 64 * 1024;
+
+    private static final String[] REQUEST_ID_HEADERS = {"x-amzn-RequestId", "x-amz-apigw-id"};
+
+    private final SdkHttpResponse httpResponse;
+    private final InputStream body;
+    private final boolean decompress;
+    private String errorBody;
+    private boolean closed;
+    private long bytesRead;
+    private LongConsumer closeListener;
+
+    /**
+     * Constructs a response from the SDK response and its body.
+     *
+     * @param httpResponse the status line and headers of the response. Must not be {@code null}.
+     * @param body the response body, or {@code null} if the response has none.
+     */
+    ApiGatewayResponse(final SdkHttpResponse httpResponse, final InputStream body) {
+        this(httpResponse, body, false);
+    }
+
+    /**
+     * Constructs a response from the SDK response and its body, optionally decompressing the body.
+     *
+     * @param httpResponse the status line and headers of the response. Must not be {@code null}.
+     * @param body the response body as received, or {@code null} if the response has none.
+     * @param decompress whether a body compressed with a known {@code Content-Encoding} is decompressed.
+     */
+    ApiGatewayResponse(final SdkHttpResponse httpResponse, final InputStream body, final boolean decompress) {
+        this.httpResponse = httpResponse;
+        this.body = body;
+        this.decompress = decompress;
+    }
+
+    public int statusCode() {
+        return httpResponse.statusCode();
+    }
+
+    public Optional<String> statusText() {
+        return httpResponse.statusText();
+    }
+
+    /**
+     * Checks whether the status code of this response is in the 2xx range.
+     *
+     * @return {@code true} if the request was successful.
+     */
+    public boolean isSuccessful() {
+        return httpResponse.isSuccessful();
+    }
+
+    public Map<String, List<String>> headers() {
+        return httpResponse.headers();
+    }
+
+    /**
+     * Returns the first value of the given header, matched case-insensitively.
+     *
+     * @param name the name of the header. Must not be {@code null}.
+     * @return the first value of the header, or an empty {@link Optional} if it is absent.
+     */
+    public Optional<String> firstHeader(final String name) {
+        return httpResponse.firstMatchingHeader(name);
+    }
+
+    /**
+     * Returns the request id assigned by the API Gateway, used to correlate the request with its logs.
+     *
+     * @return the request id, or an empty {@link Optional} if the response carries none.
+     */
+    public Optional<String> requestId() {
+        for (String header : REQUEST_ID_HEADERS) {
+            final var value = httpResponse.firstMatchingHeader(header);
+            if (value.isPresent()) {
+                return value;
+            }
+        }
+        return Optional.empty();
+    }
+
+    SdkHttpResponse httpResponse() {
+        return httpResponse;
+    }
+
+    /**
+     * Registers a callback invoked once when this response is closed.
+     *
+     * @param closeListener receives the number of body bytes read, including drained ones.
+     */
+    synchronized void onClose(final LongConsumer closeListener) {
+        this.closeListener = closeListener;
+    }
+
+    /**
+     * Returns the length of a body held in memory.
+     *
+     * @return the number of unread bytes of an in-memory body, {@code 0} without body, or {@code -1} if the body is
+     * streamed from a connection.
+     */
+    long bufferedBodyLength() {
+        if (body == null) {
+            return 0;
+        }
+        return body instanceof ByteArrayInputStream ? ((ByteArrayInputStream) body).available() : -1;
+    }
+
+    /**
+     * Checks whether this response has a body.
+     *
+     * @return {@code true} if a body was received.
+     */
+    public boolean hasBody() {
+        return body != null;
+    }
+
+    /**
+     * Returns the streaming body of this response. Closing the stream has the same effect as closing the response.
+     *
+     * @return the body, or an empty stream if the response has none.
+     */
+    public InputStream body() {
+        return body != null ? decoded(new ResponseBodyStream(body)) : InputStream.nullInputStream();
+    }
+
+    private InputStream decoded(final InputStream stream) {
+        return decompress
+                ? Compression.decompress(httpResponse.firstMatchingHeader("Content-Encoding").orElse(null), stream)
+                : stream;
+    }
+
+    /**
+     * Reads the body of an unsuccessful response as UTF-8 text and closes the response.
+     * <p>
+     * The body is read on first call only, up to {@value #DRAIN_LIMIT} bytes.
+     * </p>
+     *
+     * @return the error body, or an empty string if the response was successful or has no body.
+     */
+    public synchronized String errorBody() {
+        if (errorBody == null) {
+            errorBody = "";
+            if (!isSuccessful() && body != null && !closed) {
+                try (var stream = body()) {
+                    errorBody = new String(stream.readNBytes(DRAIN_LIMIT), StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    close();
+                }
+            }
+        }
+        return errorBody;
+    }
+
+    /**
+     * Creates an {@link ApiGatewayException} describing this unsuccessful response, and closes the response.
+     *
+     * @return the exception carrying status code, request id and error body.
+     */
+    ApiGatewayException toException() {
+        final var sb = new StringBuilder();
+        sb.append("Status code: ").append(statusCode());
+        statusText().ifPresent(txt -> sb.append("Status text: ").append(txt));
+
+        String error;
+        try {
+            error = errorBody();
+        } catch (UncheckedIOException e) {
+            error = "";
+        }
+        return new ApiGatewayException(sb.toString(), statusCode(), requestId().orElse(null), error);
+    }
+
+    /**
+     * Releases the connection held by the body.
+     * <p>
+     * Up to {@value #DRAIN_LIMIT} unread bytes are drained so the connection can be returned to the pool; if more
+     * are left, the connection is aborted instead. Closing a response more than once has no effect.
+     * </p>
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (body == null) {
+            notifyClosed();
+            return;
+        }
+        try {
+            if (!drain()) {
+                abort();
+            }
+        } catch (IOException e) {
+            abort();
+        } finally {
+            try {
+                body.close();
+            } catch (IOException ignored) {
+                // The connection has already been aborted or released.
+            }
+            notifyClosed();
+        }
+    }
+
+    private void notifyClosed() {
+        if (closeListener != null) {
+            closeListener.accept(bytesRead);
+        }
+    }
+
+    /**
+     * Reads and discards up to {@value #DRAIN_LIMIT} remaining bytes of the body.
+     *
+     * @return {@code true} if the end of the body was reached.
+     * @throws IOException if reading the body fails.
+     */
+    private boolean drain() throws IOException {
+        final var buffer = new byte[8192];
+        var remaining = DRAIN_LIMIT;
+        while (remaining > 0) {
+            final var read = body.read(buffer, 0, Math.min(buffer.length, remaining));
+            if (read < 0) {
+                return true;
+            }
+            bytesRead += read;
+            remaining -= read;
+        }
+        return body.read() < 0;
+    }
+
+    private void abort() {
+        if (body instanceof Abortable) {
+            ((Abortable) body).abort();
+        }
+    }
+
+    /**
+     * The body stream handed out to callers, releasing the connection like the response when it is closed.
+     */
+    private final class ResponseBodyStream extends FilterInputStream {
+
+        private ResponseBodyStream(final InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final var read = super.read();
+            if (read >= 0) {
+                count(1);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final var read = super.read(b, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) throws IOException {
+            final var skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        private void count(final long bytes) {
+            synchronized (ApiGatewayResponse.this) {
+                bytesRead += bytes;
+            }
+        }
+
+        @Override
+        public void close() {
+            ApiGatewayResponse.this.close();
+        }
+    }
+}
@@ -0,0 +1,269 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.model.HttpMethod;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single request to the API Gateway: method, resource path, query parameters, headers, body and content type.
+ * <p>
+ * Instances are immutable and can be created with {@link #of(HttpMethod, String, ContentType)}, with the nested
+ * {@link Builder} class, or from a {@link RequestTemplate}. The path is appended to the path of the endpoint; without
+ * a path the request targets the endpoint itself.
+ * </p>
+ */
+public final class ApiRequest {
+
+    private final HttpMethod method;
+    private final String path;
+    private final Map<String, List<String>> queryParameters;
+    private final Map<String, String> headers;
+    private final RequestBody body;
+    private final ContentType contentType;
+
+    private ApiRequest(final Builder builder) {
+        if (builder.method == null) {
+            throw new IllegalArgumentException("HTTP method must not be null.");
+        }
+        if (builder.contentType == null) {
+            throw new IllegalArgumentException("Content type must not be null.");
+        }
+        this.method = builder.method;
+        this.path = builder.path;
+        this.queryParameters = builder.queryParameters != null ? copyOf(builder.queryParameters) : Map.of();
+        this.headers = builder.headersShared ? builder.headers : Map.copyOf(builder.headers);
+        this.body = builder.body != null ? builder.body : RequestBody.fromBytes(new byte[0]);
+        this.contentType = builder.contentType;
+    }
+
+    private ApiRequest(final ApiRequest request, final RequestBody body, final Map<String, String> headers) {
+        this.method = request.method;
+        this.path = request.path;
+        this.queryParameters = request.queryParameters;
+        this.headers = headers;
+        this.body = body;
+        this.contentType = request.contentType;
+    }
+
+    /**
+     * Creates a request with the given method, UTF-8 encoded payload and content type.
+     *
+     * @param method the HTTP method of the request. Must not be {@code null}.
+     * @param payload the payload of the request. Must not be {@code null}.
+     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @return a new {@code ApiRequest}.
+     */
+    public static ApiRequest of(final HttpMethod method, final String payload, final ContentType contentType) {
+        return of(method, RequestBody.fromString(payload), contentType);
+    }
+
+    /**
+     * Creates a request with the given method, body and content type.
+     *
+     * @param method the HTTP method of the request. Must not be {@code null}.
+     * @param body the body of the request. Must not be {@code null}.
+     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @return a new {@code ApiRequest}.
+     */
+    public static ApiRequest of(final HttpMethod method, final RequestBody body, final ContentType contentType) {
+        return new Builder().method(method).body(body).contentType(contentType).build();
+    }
+
+    public HttpMethod method() {
+        return method;
+    }
+
+    /**
+     * Returns the URL-encoded resource path of this request, relative to the endpoint.
+     *
+     * @return the path starting with {@code /}, or an empty string if the request targets the endpoint itself.
+     */
+    public String path() {
+        return path;
+    }
+
+    /**
+     * Returns the query parameters of this request.
+     *
+     * @return the parameter values by name, not URL-encoded.
+     */
+    public Map<String, List<String>> queryParameters() {
+        return queryParameters;
+    }
+
+    public Map<String, String> headers() {
+        return headers;
+    }
+
+    public RequestBody body() {
+        return body;
+    }
+
+    public ContentType contentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the path and query of this request as sent, identifying the resource for caching and coalescing.
+     *
+     * @return the URL-encoded path followed by the encoded query string, if any.
+     */
+    String target() {
+        if (queryParameters.isEmpty()) {
+            return path;
+        }
+        return path + "?" + SdkHttpUtils.encodeAndFlattenQueryParameters(queryParameters).orElse("");
+    }
+
+    /**
+     * Creates a copy of this request with an encoded body, such as a compressed one.
+     *
+     * @param body the encoded body. Must not be {@code null}.
+     * @param header the name of the header describing the encoding. Must not be {@code null}.
+     * @param value the value of the header. Must not be {@code null}.
+     * @return a new {@code ApiRequest} with the given body and the header added.
+     */
+    ApiRequest withEncodedBody(final RequestBody body, final String header, final String value) {
+        final var encodedHeaders = new LinkedHashMap<>(headers);
+        encodedHeaders.put(header, value);
+        return new ApiRequest(this, body, Collections.unmodifiableMap(encodedHeaders));
+    }
+
+    private static Map<String, List<String>> copyOf(final Map<String, List<String>> queryParameters) {
+        final var copy = new LinkedHashMap<String, List<String>>();
+        queryParameters.forEach((name, values) -> copy.put(name, List.copyOf(values)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Builder class for creating {@link ApiRequest} instances.
+     */
+    public static class Builder {
+        private HttpMethod method;
+        private String path = "";
+        private Map<String, List<String>> queryParameters;
+        private Map<String, String> headers = Map.of();
+        private boolean headersShared = true;
+        private RequestBody body;
+        private ContentType contentType = ContentType.JSON;
+
+        /**
+         * Sets the HTTP method of the request.
+         *
+         * @param method the HTTP method. Must not be {@code null}.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder method(final HttpMethod method) {
+            this.method = method;
+            return this;
+        }
+
+        /**
+         * Sets the resource path of the request, appended to the path of the endpoint.
+         * <p>
+         * The path is sent as given, so reserved characters must already be URL-encoded. Use a
+         * {@link RequestTemplate} to encode variable path segments.
+         * </p>
+         *
+         * @param path the URL-encoded path, starting with {@code /}. Must not be {@code null}.
+         * @return this {@code Builder} instance for method chaining.
+         * @throws IllegalArgumentException if the path is {@code null} or does not start with {@code /}.
+         */
+        public Builder path(final String path) {
+            if (path == null || !path.startsWith("/")) {
+                throw new IllegalArgumentException("Path must start with '/'.");
+            }
+            this.path = path;
+            return this;
+        }
+
+        /**
+         * Adds a query parameter to the request. Adding a parameter more than once sends all its values.
+         *
+         * @param name the name of the parameter. Must not be {@code null}.
+         * @param value the value of the parameter, not URL-encoded. Must not be {@code null}.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder queryParameter(final String name, final String value) {
+            if (name == null || value == null) {
+                throw new IllegalArgumentException("Query parameter name and value must not be null.");
+            }
+            if (queryParameters == null) {
+                queryParameters = new LinkedHashMap<>();
+            }
+            queryParameters.computeIfAbsent(name, n -> new ArrayList<>(1)).add(value);
+            return this;
+        }
+
+        /**
+         * Sets a header of the request, replacing a previous value of the same header.
+         *
+         * @param name the name of the header. Must not be {@code null}.
+         * @param value the value of the header. Must not be {@code null}.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder header(final String name, final String value) {
+            if (name == null || value == null) {
+                throw new IllegalArgumentException("Header name and value must not be null.");
+            }
+            if (headersShared) {
+                headers = new LinkedHashMap<>(headers);
+                headersShared = false;
+            }
+            headers.put(name, value);
+            return this;
+        }
+
+        /**
+         * Sets the body of the request.
+         *
+         * @param body the request body. May be {@code null} for an empty body.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder body(final RequestBody body) {
+            this.body = body;
+            return this;
+        }
+
+        /**
+         * Sets the content type of the request body. Defaults to {@link ContentType#JSON}.
+         *
+         * @param contentType the content type. Must not be {@code null}.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder contentType(final ContentType contentType) {
+            this.contentType = contentType;
+            return this;
+        }
+
+        /**
+         * Starts the request with the precompiled parts of a template, sharing its header map until a header is
+         * added.
+         *
+         * @param path the expanded, URL-encoded path. Must not be {@code null}.
+         * @param headers the headers of the template, never modified. Must not be {@code null}.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        Builder template(final String path, final Map<String, String> headers) {
+            this.path = path;
+            this.headers = headers;
+            this.headersShared = true;
+            return this;
+        }
+
+        /**
+         * Builds and returns a new {@link ApiRequest} instance.
+         *
+         * @return a new {@code ApiRequest} instance.
+         * @throws IllegalArgumentException if the method or content type is missing.
+         */
+        public ApiRequest build() {
+            return new ApiRequest(this);
+        }
+    }
+}
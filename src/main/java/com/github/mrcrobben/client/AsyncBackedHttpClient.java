@@ -0,0 +1,150 @@
+package com.github.mrcrobben.client;
+
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.utils.async.InputStreamSubscriber;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A blocking {@link SdkHttpClient} that sends its requests with a non-blocking {@link SdkAsyncHttpClient}.
+ * <p>
+ * This lets the blocking API use a client that only exists as a non-blocking one, such as the HTTP/2 client. The
+ * calling thread waits for the response headers only; the body is streamed as it arrives. Request bodies are read
+ * into memory before they are sent. The non-blocking client is owned by the caller and not closed by this client.
+ * </p>
+ */
+final class AsyncBackedHttpClient implements SdkHttpClient {
+
+    private final SdkAsyncHttpClient delegate;
+
+    /**
+     * Constructs a blocking client on top of the given non-blocking client.
+     *
+     * @param delegate the client sending the requests. Must not be {@code null}.
+     */
+    AsyncBackedHttpClient(final SdkAsyncHttpClient delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ExecutableHttpRequest prepareRequest(final HttpExecuteRequest request) {
+        return new Call(request);
+    }
+
+    @Override
+    public String clientName() {
+        return delegate.clientName();
+    }
+
+    /**
+     * Does nothing, as the non-blocking client is closed by its owner.
+     */
+    @Override
+    public void close() {
+        // The delegate is owned by the transport.
+    }
+
+    private final class Call implements ExecutableHttpRequest {
+
+        private final HttpExecuteRequest request;
+        private final StreamingResponseHandler responseHandler = new StreamingResponseHandler();
+        private volatile CompletableFuture<Void> execution;
+
+        private Call(final HttpExecuteRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public HttpExecuteResponse call() throws IOException {
+            final byte[] content;
+            if (request.contentStreamProvider().isPresent()) {
+                try (var stream = request.contentStreamProvider().get().newStream()) {
+                    content = stream.readAllBytes();
+                }
+            } else {
+                content = new byte[0];
+            }
+
+            final var execution = delegate.execute(AsyncExecuteRequest.builder()
+                    .request(request.httpRequest())
+                    .requestContentPublisher(new ByteBufferContentPublisher(ByteBuffer.wrap(content)))
+                    .responseHandler(responseHandler)
+                    .metricCollector(request.metricCollector().orElse(null))
+                    .build());
+            this.execution = execution;
+            execution.whenComplete((ignored, e) -> {
+                if (e != null) {
+                    responseHandler.onError(e);
+                }
+            });
+
+            try {
+                return responseHandler.response.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abort();
+                throw new InterruptedIOException("Interrupted while waiting for the response.");
+            } catch (ExecutionException e) {
+                final var cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) cause).getCause();
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        @Override
+        public void abort() {
+            final var execution = this.execution;
+            if (execution != null) {
+                execution.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Completes the response once the headers have arrived, with a body that blocks until data is received.
+     */
+    private static final class StreamingResponseHandler implements SdkAsyncHttpResponseHandler {
+
+        private final CompletableFuture<HttpExecuteResponse> response = new CompletableFuture<>();
+        private volatile SdkHttpResponse headers;
+
+        @Override
+        public void onHeaders(final SdkHttpResponse headers) {
+            this.headers = headers;
+        }
+
+        @Override
+        public void onStream(final Publisher<ByteBuffer> stream) {
+            final var body = new InputStreamSubscriber();
+            stream.subscribe(body);
+            response.complete(HttpExecuteResponse.builder()
+                    .response(headers)
+                    .responseBody(AbortableInputStream.create(body, body::close))
+                    .build());
+        }
+
+        @Override
+        public void onError(final Throwable error) {
+            response.completeExceptionally(error);
+        }
+    }
+}
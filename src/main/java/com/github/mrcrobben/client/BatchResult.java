@@ -0,0 +1,24 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.exception.ApiGatewayException;
+
+/**
+ * The outcome of one request of a batch: either a successful response or the failure.
+ *
+ * @param index the position of the request in the batch, starting at {@code 0}.
+ * @param response the successful response, with its body buffered in memory, or {@code null} if the request failed.
+ * @param error the failure, or {@code null} if the request succeeded.
+ */
+public record BatchResult(int index,
+                          ApiGatewayResponse response,
+                          ApiGatewayException error) {
+
+    /**
+     * Checks whether the request succeeded.
+     *
+     * @return {@code true} if a successful response was received.
+     */
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
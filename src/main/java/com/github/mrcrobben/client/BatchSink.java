@@ -0,0 +1,104 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.exception.ApiGatewayException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A sink that pipelines submitted requests over the non-blocking client with a bounded number in flight.
+ * <p>
+ * Requests are sent as soon as they are submitted, until the concurrency limit is reached; further submissions
+ * block until a response arrives. This applies backpressure to producers that are faster than the API Gateway,
+ * while the number of requests in flight is bounded by the limit rather than by the number of producing threads.
+ * </p>
+ * <p>
+ * Closing the sink waits for all submitted requests to complete.
+ * </p>
+ */
+public final class BatchSink implements AutoCloseable {
+
+    private final Function<ApiRequest, CompletableFuture<ApiGatewayResponse>> sender;
+    private final int maxConcurrency;
+    private final Semaphore permits;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+    private volatile boolean closed;
+
+    /**
+     * Constructs a sink sending requests with the given function.
+     *
+     * @param sender the function sending a request and completing with its response. Must not be {@code null}.
+     * @param maxConcurrency the maximum number of requests in flight. Must be positive.
+     */
+    BatchSink(final Function<ApiRequest, CompletableFuture<ApiGatewayResponse>> sender, final int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive.");
+        }
+        this.sender = sender;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency);
+    }
+
+    /**
+     * Submits a request, blocking while the concurrency limit is reached.
+     *
+     * @param request the request to send. Must not be {@code null}.
+     * @return a future completed with the {@link BatchResult} of the request; it never completes exceptionally.
+     * @throws IllegalStateException if the sink has been closed.
+     * @throws ApiGatewayException if the calling thread is interrupted while waiting.
+     */
+    public CompletableFuture<BatchResult> submit(final ApiRequest request) {
+        if (closed) {
+            throw new IllegalStateException("Batch sink is closed.");
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiGatewayException(e);
+        }
+
+        final var index = nextIndex.getAndIncrement();
+        final CompletableFuture<ApiGatewayResponse> response;
+        try {
+            response = sender.apply(request);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        final var result = response.handle((r, e) -> e != null
+                ? new BatchResult(index, null, toApiGatewayException(e))
+                : new BatchResult(index, r, null));
+        result.whenComplete((r, e) -> permits.release());
+        return result;
+    }
+
+    /**
+     * Waits until all submitted requests have completed and rejects further submissions.
+     *
+     * @throws ApiGatewayException if the calling thread is interrupted while waiting.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            permits.acquire(maxConcurrency);
+            permits.release(maxConcurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiGatewayException(e);
+        }
+    }
+
+    private static ApiGatewayException toApiGatewayException(final Throwable e) {
+        final var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof ApiGatewayException) {
+            return (ApiGatewayException) cause;
+        }
+        return new ApiGatewayException(cause instanceof Exception ? (Exception) cause : new RuntimeException(cause));
+    }
+}
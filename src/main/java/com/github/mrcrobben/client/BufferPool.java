@@ -0,0 +1,122 @@
+package com.github.mrcrobben.client;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded pool of growable byte buffers into which request payloads are encoded.
+ * <p>
+ * A buffer is taken for the duration of a request and returned afterwards, so steady traffic reuses a few warm
+ * arrays instead of allocating one per request. Buffers that grew beyond {@link #MAX_RETAINED_SIZE} and buffers
+ * returned to a full pool are left to the garbage collector.
+ * </p>
+ */
+final class BufferPool {
+
+    /**
+     * The initial capacity of a new buffer.
+     */
+    static final int INITIAL_SIZE = 4 * 1024;
+
+    /**
+     * The largest buffer kept in the pool.
+     */
+    static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+    private final BlockingQueue<Buffer> free;
+
+    /**
+     * Constructs a pool keeping at most the given number of idle buffers.
+     *
+     * @param maxBuffers the maximum number of idle buffers. Must be positive.
+     */
+    BufferPool(final int maxBuffers) {
+        this.free = new ArrayBlockingQueue<>(maxBuffers);
+    }
+
+    /**
+     * Takes an empty buffer from the pool, or creates one if the pool is empty.
+     *
+     * @return an empty {@link Buffer}.
+     */
+    Buffer acquire() {
+        final var buffer = free.poll();
+        return buffer != null ? buffer : new Buffer();
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer and the bodies created from it must not be used afterwards.
+     *
+     * @param buffer the buffer previously taken with {@link #acquire()}. Must not be {@code null}.
+     */
+    void release(final Buffer buffer) {
+        if (buffer.bytes.length <= MAX_RETAINED_SIZE) {
+            buffer.count = 0;
+            free.offer(buffer);
+        }
+    }
+
+    /**
+     * Returns the number of idle buffers in the pool.
+     *
+     * @return the number of buffers ready to be taken.
+     */
+    int size() {
+        return free.size();
+    }
+
+    /**
+     * An unsynchronized, growable output stream over a byte array, used by one request at a time.
+     */
+    static final class Buffer extends OutputStream {
+
+        private byte[] bytes = new byte[INITIAL_SIZE];
+        private int count;
+
+        @Override
+        public void write(final int b) {
+            ensureCapacity(count + 1);
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            if (off < 0 || len < 0 || off > b.length - len) {
+                throw new IndexOutOfBoundsException();
+            }
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, bytes, count, len);
+            count += len;
+        }
+
+        /**
+         * Returns the number of bytes written.
+         *
+         * @return the size of the content.
+         */
+        int size() {
+            return count;
+        }
+
+        /**
+         * Creates a request body over the content written so far, without copying it.
+         *
+         * @return a {@link RequestBody} backed by this buffer.
+         */
+        RequestBody toRequestBody() {
+            return RequestBody.fromByteBuffer(ByteBuffer.wrap(bytes, 0, count));
+        }
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity < 0) {
+                throw new OutOfMemoryError("Payload too large.");
+            }
+            if (capacity > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length << 1));
+            }
+        }
+    }
+}
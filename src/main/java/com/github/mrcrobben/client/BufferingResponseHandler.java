@@ -0,0 +1,96 @@
+package com.github.mrcrobben.client;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link SdkAsyncHttpResponseHandler} that collects the response headers and body into memory.
+ * <p>
+ * The handler runs on the asynchronous client's I/O threads and never blocks them; the collected
+ * response is handed over through {@link #future()} once the body stream completes.
+ * </p>
+ */
+final class BufferingResponseHandler implements SdkAsyncHttpResponseHandler {
+
+    private final CompletableFuture<BufferedResponse> future = new CompletableFuture<>();
+    private volatile SdkHttpResponse response;
+    private volatile long headersNanos;
+
+    /**
+     * Returns the future completed with the buffered response, or exceptionally if the exchange fails.
+     *
+     * @return the future of the buffered response.
+     */
+    CompletableFuture<BufferedResponse> future() {
+        return future;
+    }
+
+    /**
+     * Returns when the response headers arrived.
+     *
+     * @return the {@link System#nanoTime()} at which the headers arrived.
+     */
+    long headersNanos() {
+        return headersNanos;
+    }
+
+    @Override
+    public void onHeaders(final SdkHttpResponse headers) {
+        this.headersNanos = System.nanoTime();
+        this.response = headers;
+    }
+
+    @Override
+    public void onStream(final Publisher<ByteBuffer> stream) {
+        stream.subscribe(new Subscriber<>() {
+            private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+            @Override
+            public void onSubscribe(final Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(final ByteBuffer buffer) {
+                if (buffer.hasArray()) {
+                    body.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                } else {
+                    final var bytes = new byte[buffer.remaining()];
+                    buffer.get(bytes);
+                    body.writeBytes(bytes);
+                }
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                future.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(new BufferedResponse(response, body.toByteArray()));
+            }
+        });
+    }
+
+    @Override
+    public void onError(final Throwable error) {
+        future.completeExceptionally(error);
+    }
+
+    /**
+     * A response whose body has been fully read into memory.
+     *
+     * @param httpResponse the status line and headers of the response.
+     * @param body the response body.
+     */
+    record BufferedResponse(SdkHttpResponse httpResponse, byte[] body) {
+    }
+}
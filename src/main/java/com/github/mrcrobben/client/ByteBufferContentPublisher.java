@@ -0,0 +1,64 @@
+package com.github.mrcrobben.client;
+
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.http.async.SdkHttpContentPublisher;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A {@link SdkHttpContentPublisher} that publishes an in-memory request body as a single {@link ByteBuffer}.
+ * <p>
+ * Every subscription receives its own read-only view of the same buffer, so the publisher can be subscribed to
+ * more than once without copying the payload.
+ * </p>
+ */
+final class ByteBufferContentPublisher implements SdkHttpContentPublisher {
+
+    private final ByteBuffer content;
+
+    /**
+     * Constructs a publisher for the remaining bytes of the given buffer. The buffer is not copied and its content
+     * must not be modified afterwards.
+     *
+     * @param content the request body. Must not be {@code null}.
+     */
+    ByteBufferContentPublisher(final ByteBuffer content) {
+        this.content = content.asReadOnlyBuffer();
+    }
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.of((long) content.remaining());
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super ByteBuffer> subscriber) {
+        subscriber.onSubscribe(new Subscription() {
+            private final AtomicBoolean done = new AtomicBoolean();
+
+            @Override
+            public void request(final long n) {
+                if (n <= 0) {
+                    if (done.compareAndSet(false, true)) {
+                        subscriber.onError(new IllegalArgumentException("Demand must be positive, was " + n));
+                    }
+                    return;
+                }
+                if (done.compareAndSet(false, true)) {
+                    if (content.hasRemaining()) {
+                        subscriber.onNext(content.duplicate());
+                    }
+                    subscriber.onComplete();
+                }
+            }
+
+            @Override
+            public void cancel() {
+                done.set(true);
+            }
+        });
+    }
+}
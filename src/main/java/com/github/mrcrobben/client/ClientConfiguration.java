@@ -1,10 +1,25 @@
 package com.github.mrcrobben.client;
 
+import com.github.mrcrobben.codec.Codec;
+import com.github.mrcrobben.metrics.RequestListener;
 import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.CacheProperties;
+import com.github.mrcrobben.model.CircuitBreakerProperties;
+import com.github.mrcrobben.model.CompressionProperties;
+import com.github.mrcrobben.model.HedgeProperties;
+import com.github.mrcrobben.model.PayloadSigningMode;
+import com.github.mrcrobben.model.PoolProperties;
 import com.github.mrcrobben.model.ProxyProperties;
+import com.github.mrcrobben.model.RateLimitProperties;
+import com.github.mrcrobben.model.RetryProperties;
+import com.github.mrcrobben.model.RoutingProperties;
+import com.github.mrcrobben.model.TransportType;
+import com.github.mrcrobben.model.WarmUpProperties;
+import software.amazon.awssdk.identity.spi.AwsCredentialsIdentity;
+import software.amazon.awssdk.identity.spi.IdentityProvider;
 
 /**
- * Represents the configuration settings for a client, including AWS and proxy properties.
+ * Represents the configuration settings for a client, including AWS, proxy and connection pool properties.
  * <p>
  * This class is used to encapsulate and manage the configuration required for initializing
  * a client with specific AWS properties and proxy settings.
@@ -23,21 +38,112 @@ public class ClientConfiguration {
     private final ProxyProperties proxyProperties;
 
     /**
-     * Constructs a {@code ClientConfiguration} with the specified AWS and proxy properties.
+     * The connection pool properties for the client configuration.
+     */
+    private final PoolProperties poolProperties;
+
+    /**
+     * The payload signing mode for the client configuration.
+     */
+    private final PayloadSigningMode payloadSigningMode;
+
+    /**
+     * The HTTP implementation for the client configuration.
+     */
+    private final TransportType transportType;
+
+    /**
+     * The retry properties for the client configuration.
+     */
+    private final RetryProperties retryProperties;
+
+    /**
+     * The client-side rate limit properties for the client configuration, or {@code null} if not rate limited.
+     */
+    private final RateLimitProperties rateLimitProperties;
+
+    /**
+     * The response cache properties for the client configuration, or {@code null} if responses are not cached.
+     */
+    private final CacheProperties cacheProperties;
+
+    /**
+     * Whether identical {@code GET} requests in flight share one upstream call.
+     */
+    private final boolean requestCoalescing;
+
+    /**
+     * The hedging properties for the client configuration, or {@code null} if requests are not hedged.
+     */
+    private final HedgeProperties hedgeProperties;
+
+    /**
+     * The circuit breaker properties for the client configuration, or {@code null} if circuit breaking is disabled.
+     */
+    private final CircuitBreakerProperties circuitBreakerProperties;
+
+    /**
+     * The listener receiving the metrics of every request, or {@code null} if none is configured.
+     */
+    private final RequestListener requestListener;
+
+    /**
+     * The codec used by the typed methods of the client, or {@code null} if none is configured.
+     */
+    private final Codec codec;
+
+    /**
+     * The routing properties for the client configuration, or {@code null} if all requests go to the endpoint of
+     * the AWS properties.
+     */
+    private final RoutingProperties routingProperties;
+
+    /**
+     * The compression properties for the client configuration, or {@code null} if bodies are not compressed.
+     */
+    private final CompressionProperties compressionProperties;
+
+    /**
+     * The warm-up properties for the client configuration, or {@code null} if connections are opened lazily.
+     */
+    private final WarmUpProperties warmUpProperties;
+
+    /**
+     * The provider of the credentials requests are signed with, or {@code null} if the keys of the AWS properties
+     * are used.
+     */
+    private final IdentityProvider<? extends AwsCredentialsIdentity> credentialsProvider;
+
+    /**
+     * Constructs a {@code ClientConfiguration} with the settings of the specified builder.
      *
-     * @param awsProperties the AWS properties to be used for client configuration. Must not be {@code null}.
-     * @param proxyProperties the proxy properties to be used for client configuration. Must not be {@code null}.
-     * @throws IllegalArgumentException if {@code awsProperties} or {@code proxyProperties} is {@code null}.
+     * @param builder the builder holding the configuration settings. Must not be {@code null}.
+     * @throws IllegalArgumentException if the AWS or proxy properties of the builder are {@code null}.
      */
-    ClientConfiguration(final AwsProperties awsProperties, final ProxyProperties proxyProperties) {
-        if (awsProperties == null) {
+    ClientConfiguration(final ClientConfigurationBuilder builder) {
+        if (builder.awsProperties == null) {
             throw new IllegalArgumentException("AWS properties must not be null.");
         }
-        if (proxyProperties == null) {
+        if (builder.proxyProperties == null) {
             throw new IllegalArgumentException("Proxy properties must not be null.");
         }
-        this.awsProperties = awsProperties;
-        this.proxyProperties = proxyProperties;
+        this.awsProperties = builder.awsProperties;
+        this.proxyProperties = builder.proxyProperties;
+        this.poolProperties = builder.poolProperties;
+        this.payloadSigningMode = builder.payloadSigningMode;
+        this.transportType = builder.transportType;
+        this.retryProperties = builder.retryProperties;
+        this.rateLimitProperties = builder.rateLimitProperties;
+        this.cacheProperties = builder.cacheProperties;
+        this.requestCoalescing = builder.requestCoalescing;
+        this.hedgeProperties = builder.hedgeProperties;
+        this.circuitBreakerProperties = builder.circuitBreakerProperties;
+        this.requestListener = builder.requestListener;
+        this.codec = builder.codec;
+        this.routingProperties = builder.routingProperties;
+        this.compressionProperties = builder.compressionProperties;
+        this.warmUpProperties = builder.warmUpProperties;
+        this.credentialsProvider = builder.credentialsProvider;
     }
 
     public AwsProperties getAwsProperties() {
@@ -47,4 +153,64 @@ public class ClientConfiguration {
     public ProxyProperties getProxyProperties() {
         return proxyProperties;
     }
+
+    public PoolProperties getPoolProperties() {
+        return poolProperties;
+    }
+
+    public PayloadSigningMode getPayloadSigningMode() {
+        return payloadSigningMode;
+    }
+
+    public TransportType getTransportType() {
+        return transportType;
+    }
+
+    public RetryProperties getRetryProperties() {
+        return retryProperties;
+    }
+
+    public RateLimitProperties getRateLimitProperties() {
+        return rateLimitProperties;
+    }
+
+    public CacheProperties getCacheProperties() {
+        return cacheProperties;
+    }
+
+    public boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    public HedgeProperties getHedgeProperties() {
+        return hedgeProperties;
+    }
+
+    public CircuitBreakerProperties getCircuitBreakerProperties() {
+        return circuitBreakerProperties;
+    }
+
+    public RequestListener getRequestListener() {
+        return requestListener;
+    }
+
+    public Codec getCodec() {
+        return codec;
+    }
+
+    public RoutingProperties getRoutingProperties() {
+        return routingProperties;
+    }
+
+    public CompressionProperties getCompressionProperties() {
+        return compressionProperties;
+    }
+
+    public WarmUpProperties getWarmUpProperties() {
+        return warmUpProperties;
+    }
+
+    public IdentityProvider<? extends AwsCredentialsIdentity> getCredentialsProvider() {
+        return credentialsProvider;
+    }
 }
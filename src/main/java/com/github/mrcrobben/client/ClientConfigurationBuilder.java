@@ -1,12 +1,27 @@
 package com.github.mrcrobben.client;
 
+import com.github.mrcrobben.codec.Codec;
+import com.github.mrcrobben.metrics.RequestListener;
 import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.CacheProperties;
+import com.github.mrcrobben.model.CircuitBreakerProperties;
+import com.github.mrcrobben.model.CompressionProperties;
+import com.github.mrcrobben.model.HedgeProperties;
+import com.github.mrcrobben.model.PayloadSigningMode;
+import com.github.mrcrobben.model.PoolProperties;
 import com.github.mrcrobben.model.ProxyProperties;
+import com.github.mrcrobben.model.RateLimitProperties;
+import com.github.mrcrobben.model.RetryProperties;
+import com.github.mrcrobben.model.RoutingProperties;
+import com.github.mrcrobben.model.TransportType;
+import com.github.mrcrobben.model.WarmUpProperties;
+import software.amazon.awssdk.identity.spi.AwsCredentialsIdentity;
+import software.amazon.awssdk.identity.spi.IdentityProvider;
 
 /**
  * A builder for creating {@link ClientConfiguration} instances.
  * <p>
- * This class provides methods to set AWS and proxy properties, allowing for a fluent API to build
+ * This class provides methods to set AWS, proxy and pool properties, allowing for a fluent API to build
  * a {@code ClientConfiguration} object with the desired settings.
  * </p>
  */
@@ -15,12 +30,87 @@ public class ClientConfigurationBuilder {
     /**
      * The AWS properties to be used in the client configuration.
      */
-    private AwsProperties awsProperties;
+    AwsProperties awsProperties;
 
     /**
      * The proxy properties to be used in the client configuration.
      */
-    private ProxyProperties proxyProperties;
+    ProxyProperties proxyProperties;
+
+    /**
+     * The connection pool properties to be used in the client configuration.
+     */
+    PoolProperties poolProperties = PoolProperties.DEFAULT;
+
+    /**
+     * The payload signing mode to be used in the client configuration.
+     */
+    PayloadSigningMode payloadSigningMode = PayloadSigningMode.SIGNED;
+
+    /**
+     * The HTTP implementation to be used in the client configuration.
+     */
+    TransportType transportType = TransportType.APACHE;
+
+    /**
+     * The retry properties to be used in the client configuration.
+     */
+    RetryProperties retryProperties = RetryProperties.DISABLED;
+
+    /**
+     * The client-side rate limit properties to be used in the client configuration.
+     */
+    RateLimitProperties rateLimitProperties;
+
+    /**
+     * The response cache properties to be used in the client configuration.
+     */
+    CacheProperties cacheProperties;
+
+    /**
+     * Whether identical {@code GET} requests in flight share one upstream call.
+     */
+    boolean requestCoalescing;
+
+    /**
+     * The hedging properties to be used in the client configuration.
+     */
+    HedgeProperties hedgeProperties;
+
+    /**
+     * The circuit breaker properties to be used in the client configuration.
+     */
+    CircuitBreakerProperties circuitBreakerProperties;
+
+    /**
+     * The listener receiving the metrics of every request.
+     */
+    RequestListener requestListener;
+
+    /**
+     * The codec used by the typed methods of the client.
+     */
+    Codec codec;
+
+    /**
+     * The routing properties to be used in the client configuration.
+     */
+    RoutingProperties routingProperties;
+
+    /**
+     * The compression properties to be used in the client configuration.
+     */
+    CompressionProperties compressionProperties;
+
+    /**
+     * The warm-up properties to be used in the client configuration.
+     */
+    WarmUpProperties warmUpProperties;
+
+    /**
+     * The provider of the credentials requests are signed with, replacing the keys of the AWS properties.
+     */
+    IdentityProvider<? extends AwsCredentialsIdentity> credentialsProvider;
 
     /**
      * Sets the AWS properties for the client configuration.
@@ -53,11 +143,238 @@ public class ClientConfigurationBuilder {
     }
 
     /**
-     * Creates a new {@link ClientConfiguration} instance with the configured AWS and proxy properties.
+     * Sets the connection pool properties for the client configuration.
+     *
+     * @param poolProperties the pool properties to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code poolProperties} is {@code null}.
+     */
+    public ClientConfigurationBuilder poolProperties(PoolProperties poolProperties) {
+        if (poolProperties == null) {
+            throw new IllegalArgumentException("Pool properties must not be null.");
+        }
+        this.poolProperties = poolProperties;
+        return this;
+    }
+
+    /**
+     * Sets how request payloads are covered by the AWS V4 signature.
+     *
+     * @param payloadSigningMode the payload signing mode to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code payloadSigningMode} is {@code null}.
+     */
+    public ClientConfigurationBuilder payloadSigningMode(PayloadSigningMode payloadSigningMode) {
+        if (payloadSigningMode == null) {
+            throw new IllegalArgumentException("Payload signing mode must not be null.");
+        }
+        this.payloadSigningMode = payloadSigningMode;
+        return this;
+    }
+
+    /**
+     * Sets the HTTP implementation used to send requests.
+     *
+     * @param transportType the transport type to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code transportType} is {@code null}.
+     */
+    public ClientConfigurationBuilder transportType(TransportType transportType) {
+        if (transportType == null) {
+            throw new IllegalArgumentException("Transport type must not be null.");
+        }
+        this.transportType = transportType;
+        return this;
+    }
+
+    /**
+     * Sets the retry properties for the client configuration.
+     *
+     * @param retryProperties the retry properties to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code retryProperties} is {@code null}.
+     */
+    public ClientConfigurationBuilder retryProperties(RetryProperties retryProperties) {
+        if (retryProperties == null) {
+            throw new IllegalArgumentException("Retry properties must not be null.");
+        }
+        this.retryProperties = retryProperties;
+        return this;
+    }
+
+    /**
+     * Sets the client-side rate limit for the client configuration, typically the rate and burst limits of the
+     * usage plan of the API.
+     *
+     * @param rateLimitProperties the rate limit properties to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code rateLimitProperties} is {@code null}.
+     */
+    public ClientConfigurationBuilder rateLimitProperties(RateLimitProperties rateLimitProperties) {
+        if (rateLimitProperties == null) {
+            throw new IllegalArgumentException("Rate limit properties must not be null.");
+        }
+        this.rateLimitProperties = rateLimitProperties;
+        return this;
+    }
+
+    /**
+     * Enables the response cache for {@code GET} requests with the given limits.
+     *
+     * @param cacheProperties the cache properties to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code cacheProperties} is {@code null}.
+     */
+    public ClientConfigurationBuilder cacheProperties(CacheProperties cacheProperties) {
+        if (cacheProperties == null) {
+            throw new IllegalArgumentException("Cache properties must not be null.");
+        }
+        this.cacheProperties = cacheProperties;
+        return this;
+    }
+
+    /**
+     * Enables or disables coalescing of identical {@code GET} requests in flight, so a burst of callers asking for
+     * the same resource causes a single upstream call.
+     *
+     * @param requestCoalescing {@code true} to enable request coalescing.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     */
+    public ClientConfigurationBuilder requestCoalescing(boolean requestCoalescing) {
+        this.requestCoalescing = requestCoalescing;
+        return this;
+    }
+
+    /**
+     * Enables hedging of idempotent requests: a second attempt is sent if the first is slow.
+     *
+     * @param hedgeProperties the hedging properties to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code hedgeProperties} is {@code null}.
+     */
+    public ClientConfigurationBuilder hedgeProperties(HedgeProperties hedgeProperties) {
+        if (hedgeProperties == null) {
+            throw new IllegalArgumentException("Hedge properties must not be null.");
+        }
+        this.hedgeProperties = hedgeProperties;
+        return this;
+    }
+
+    /**
+     * Enables a circuit breaker per endpoint that fails fast while the endpoint is failing or slow.
+     *
+     * @param circuitBreakerProperties the circuit breaker properties to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code circuitBreakerProperties} is {@code null}.
+     */
+    public ClientConfigurationBuilder circuitBreakerProperties(CircuitBreakerProperties circuitBreakerProperties) {
+        if (circuitBreakerProperties == null) {
+            throw new IllegalArgumentException("Circuit breaker properties must not be null.");
+        }
+        this.circuitBreakerProperties = circuitBreakerProperties;
+        return this;
+    }
+
+    /**
+     * Sets the listener receiving the phase timings, sizes and attempt count of every request, for example a
+     * {@link com.github.mrcrobben.metrics.HistogramRecorder}.
+     *
+     * @param requestListener the listener to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code requestListener} is {@code null}.
+     */
+    public ClientConfigurationBuilder requestListener(RequestListener requestListener) {
+        if (requestListener == null) {
+            throw new IllegalArgumentException("Request listener must not be null.");
+        }
+        this.requestListener = requestListener;
+        return this;
+    }
+
+    /**
+     * Sets the codec used by the typed methods to encode request objects and decode responses.
+     *
+     * @param codec the codec to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code codec} is {@code null}.
+     */
+    public ClientConfigurationBuilder codec(Codec codec) {
+        if (codec == null) {
+            throw new IllegalArgumentException("Codec must not be null.");
+        }
+        this.codec = codec;
+        return this;
+    }
+
+    /**
+     * Routes requests across several deployments of the API by latency and outstanding requests.
+     *
+     * @param routingProperties the routing properties to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code routingProperties} is {@code null}.
+     */
+    public ClientConfigurationBuilder routingProperties(RoutingProperties routingProperties) {
+        if (routingProperties == null) {
+            throw new IllegalArgumentException("Routing properties must not be null.");
+        }
+        this.routingProperties = routingProperties;
+        return this;
+    }
+
+    /**
+     * Compresses large request payloads and decompresses compressed responses.
+     *
+     * @param compressionProperties the compression properties to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code compressionProperties} is {@code null}.
+     */
+    public ClientConfigurationBuilder compressionProperties(CompressionProperties compressionProperties) {
+        if (compressionProperties == null) {
+            throw new IllegalArgumentException("Compression properties must not be null.");
+        }
+        this.compressionProperties = compressionProperties;
+        return this;
+    }
+
+    /**
+     * Warms up connections and the signer when the client is created.
+     *
+     * @param warmUpProperties the warm-up properties to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code warmUpProperties} is {@code null}.
+     */
+    public ClientConfigurationBuilder warmUpProperties(WarmUpProperties warmUpProperties) {
+        if (warmUpProperties == null) {
+            throw new IllegalArgumentException("Warm-up properties must not be null.");
+        }
+        this.warmUpProperties = warmUpProperties;
+        return this;
+    }
+
+    /**
+     * Creates a new {@link ClientConfiguration} instance with the configured settings.
      *
      * @return a new {@code ClientConfiguration} object initialized with the specified settings.
      */
     public ClientConfiguration createClientConfiguration() {
-        return new ClientConfiguration(awsProperties, proxyProperties);
+        return new ClientConfiguration(this);
+    }
+
+    /**
+     * Sets the provider of the credentials requests are signed with, such as an SDK {@code AwsCredentialsProvider}
+     * for role, web identity or container credentials. The credentials are resolved when the client is built and
+     * refreshed in the background ahead of their expiration; the keys of the AWS properties are then not used.
+     *
+     * @param credentialsProvider the credentials provider to set. Must not be {@code null}.
+     * @return this {@code ClientConfigurationBuilder} instance for method chaining.
+     * @throws IllegalArgumentException if {@code credentialsProvider} is {@code null}.
+     */
+    public ClientConfigurationBuilder credentialsProvider(
+            IdentityProvider<? extends AwsCredentialsIdentity> credentialsProvider) {
+        if (credentialsProvider == null) {
+            throw new IllegalArgumentException("Credentials provider must not be null.");
+        }
+        this.credentialsProvider = credentialsProvider;
+        return this;
     }
 }
\ No newline at end of file
@@ -6,13 +6,20 @@ package com.github.mrcrobben.client;
  * This class provides a static method to create and configure a new {@code HttpClient} instance
  * using the provided {@link ClientConfiguration}.
  * </p>
+ * <p>
+ * Clients created by this factory share their underlying HTTP clients and connection pools whenever their proxy,
+ * timeout and pool settings are equal. The shared resources are released once every client using them has been
+ * {@linkplain HttpClient#close() closed}.
+ * </p>
  */
 public class ClientFactory {
 
+    private static final TransportRegistry TRANSPORTS = new TransportRegistry();
+
     /**
      * Creates a new {@link HttpClient} instance using the provided client configuration.
      *
-     * @param clientConfiguration the client configuration containing AWS and proxy properties. Must not be {@code null}.
+     * @param clientConfiguration the client configuration containing AWS, proxy and pool properties. Must not be {@code null}.
      * @return a new {@code HttpClient} instance configured with the settings from the given {@code ClientConfiguration}.
      * @throws IllegalArgumentException if {@code clientConfiguration} is {@code null}.
      */
@@ -24,6 +31,22 @@ public class ClientFactory {
         return new HttpClient.Builder()
                 .awsProperties(clientConfiguration.getAwsProperties())
                 .proxyProperties(clientConfiguration.getProxyProperties())
+                .poolProperties(clientConfiguration.getPoolProperties())
+                .payloadSigningMode(clientConfiguration.getPayloadSigningMode())
+                .transportType(clientConfiguration.getTransportType())
+                .retryProperties(clientConfiguration.getRetryProperties())
+                .rateLimitProperties(clientConfiguration.getRateLimitProperties())
+                .cacheProperties(clientConfiguration.getCacheProperties())
+                .requestCoalescing(clientConfiguration.isRequestCoalescing())
+                .hedgeProperties(clientConfiguration.getHedgeProperties())
+                .circuitBreakerProperties(clientConfiguration.getCircuitBreakerProperties())
+                .requestListener(clientConfiguration.getRequestListener())
+                .codec(clientConfiguration.getCodec())
+                .routingProperties(clientConfiguration.getRoutingProperties())
+                .compressionProperties(clientConfiguration.getCompressionProperties())
+                .warmUpProperties(clientConfiguration.getWarmUpProperties())
+                .credentialsProvider(clientConfiguration.getCredentialsProvider())
+                .transportRegistry(TRANSPORTS)
                 .build();
     }
 }
@@ -0,0 +1,168 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.exception.ApiGatewayException;
+import com.github.mrcrobben.model.CompressionProperties;
+import com.github.mrcrobben.model.ContentEncoding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compresses request payloads and decompresses response bodies according to the client's
+ * {@link CompressionProperties}.
+ */
+final class Compression {
+
+    /**
+     * The value of the {@code Accept-Encoding} header sent when responses are decompressed.
+     */
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    private final CompressionProperties properties;
+
+    Compression(final CompressionProperties properties) {
+        this.properties = properties;
+    }
+
+    boolean decompressesResponses() {
+        return properties.decompressResponses();
+    }
+
+    /**
+     * Compresses the payload of a request if it is large enough, compressible and not encoded already.
+     *
+     * @param request the request to compress. Must not be {@code null}.
+     * @return a request with the compressed payload and a {@code Content-Encoding} header, or {@code request}
+     * itself if it is not compressed.
+     * @throws ApiGatewayException if the payload cannot be compressed.
+     */
+    ApiRequest compress(final ApiRequest request) {
+        final var encoding = properties.requestEncoding();
+        final var body = request.body();
+        if (encoding == null || body.contentLength() < properties.minimumSize() || body.buffer().isEmpty()
+                || !request.contentType().isCompressible() || hasHeader(request.headers(), CONTENT_ENCODING)) {
+            return request;
+        }
+        final var compressed = compress(body.buffer().get(), encoding);
+        if (compressed.length >= body.contentLength()) {
+            return request;
+        }
+        return request.withEncodedBody(RequestBody.fromBytes(compressed), CONTENT_ENCODING, encoding.getEncoding());
+    }
+
+    private static byte[] compress(final ByteBuffer payload, final ContentEncoding encoding) {
+        final var out = new ByteArrayOutputStream(Math.max(64, payload.remaining() / 4));
+        try (OutputStream compressor = encoding == ContentEncoding.GZIP
+                ? new GZIPOutputStream(out, 8192) : new DeflaterOutputStream(out)) {
+            Channels.newChannel(compressor).write(payload);
+        } catch (IOException e) {
+            throw new ApiGatewayException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Wraps a response body in a decompressing stream if the response is compressed with a known coding.
+     * <p>
+     * The decompressor is created on first read, so an empty body does not fail before it is read.
+     * </p>
+     *
+     * @param contentEncoding the value of the {@code Content-Encoding} header, or {@code null}.
+     * @param body the body as received. Must not be {@code null}.
+     * @return the decompressed body, or {@code body} itself if it is not compressed.
+     */
+    static InputStream decompress(final String contentEncoding, final InputStream body) {
+        if (contentEncoding == null) {
+            return body;
+        }
+        final var coding = contentEncoding.trim();
+        if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+            return new LazyInflatingStream(body, true);
+        }
+        if (coding.equalsIgnoreCase("deflate")) {
+            return new LazyInflatingStream(body, false);
+        }
+        return body;
+    }
+
+    /**
+     * Checks whether {@link #decompress(String, InputStream)} decodes bodies of the given content encoding.
+     *
+     * @param contentEncoding the {@code Content-Encoding} of the response, or {@code null}.
+     * @return {@code true} for {@code gzip} and {@code deflate}.
+     */
+    static boolean isDecompressed(final String contentEncoding) {
+        if (contentEncoding == null) {
+            return false;
+        }
+        final var coding = contentEncoding.trim();
+        return coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")
+                || coding.equalsIgnoreCase("deflate");
+    }
+
+    private static boolean hasHeader(final Map<String, String> headers, final String name) {
+        for (String header : headers.keySet()) {
+            if (header.equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A stream inflating a gzip or zlib body, created on first read because reading the gzip header blocks.
+     */
+    private static final class LazyInflatingStream extends InputStream {
+
+        private final InputStream body;
+        private final boolean gzip;
+        private InputStream inflater;
+
+        private LazyInflatingStream(final InputStream body, final boolean gzip) {
+            this.body = body;
+            this.gzip = gzip;
+        }
+
+        private InputStream inflater() throws IOException {
+            if (inflater == null) {
+                inflater = gzip ? new GZIPInputStream(body, 8192) : new InflaterInputStream(body);
+            }
+            return inflater;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return inflater().read();
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            return inflater().read(b, off, len);
+        }
+
+        @Override
+        public int available() throws IOException {
+            return inflater != null ? inflater.available() : 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (inflater != null) {
+                inflater.close();
+            } else {
+                body.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.metrics.WarmUpReport;
+import com.github.mrcrobben.routing.Endpoint;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpRequest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opens pooled connections of the blocking client ahead of the first requests.
+ * <p>
+ * Every connection is opened by a signed {@code OPTIONS} request, which API Gateway answers without invoking the
+ * integration. Unlike a {@code HEAD} response, whose connection the pool releases as soon as it arrives, the short
+ * error or CORS response carries a body; the responses are held open, with their bodies unread, until all requests
+ * have answered, so the pool has to open a separate connection for each of them. Closing them then reads the short
+ * bodies and returns the connections to the pool. Any response counts, as the connection and its TLS session are
+ * established either way. Warm-up requests bypass the rate limiter, circuit breakers, retries and request listener.
+ * </p>
+ * <p>
+ * The endpoints are warmed up one after another, each with one thread per connection, so no more connections are held
+ * at once than requested for a single endpoint. Callers keep that number within the pool size; otherwise the
+ * surplus requests would wait for a connection that the held responses only release once they have answered. The
+ * pool of the non-blocking client is not warmed up.
+ * </p>
+ */
+final class ConnectionWarmer {
+
+    private final SdkHttpClient client;
+    private final RequestSigner signer;
+    private final List<Endpoint> endpoints;
+    private final String path;
+
+    ConnectionWarmer(final SdkHttpClient client, final RequestSigner signer, final List<Endpoint> endpoints,
+                     final String path) {
+        this.client = client;
+        this.signer = signer;
+        this.endpoints = endpoints;
+        this.path = path;
+    }
+
+    /**
+     * Warms up the given number of connections per endpoint.
+     *
+     * @param connections the number of connections to open per endpoint. Must be positive and not exceed the pool
+     *                    size.
+     * @param timeout the maximum time the warm-up may take. Must not be {@code null}.
+     * @return a {@link CompletableFuture} completed with the {@link WarmUpReport} once all connections are open or
+     * the timeout has elapsed. It never completes exceptionally.
+     */
+    CompletableFuture<WarmUpReport> warmUp(final int connections, final Duration timeout) {
+        final var start = System.nanoTime();
+
+        final var signingStart = System.nanoTime();
+        final List<SdkHttpRequest> requests = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            final var builder = SdkHttpFullRequest.builder()
+                    .method(SdkHttpMethod.OPTIONS)
+                    .uri(endpoint.uri());
+            if (!path.isEmpty()) {
+                builder.encodedPath(endpoint.basePath() + path);
+            }
+            requests.add(signer.sign(builder.build(), null, endpoint.region()).request());
+        }
+        final var signingNanos = System.nanoTime() - signingStart;
+
+        final var total = connections * endpoints.size();
+        final var opened = new AtomicInteger();
+        final var maxConnectNanos = new AtomicLong();
+        final ExecutorService executor = Executors.newFixedThreadPool(connections, runnable -> {
+            final var thread = new Thread(runnable, "api-gateway-warm-up");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        var warmUp = CompletableFuture.<Void>completedFuture(null);
+        for (SdkHttpRequest request : requests) {
+            warmUp = warmUp.thenCompose(ignored -> {
+                final var answered = new CountDownLatch(connections);
+                final List<CompletableFuture<Void>> tasks = new ArrayList<>(connections);
+                for (int i = 0; i < connections; i++) {
+                    tasks.add(CompletableFuture.runAsync(
+                            () -> open(request, answered, opened, maxConnectNanos, timeout), executor));
+                }
+                return CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0]));
+            });
+        }
+        return warmUp
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .handle((ignored, e) -> {
+                    executor.shutdownNow();
+                    final var count = opened.get();
+                    return new WarmUpReport(count, total - count, signingNanos, maxConnectNanos.get(),
+                            System.nanoTime() - start);
+                });
+    }
+
+    /**
+     * Opens one connection and holds it until all warm-up requests to its endpoint have answered.
+     */
+    private void open(final SdkHttpRequest request, final CountDownLatch answered, final AtomicInteger opened,
+                      final AtomicLong maxConnectNanos, final Duration timeout) {
+        final var start = System.nanoTime();
+        final ExecutableHttpRequest call = client.prepareRequest(HttpExecuteRequest.builder()
+                .request(request)
+                .build());
+        try {
+            final var response = call.call();
+            final var connectNanos = System.nanoTime() - start;
+            maxConnectNanos.accumulateAndGet(connectNanos, Math::max);
+            answered.countDown();
+            try {
+                if (answered.await(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    opened.incrementAndGet();
+                }
+            } finally {
+                if (response.responseBody().isPresent()) {
+                    response.responseBody().get().close();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            answered.countDown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
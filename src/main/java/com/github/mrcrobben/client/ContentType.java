@@ -1,13 +1,40 @@
 package com.github.mrcrobben.client;
 
+/**
+ * The media type of a request payload, sent as the {@code Content-Type} header.
+ * <p>
+ * Textual media types are compressible; binary and already compressed media types are never compressed by the
+ * client.
+ * </p>
+ */
 public enum ContentType {
 
-    JSON("application/json");
+    JSON("application/json", true),
+    TEXT("text/plain; charset=UTF-8", true),
+    XML("application/xml", true),
+    FORM("application/x-www-form-urlencoded", true),
+    OCTET_STREAM("application/octet-stream", false),
+    GZIP("application/gzip", false),
+    ZIP("application/zip", false);
 
-    ContentType(String contentType) {
+    private final String contentType;
+    private final boolean compressible;
+
+    ContentType(final String contentType, final boolean compressible) {
+        this.contentType = contentType;
+        this.compressible = compressible;
     }
 
     public String getContentType() {
-        return this.name();
+        return contentType;
+    }
+
+    /**
+     * Checks whether payloads of this media type benefit from compression.
+     *
+     * @return {@code true} for textual media types.
+     */
+    public boolean isCompressible() {
+        return compressible;
     }
 }
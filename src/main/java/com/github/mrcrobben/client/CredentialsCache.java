@@ -0,0 +1,159 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.exception.ApiGatewayException;
+import software.amazon.awssdk.identity.spi.AwsCredentialsIdentity;
+import software.amazon.awssdk.identity.spi.IdentityProvider;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds the credentials a client signs with, and refreshes temporary credentials in the background.
+ * <p>
+ * Credentials resolved from an {@link IdentityProvider}, such as the SDK's role, web identity or container
+ * credentials providers, are resolved once when the client is built and then replaced ahead of their expiration by
+ * a background thread, {@value #PREFETCH_MINUTES} minutes before they expire. Credentials that expire within twice
+ * that time are refreshed after half their remaining lifetime instead, whichever is later, so short-lived credentials
+ * are not refreshed continuously. Request threads only read the current credentials and never wait for the
+ * provider. If a refresh fails, the current credentials are kept and the refresh is retried with a growing delay.
+ * </p>
+ * <p>
+ * The credentials are replaced with a single write, so every signature is computed from one consistent set of
+ * access key, secret key and session token. The signing keys cached by the SDK signer are looked up by secret key,
+ * so a rotated secret derives a new signing key on its first use.
+ * </p>
+ */
+final class CredentialsCache implements AutoCloseable {
+
+    /**
+     * How long before their expiration temporary credentials are refreshed, in minutes.
+     */
+    static final int PREFETCH_MINUTES = 5;
+
+    private static final Logger logger = Logger.getLogger(CredentialsCache.class.getName());
+    private static final Duration PREFETCH = Duration.ofMinutes(PREFETCH_MINUTES);
+    private static final Duration MIN_DELAY = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY_DELAY = Duration.ofMinutes(1);
+
+    private final IdentityProvider<? extends AwsCredentialsIdentity> provider;
+    private final Duration timeout;
+    private final Clock clock;
+    private final ScheduledExecutorService scheduler;
+    private volatile AwsCredentialsIdentity credentials;
+
+    /**
+     * Constructs a cache of static credentials, which are never refreshed.
+     *
+     * @param credentials the credentials. Must not be {@code null}.
+     */
+    CredentialsCache(final AwsCredentialsIdentity credentials) {
+        this.provider = null;
+        this.timeout = null;
+        this.clock = null;
+        this.scheduler = null;
+        this.credentials = credentials;
+    }
+
+    /**
+     * Constructs a cache resolving its credentials from the given provider, waiting for the first credentials.
+     *
+     * @param provider the provider of the credentials. Must not be {@code null}.
+     * @param timeout the maximum time to wait for the provider. Must not be {@code null}.
+     * @param clock the clock the expiration of the credentials is compared with. Must not be {@code null}.
+     * @throws ApiGatewayException if the first credentials cannot be resolved in time.
+     */
+    CredentialsCache(final IdentityProvider<? extends AwsCredentialsIdentity> provider, final Duration timeout,
+                     final Clock clock) {
+        this.provider = provider;
+        this.timeout = timeout;
+        this.clock = clock;
+        try {
+            this.credentials = provider.resolveIdentity().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiGatewayException(e);
+        } catch (ExecutionException e) {
+            throw new ApiGatewayException(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        } catch (TimeoutException e) {
+            throw new ApiGatewayException("Credentials could not be resolved within " + timeout.toMillis() + " ms.");
+        }
+        if (credentials == null) {
+            throw new ApiGatewayException("Credentials provider resolved no credentials.");
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "api-gateway-credentials-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleRefresh();
+    }
+
+    /**
+     * Returns the current credentials without blocking.
+     *
+     * @return the credentials to sign with.
+     */
+    AwsCredentialsIdentity current() {
+        return credentials;
+    }
+
+    /**
+     * Stops refreshing the credentials. The current credentials stay available.
+     */
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Schedules the next refresh according to the expiration of the current credentials: at the later of
+     * {@value #PREFETCH_MINUTES} minutes before the expiration and half the remaining lifetime. Credentials without an
+     * expiration are not refreshed.
+     */
+    private void scheduleRefresh() {
+        final var expiration = credentials.expirationTime();
+        if (expiration.isEmpty()) {
+            return;
+        }
+        final var remaining = Duration.between(clock.instant(), expiration.get());
+        var delay = remaining.minus(PREFETCH);
+        if (delay.compareTo(remaining.dividedBy(2)) < 0) {
+            delay = remaining.dividedBy(2);
+        }
+        schedule(delay.compareTo(MIN_DELAY) > 0 ? delay : MIN_DELAY, MIN_DELAY);
+    }
+
+    private void schedule(final Duration delay, final Duration retryDelay) {
+        if (scheduler.isShutdown()) {
+            return;
+        }
+        scheduler.schedule(() -> refresh(retryDelay), delay.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private void refresh(final Duration retryDelay) {
+        try {
+            final var refreshed = provider.resolveIdentity().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (refreshed == null) {
+                throw new IllegalStateException("Credentials provider resolved no credentials.");
+            }
+            credentials = refreshed;
+            scheduleRefresh();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            logger.log(Level.WARNING, "Refreshing credentials failed, retrying in " + retryDelay.toMillis() + " ms.",
+                    e);
+            final var nextRetryDelay = retryDelay.multipliedBy(2);
+            schedule(retryDelay, nextRetryDelay.compareTo(MAX_RETRY_DELAY) > 0 ? MAX_RETRY_DELAY : nextRetryDelay);
+        }
+    }
+}
@@ -1,21 +1,68 @@
 package com.github.mrcrobben.client;
 
+import com.github.mrcrobben.cache.CacheStatistics;
+import com.github.mrcrobben.cache.CachedResponse;
+import com.github.mrcrobben.cache.RequestKey;
+import com.github.mrcrobben.cache.ResponseCache;
+import com.github.mrcrobben.client.BufferingResponseHandler.BufferedResponse;
+import com.github.mrcrobben.codec.Codec;
 import com.github.mrcrobben.exception.ApiGatewayException;
+import com.github.mrcrobben.exception.RequestRejectedException;
+import com.github.mrcrobben.metrics.PoolMetrics;
+import com.github.mrcrobben.metrics.RequestListener;
+import com.github.mrcrobben.metrics.RequestMetrics;
+import com.github.mrcrobben.metrics.WarmUpReport;
 import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.CacheProperties;
+import com.github.mrcrobben.model.CircuitBreakerProperties;
+import com.github.mrcrobben.model.CompressionProperties;
+import com.github.mrcrobben.model.EndpointProperties;
+import com.github.mrcrobben.model.HedgeProperties;
 import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.model.PayloadSigningMode;
+import com.github.mrcrobben.model.PoolProperties;
 import com.github.mrcrobben.model.ProxyProperties;
+import com.github.mrcrobben.model.RateLimitProperties;
+import com.github.mrcrobben.model.RetryProperties;
+import com.github.mrcrobben.model.RoutingProperties;
+import com.github.mrcrobben.model.TransportType;
+import com.github.mrcrobben.model.WarmUpProperties;
+import com.github.mrcrobben.resilience.CircuitBreaker;
+import com.github.mrcrobben.resilience.LatencyTracker;
+import com.github.mrcrobben.resilience.RateLimiter;
+import com.github.mrcrobben.resilience.RetryPolicy;
+import com.github.mrcrobben.routing.Endpoint;
+import com.github.mrcrobben.routing.EndpointRouter;
 import software.amazon.awssdk.http.*;
-import software.amazon.awssdk.http.apache.ApacheHttpClient;
-import software.amazon.awssdk.http.apache.ProxyConfiguration;
-import software.amazon.awssdk.http.auth.aws.signer.AwsV4HttpSigner;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
 import software.amazon.awssdk.http.auth.spi.signer.SignedRequest;
 import software.amazon.awssdk.identity.spi.AwsCredentialsIdentity;
+import software.amazon.awssdk.identity.spi.IdentityProvider;
+import software.amazon.awssdk.metrics.MetricCollection;
 
-import javax.xml.transform.stream.StreamSource;
 import java.io.IOException;
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
-import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 /**
@@ -24,166 +71,1592 @@ import java.util.logging.Logger;
  * This class provides methods for creating and sending HTTP requests with AWS signing and proxy configuration.
  * It supports a fluent API for building the client using the nested {@link Builder} class.
  * </p>
+ * <p>
+ * Requests can be executed either blocking, through {@link #execute(HttpMethod, String, ContentType)}, or
+ * non-blocking, through {@link #executeAsync(HttpMethod, String, ContentType)}. The non-blocking variant runs on
+ * an event-loop based client that is created on first use, so many requests can be in flight from a few threads.
+ * </p>
+ * <p>
+ * A client owns network resources and should be closed once it is no longer needed.
+ * </p>
+ * <p>
+ * The {@link TransportType} selects the HTTP implementation: the pooled Apache client by default, the
+ * {@code HttpURLConnection} based client for the fastest start, or an HTTP/2 client multiplexing concurrent
+ * requests over a few connections, which then serves the blocking and the non-blocking API.
+ * </p>
+ * <p>
+ * Failed attempts are retried according to the configured {@link RetryProperties}; every attempt is signed anew.
+ * Retries are disabled by default.
+ * </p>
+ * <p>
+ * If {@link RateLimitProperties} are configured, every attempt first takes a permit from a client-side rate limiter
+ * shared by all threads using the client, so the client stays within the throttling limits of its usage plan.
+ * </p>
+ * <p>
+ * If {@link CacheProperties} are configured, successful {@code GET} responses are kept in a {@link ResponseCache}
+ * as long as their caching headers allow, and stale entries are revalidated with a conditional request.
+ * </p>
+ * <p>
+ * With request coalescing enabled, identical {@code GET} requests in flight at the same time share one upstream
+ * call; every caller receives its own stream over the buffered response.
+ * </p>
+ * <p>
+ * With {@link HedgeProperties}, attempts of idempotent requests that have not answered within the hedge delay are
+ * raced against a second attempt. With {@link CircuitBreakerProperties}, attempts to an endpoint that keeps failing
+ * or answering slowly fail fast until a probe shows that it has recovered.
+ * </p>
+ * <p>
+ * With {@link RoutingProperties}, every attempt goes to the deployment with the lowest recent latency weighted by
+ * its outstanding requests, and is signed for that deployment's region. Deployments that keep failing are ejected
+ * for a while and then brought back gradually. Caching and coalescing keep using the endpoint of the
+ * {@link AwsProperties} as the identity of the API.
+ * </p>
+ * <p>
+ * With {@link CompressionProperties}, large textual payloads are compressed before they are signed, and compressed
+ * responses are requested and decompressed while they are read.
+ * </p>
+ * <p>
+ * With {@link WarmUpProperties}, pooled connections are opened and the signer is initialised when the client is
+ * built, or in the background, instead of on the first requests.
+ * </p>
+ * <p>
+ * With a {@link Codec}, the typed methods such as {@link #execute(HttpMethod, Object, Class)} encode request objects
+ * into pooled buffers that are signed and sent without further copies, and decode responses straight from the
+ * response stream.
+ * </p>
+ * <p>
+ * With a credentials provider, such as an SDK {@code AwsCredentialsProvider} for role, web identity or container
+ * credentials, requests are signed with the credentials it resolves instead of the keys of the {@link AwsProperties}.
+ * The credentials are resolved when the client is built and refreshed by a background thread ahead of their
+ * expiration, so requests never wait for the provider.
+ * </p>
+ * <p>
+ * A {@link RequestListener} receives the phase timings, sizes and attempt count of every request. Without a
+ * listener no timings are taken.
+ * </p>
  */
-public class HttpClient {
+public class HttpClient implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger(HttpClient.class.getName());
+
+    /**
+     * The pool size when none is configured, matching the defaults of the blocking and non-blocking clients.
+     */
+    private static final int DEFAULT_POOL_SIZE = 50;
+
+    private static final String RATE_LIMIT_EXCEEDED = "Client-side rate limit exceeded!";
+
+    private static final String CIRCUIT_OPEN = "Circuit breaker is open!";
+
+    /**
+     * The maximum time of a warm-up started with {@link #warmUp(int)}.
+     */
+    private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration CREDENTIALS_TIMEOUT = Duration.ofSeconds(10);
+
+    private final SdkHttpClient client;
+    private final AwsProperties awsProperties;
+    private final CredentialsCache credentials;
+    private final RequestSigner signer;
+    private final RetryPolicy retryPolicy;
+    private final RateLimiter rateLimiter;
+    private final Duration rateLimitMaxWait;
+    private final ResponseCache responseCache;
+    private final RequestCoalescer coalescer;
+    private final HedgeProperties hedgeProperties;
+    private final LatencyTracker latencyTracker;
+    private final LongAdder hedgedRequests = new LongAdder();
+    private final CircuitBreakerProperties circuitBreakerProperties;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final RequestListener requestListener;
+    private final EndpointRouter router;
+    private final Compression compression;
+    private final boolean decompressResponses;
+    private final HttpTransport transport;
+    private final TransportRegistry transportRegistry;
+    private final CompletableFuture<WarmUpReport> warmUp;
+    private final String warmUpPath;
+    private final Codec codec;
+    private final BufferPool bufferPool;
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Private constructor to enforce usage of the {@link Builder}.
+     *
+     * @param builder the {@link Builder} instance used to construct this {@code HttpClient}.
+     */
+    private HttpClient(Builder builder) {
+        this.awsProperties = builder.awsProperties;
+        this.credentials = builder.credentialsProvider != null
+                ? new CredentialsCache(builder.credentialsProvider, CREDENTIALS_TIMEOUT, Clock.systemUTC())
+                : new CredentialsCache(AwsCredentialsIdentity.create(awsProperties.awsIamAccessKey(),
+                awsProperties.awsSecretAccessKey()));
+        this.signer = new RequestSigner(awsProperties, builder.payloadSigningMode, credentials);
+        this.retryPolicy = new RetryPolicy(builder.retryProperties);
+        this.rateLimiter = builder.rateLimitProperties != null ? new RateLimiter(builder.rateLimitProperties) : null;
+        this.rateLimitMaxWait = builder.rateLimitProperties != null
+                ? Duration.ofMillis(builder.rateLimitProperties.maxWait()) : Duration.ZERO;
+        this.responseCache = builder.cacheProperties != null ? new ResponseCache(builder.cacheProperties) : null;
+        this.coalescer = builder.requestCoalescing ? new RequestCoalescer() : null;
+        this.hedgeProperties = builder.hedgeProperties;
+        this.latencyTracker = hedgeProperties != null && hedgeProperties.percentile() > 0
+                ? new LatencyTracker(hedgeProperties.percentile()) : null;
+        this.circuitBreakerProperties = builder.circuitBreakerProperties;
+        this.requestListener = builder.requestListener;
+        this.compression = builder.compressionProperties != null
+                ? new Compression(builder.compressionProperties) : null;
+        this.decompressResponses = compression != null && compression.decompressesResponses();
+        this.router = builder.routingProperties != null ? new EndpointRouter(builder.routingProperties)
+                : new EndpointRouter(new EndpointProperties(awsProperties.awsApiGatewayEndpoint(),
+                awsProperties.awsRegion()));
+
+        final var settings = TransportSettings.of(builder.proxyProperties, awsProperties.socketTimeout(),
+                builder.poolProperties, builder.transportType);
+
+        this.transportRegistry = builder.transportRegistry;
+        this.transport = transportRegistry != null ? transportRegistry.acquire(settings) : new HttpTransport(settings);
+        this.client = transport.client();
+        this.codec = builder.codec;
+        this.bufferPool = codec != null ? new BufferPool(poolSize()) : null;
+
+        final var warmUpProperties = builder.warmUpProperties;
+        this.warmUpPath = warmUpProperties != null ? warmUpProperties.path() : "";
+        if (warmUpProperties == null) {
+            this.warmUp = CompletableFuture.completedFuture(WarmUpReport.NONE);
+        } else {
+            final var future = warmUpAsync(warmUpProperties.connections(),
+                    Duration.ofMillis(warmUpProperties.timeout()));
+            this.warmUp = warmUpProperties.background() ? future : CompletableFuture.completedFuture(future.join());
+        }
+    }
+
+    /**
+     * Executes an HTTP request with the specified method, payload, and content type.
+     *
+     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
+     * @param payloadString the payload to send in the request body. Must not be {@code null}.
+     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @return an {@link InputStream} containing the response body.
+     * @throws ApiGatewayException if the request fails or the response body is empty.
+     */
+    public InputStream execute(final HttpMethod method, final String payloadString, final ContentType contentType) {
+        return execute(method, RequestBody.fromString(payloadString), contentType);
+    }
+
+    /**
+     * Executes an HTTP request with the specified method, payload bytes, and content type.
+     *
+     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
+     * @param payload the payload to send in the request body. Must not be {@code null}. The array is not copied.
+     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @return an {@link InputStream} containing the response body.
+     * @throws ApiGatewayException if the request fails or the response body is empty.
+     */
+    public InputStream execute(final HttpMethod method, final byte[] payload, final ContentType contentType) {
+        return execute(method, RequestBody.fromBytes(payload), contentType);
+    }
+
+    /**
+     * Executes an HTTP request with the specified method, payload buffer, and content type.
+     *
+     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
+     * @param payload the payload to send in the request body; its remaining bytes are sent. Must not be
+     *                {@code null}. The buffer is not copied.
+     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @return an {@link InputStream} containing the response body.
+     * @throws ApiGatewayException if the request fails or the response body is empty.
+     */
+    public InputStream execute(final HttpMethod method, final ByteBuffer payload, final ContentType contentType) {
+        return execute(method, RequestBody.fromByteBuffer(payload), contentType);
+    }
+
+    /**
+     * Executes an HTTP request with the specified method, payload stream, and content type.
+     * <p>
+     * Signing the payload requires reading it twice, so unless the client uses
+     * {@link PayloadSigningMode#UNSIGNED} against an HTTPS endpoint, the stream must support mark and reset.
+     * </p>
+     *
+     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
+     * @param payload the stream providing the request body. Must not be {@code null}.
+     * @param contentLength the exact number of bytes provided by {@code payload}.
+     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @return an {@link InputStream} containing the response body.
+     * @throws ApiGatewayException if the request fails or the response body is empty.
+     * @throws IllegalArgumentException if the stream would have to be read twice but does not support it.
+     */
+    public InputStream execute(final HttpMethod method, final InputStream payload, final long contentLength,
+                               final ContentType contentType) {
+        return execute(method, RequestBody.fromInputStream(payload, contentLength), contentType);
+    }
+
+    /**
+     * Executes an HTTP request with the specified method, payload file, and content type.
+     *
+     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
+     * @param payload the file providing the request body. Must not be {@code null}.
+     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @return an {@link InputStream} containing the response body.
+     * @throws ApiGatewayException if the request fails or the response body is empty.
+     */
+    public InputStream execute(final HttpMethod method, final Path payload, final ContentType contentType) {
+        return execute(method, RequestBody.fromPath(payload), contentType);
+    }
+
+    /**
+     * Executes an HTTP request with the specified method, body, and content type.
+     *
+     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
+     * @param body the request body. Must not be {@code null}.
+     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @return an {@link InputStream} containing the response body.
+     * @throws ApiGatewayException if the request fails or the response body is empty.
+     * @throws IllegalArgumentException if the body would have to be read twice but does not support it.
+     */
+    public InputStream execute(final HttpMethod method, final RequestBody body, final ContentType contentType) {
+        return execute(ApiRequest.of(method, body, contentType));
+    }
+
+    /**
+     * Executes the given request, which may target a resource path with query parameters and headers.
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @return an {@link InputStream} containing the response body.
+     * @throws ApiGatewayException if the request fails or the response body is empty.
+     * @throws IllegalArgumentException if the body would have to be read twice but does not support it.
+     */
+    public InputStream execute(final ApiRequest request) {
+        final var response = executeForResponse(request);
+
+        if (!response.isSuccessful()) {
+            throw failed(response);
+        }
+        if (!response.hasBody()) {
+            throw new ApiGatewayException("Response body is empty!");
+        }
+        return response.body();
+    }
+
+    /**
+     * Executes an HTTP request with the given object as payload and decodes the response into the given type, using
+     * the configured {@link Codec}.
+     *
+     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
+     * @param body the object to send, or {@code null} to send no body.
+     * @param responseType the type to decode the response into, or {@link Void} to discard the response body.
+     * Must not be {@code null}.
+     * @param <T> the type of the request object.
+     * @param <R> the type of the response object.
+     * @return the decoded response, or {@code null} if the response type is {@link Void}.
+     * @throws ApiGatewayException if the request fails, the response body is empty, or encoding or decoding fails.
+     * @throws IllegalStateException if no codec is configured.
+     */
+    public <T, R> R execute(final HttpMethod method, final T body, final Class<R> responseType) {
+        return execute(new ApiRequest.Builder().method(method), body, responseType);
+    }
+
+    /**
+     * Executes the given request with the given object as payload and decodes the response into the given type,
+     * using the configured {@link Codec}.
+     * <p>
+     * The body and content type of the request builder are set by this method, so the builder typically comes from
+     * {@link RequestTemplate#bind(String...)} or carries only the method, path and headers. The payload is encoded
+     * into a pooled buffer, which is reused once the request has completed.
+     * </p>
+     *
+     * @param request the request to complete with the payload. Must not be {@code null}.
+     * @param body the object to send, or {@code null} to send no body.
+     * @param responseType the type to decode the response into, or {@link Void} to discard the response body.
+     * Must not be {@code null}.
+     * @param <T> the type of the request object.
+     * @param <R> the type of the response object.
+     * @return the decoded response, or {@code null} if the response type is {@link Void}.
+     * @throws ApiGatewayException if the request fails, the response body is empty, or encoding or decoding fails.
+     * @throws IllegalStateException if no codec is configured.
+     */
+    public <T, R> R execute(final ApiRequest.Builder request, final T body, final Class<R> responseType) {
+        final var buffer = encode(body);
+        final var apiRequest = request
+                .body(buffer != null ? buffer.toRequestBody() : null)
+                .contentType(codec.contentType())
+                .build();
+        try (var response = executeForResponse(apiRequest)) {
+            return decode(response, responseType);
+        } finally {
+            release(apiRequest, buffer);
+        }
+    }
+
+    /**
+     * Executes an HTTP request with the specified method, body, and content type, and returns the response whatever
+     * its status code is.
+     * <p>
+     * The returned response holds a pooled connection until its body is fully read or it is closed, so it must be
+     * closed by the caller. Responses served from the response cache hold no connection.
+     * </p>
+     *
+     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
+     * @param body the request body. Must not be {@code null}.
+     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @return the {@link ApiGatewayResponse} with status, headers and streaming body.
+     * @throws ApiGatewayException if no response could be received.
+     * @throws IllegalArgumentException if the body would have to be read twice but does not support it.
+     */
+    public ApiGatewayResponse executeForResponse(final HttpMethod method, final RequestBody body,
+                                                 final ContentType contentType) {
+        return executeForResponse(ApiRequest.of(method, body, contentType));
+    }
+
+    /**
+     * Executes the given request and returns the response whatever its status code is.
+     * <p>
+     * The returned response holds a pooled connection until its body is fully read or it is closed, so it must be
+     * closed by the caller. Responses served from the response cache hold no connection.
+     * </p>
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @return the {@link ApiGatewayResponse} with status, headers and streaming body.
+     * @throws ApiGatewayException if no response could be received.
+     * @throws IllegalArgumentException if the body would have to be read twice but does not support it.
+     */
+    public ApiGatewayResponse executeForResponse(final ApiRequest request) {
+        ensureOpen();
+
+        final var trace = newTrace(request.method());
+        try {
+            final var response = executeCoalesced(compress(request), trace);
+            if (trace != null) {
+                response.onClose(bytesRead -> trace.complete(response.statusCode(), bytesRead));
+            }
+            return response;
+        } catch (RuntimeException e) {
+            if (trace != null) {
+                trace.complete(-1, -1);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Executes a request with the blocking client, sharing the upstream call with identical requests in flight if
+     * request coalescing is enabled.
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @param trace the trace of the request, or {@code null} if no listener is configured.
+     * @return the {@link ApiGatewayResponse} of the request.
+     * @throws ApiGatewayException if no response could be received.
+     */
+    private ApiGatewayResponse executeCoalesced(final ApiRequest request, final RequestTrace trace) {
+        if (!isCoalescable(request)) {
+            return executeCached(request, trace);
+        }
+        final var shared = coalescer.coalesce(requestKey(request), () -> {
+            final var response = executeCached(request, trace);
+            return CompletableFuture.completedFuture(buffer(response));
+        });
+        try {
+            return unbuffer(shared.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Executes a request with the blocking client, serving it from the response cache if possible.
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @param trace the trace of the request, or {@code null} if no listener is configured.
+     * @return the {@link ApiGatewayResponse} from the cache or the server.
+     * @throws ApiGatewayException if no response could be received.
+     */
+    private ApiGatewayResponse executeCached(final ApiRequest request, final RequestTrace trace) {
+        if (!isCacheable(request)) {
+            return executeWithRetries(request, Map.of(), trace);
+        }
+        final var key = requestKey(request);
+        final var entry = responseCache.lookup(key, Instant.now());
+        if (entry.isPresent() && entry.get().isFresh(Instant.now())) {
+            return fromCache(entry.get());
+        }
+        return cacheResponse(key, entry, executeWithRetries(request, conditionalHeaders(entry),
+                trace));
+    }
+
+    /**
+     * Executes a request with the blocking client, retrying failed attempts as the retry policy allows.
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @param headers additional headers of the request. Must not be {@code null}.
+     * @param trace the trace of the request, or {@code null} if no listener is configured.
+     * @return the final {@link ApiGatewayResponse}.
+     * @throws ApiGatewayException if no response could be received.
+     */
+    private ApiGatewayResponse executeWithRetries(final ApiRequest request, final Map<String, String> headers,
+                                                  final RequestTrace trace) {
+        for (int attempt = 1; ; attempt++) {
+            acquirePermit();
+
+            final ApiGatewayResponse response;
+            try {
+                response = sendOnce(request, headers, trace);
+            } catch (ApiGatewayException e) {
+                if (isRejectedLocally(e)) {
+                    throw e;
+                }
+                final var delay = retryPolicy.nextDelay(request.method(), request.body().isRepeatable(), attempt, -1,
+                        null);
+                if (delay.isEmpty()) {
+                    throw e;
+                }
+                logger.fine(() -> String.format("Retrying request after I/O failure in %s", delay.get()));
+                sleep(delay.get());
+                continue;
+            }
+
+            if (response.isSuccessful()) {
+                retryPolicy.onSuccess();
+                return response;
+            }
+            final var delay = retryPolicy.nextDelay(request.method(), request.body().isRepeatable(), attempt,
+                    response.statusCode(), response.firstHeader("Retry-After").orElse(null));
+            if (delay.isEmpty()) {
+                return response;
+            }
+            response.close();
+            logger.fine(() -> String.format("Retrying request after status %d in %s", response.statusCode(),
+                    delay.get()));
+            sleep(delay.get());
+        }
+    }
+
+    /**
+     * Executes an HTTP request asynchronously with the specified method, payload, and content type.
+     * <p>
+     * The request is signed on the calling thread and then handed to the non-blocking client; the calling thread
+     * is never blocked on network I/O. The response body is buffered in memory before the future completes.
+     * </p>
+     *
+     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
+     * @param payloadString the payload to send in the request body. Must not be {@code null}.
+     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @return a {@link CompletableFuture} completed with an {@link InputStream} over the response body, or
+     * completed exceptionally with an {@link ApiGatewayException} if the request fails.
+     */
+    public CompletableFuture<InputStream> executeAsync(final HttpMethod method, final String payloadString,
+                                                       final ContentType contentType) {
+        return executeAsync(method, RequestBody.fromString(payloadString), contentType);
+    }
+
+    /**
+     * Executes an HTTP request asynchronously with the specified method, body, and content type.
+     * <p>
+     * Only bodies held in memory or memory-mapped can be sent asynchronously, as reading a stream would block the
+     * non-blocking client's I/O threads.
+     * </p>
+     *
+     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
+     * @param body the request body. Must not be {@code null}.
+     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @return a {@link CompletableFuture} completed with an {@link InputStream} over the response body, or
+     * completed exceptionally with an {@link ApiGatewayException} if the request fails.
+     * @throws IllegalArgumentException if the body is streamed from an {@link InputStream} or a large file.
+     */
+    public CompletableFuture<InputStream> executeAsync(final HttpMethod method, final RequestBody body,
+                                                       final ContentType contentType) {
+        return executeAsync(ApiRequest.of(method, body, contentType));
+    }
+
+    /**
+     * Executes the given request asynchronously.
+     * <p>
+     * Only bodies held in memory or memory-mapped can be sent asynchronously, as reading a stream would block the
+     * non-blocking client's I/O threads.
+     * </p>
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @return a {@link CompletableFuture} completed with an {@link InputStream} over the response body, or
+     * completed exceptionally with an {@link ApiGatewayException} if the request fails.
+     * @throws IllegalArgumentException if the body is streamed from an {@link InputStream} or a large file.
+     */
+    public CompletableFuture<InputStream> executeAsync(final ApiRequest request) {
+        return executeForResponseAsync(request)
+                .thenApply(response -> {
+                    if (!response.isSuccessful()) {
+                        throw failed(response);
+                    }
+                    return response.body();
+                });
+    }
+
+    /**
+     * Executes an HTTP request asynchronously with the given object as payload and decodes the response into the
+     * given type, using the configured {@link Codec}.
+     *
+     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
+     * @param body the object to send, or {@code null} to send no body.
+     * @param responseType the type to decode the response into, or {@link Void} to discard the response body.
+     * Must not be {@code null}.
+     * @param <T> the type of the request object.
+     * @param <R> the type of the response object.
+     * @return a {@link CompletableFuture} completed with the decoded response, or completed exceptionally with an
+     * {@link ApiGatewayException} if the request fails.
+     * @throws IllegalStateException if no codec is configured.
+     */
+    public <T, R> CompletableFuture<R> executeAsync(final HttpMethod method, final T body,
+                                                    final Class<R> responseType) {
+        return executeAsync(new ApiRequest.Builder().method(method), body, responseType);
+    }
+
+    /**
+     * Executes the given request asynchronously with the given object as payload and decodes the response into the
+     * given type, using the configured {@link Codec}.
+     * <p>
+     * The payload is encoded on the calling thread and the response is decoded on the thread completing the
+     * request.
+     * </p>
+     *
+     * @param request the request to complete with the payload. Must not be {@code null}.
+     * @param body the object to send, or {@code null} to send no body.
+     * @param responseType the type to decode the response into, or {@link Void} to discard the response body.
+     * Must not be {@code null}.
+     * @param <T> the type of the request object.
+     * @param <R> the type of the response object.
+     * @return a {@link CompletableFuture} completed with the decoded response, or completed exceptionally with an
+     * {@link ApiGatewayException} if the request fails.
+     * @throws IllegalStateException if no codec is configured.
+     */
+    public <T, R> CompletableFuture<R> executeAsync(final ApiRequest.Builder request, final T body,
+                                                    final Class<R> responseType) {
+        final var buffer = encode(body);
+        final var apiRequest = request
+                .body(buffer != null ? buffer.toRequestBody() : null)
+                .contentType(codec.contentType())
+                .build();
+        final CompletableFuture<ApiGatewayResponse> result;
+        try {
+            result = executeForResponseAsync(apiRequest);
+        } catch (RuntimeException e) {
+            release(apiRequest, buffer);
+            throw e;
+        }
+        return result
+                .whenComplete((response, e) -> release(apiRequest, buffer))
+                .thenApply(response -> {
+                    try (response) {
+                        return decode(response, responseType);
+                    }
+                });
+    }
+
+    /**
+     * Encodes a request object into a pooled buffer with the configured codec.
+     *
+     * @param body the object to encode, or {@code null}.
+     * @return the buffer holding the payload, or {@code null} if there is no body.
+     * @throws IllegalStateException if no codec is configured.
+     * @throws ApiGatewayException if the object cannot be encoded.
+     */
+    private BufferPool.Buffer encode(final Object body) {
+        if (codec == null) {
+            throw new IllegalStateException("No codec configured.");
+        }
+        if (body == null) {
+            return null;
+        }
+        final var buffer = bufferPool.acquire();
+        try {
+            codec.encode(body, buffer);
+            return buffer;
+        } catch (IOException e) {
+            bufferPool.release(buffer);
+            throw new ApiGatewayException(e);
+        } catch (RuntimeException e) {
+            bufferPool.release(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * Decodes the body of a successful response with the configured codec.
+     *
+     * @param response the response. Must not be {@code null}.
+     * @param responseType the type to decode into, or {@link Void} to discard the body.
+     * @param <R> the type of the response object.
+     * @return the decoded object, or {@code null} for {@link Void}.
+     * @throws ApiGatewayException if the response is unsuccessful or empty, or cannot be decoded.
+     */
+    private <R> R decode(final ApiGatewayResponse response, final Class<R> responseType) {
+        if (!response.isSuccessful()) {
+            throw failed(response);
+        }
+        if (responseType == Void.class) {
+            return null;
+        }
+        if (!response.hasBody()) {
+            throw new ApiGatewayException("Response body is empty!");
+        }
+        try (var stream = response.body()) {
+            return codec.decode(stream, responseType);
+        } catch (IOException e) {
+            throw new ApiGatewayException(e);
+        }
+    }
+
+    /**
+     * Returns the buffer of a completed request to the pool, unless the body is still referenced by a cache or
+     * coalescing key or by a hedged attempt that may still be sending.
+     *
+     * @param request the completed request. Must not be {@code null}.
+     * @param buffer the buffer holding its payload, or {@code null}.
+     */
+    private void release(final ApiRequest request, final BufferPool.Buffer buffer) {
+        if (buffer != null && !isHedged(request) && !isCacheable(request) && !isCoalescable(request)) {
+            bufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * Executes an HTTP request asynchronously with the specified method, body, and content type, and completes with
+     * the response whatever its status code is.
+     * <p>
+     * The body of the returned response is buffered in memory, so it holds no connection.
+     * </p>
+     *
+     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
+     * @param body the request body. Must not be {@code null}.
+     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @return a {@link CompletableFuture} completed with the {@link ApiGatewayResponse}, or completed exceptionally
+     * with an {@link ApiGatewayException} if no response could be received.
+     * @throws IllegalArgumentException if the body is streamed from an {@link InputStream} or a large file.
+     */
+    public CompletableFuture<ApiGatewayResponse> executeForResponseAsync(final HttpMethod method,
+                                                                         final RequestBody body,
+                                                                         final ContentType contentType) {
+        return executeForResponseAsync(ApiRequest.of(method, body, contentType));
+    }
+
+    /**
+     * Executes the given request asynchronously and completes with the response whatever its status code is.
+     * <p>
+     * The body of the returned response is buffered in memory, so it holds no connection.
+     * </p>
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @return a {@link CompletableFuture} completed with the {@link ApiGatewayResponse}, or completed exceptionally
+     * with an {@link ApiGatewayException} if no response could be received.
+     * @throws IllegalArgumentException if the body is streamed from an {@link InputStream} or a large file.
+     */
+    public CompletableFuture<ApiGatewayResponse> executeForResponseAsync(final ApiRequest request) {
+        ensureOpen();
+
+        if (request.body().buffer().isEmpty()) {
+            throw new IllegalArgumentException("Streamed bodies cannot be sent asynchronously.");
+        }
+        final var trace = newTrace(request.method());
+        final var compressed = compress(request);
+        final CompletableFuture<ApiGatewayResponse> result;
+        if (!isCoalescable(compressed)) {
+            result = executeCachedAsync(compressed, trace);
+        } else {
+            result = coalescer.coalesce(requestKey(compressed),
+                            () -> executeCachedAsync(compressed, trace).thenApply(HttpClient::buffer))
+                    .thenApply(HttpClient::unbuffer);
+        }
+        if (trace == null) {
+            return result;
+        }
+        return result.whenComplete((response, e) -> {
+            if (e != null) {
+                trace.complete(-1, -1);
+            } else {
+                trace.complete(response.statusCode(), response.bufferedBodyLength());
+            }
+        });
+    }
+
+    /**
+     * Executes a request with the non-blocking client, serving it from the response cache if possible.
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @param trace the trace of the request, or {@code null} if no listener is configured.
+     * @return a {@link CompletableFuture} completed with the {@link ApiGatewayResponse} from the cache or the server.
+     */
+    private CompletableFuture<ApiGatewayResponse> executeCachedAsync(final ApiRequest request,
+                                                                     final RequestTrace trace) {
+        if (!isCacheable(request)) {
+            return executeForResponseAsync(request, Map.of(), trace, 1);
+        }
+        final var key = requestKey(request);
+        final var entry = responseCache.lookup(key, Instant.now());
+        if (entry.isPresent() && entry.get().isFresh(Instant.now())) {
+            return CompletableFuture.completedFuture(fromCache(entry.get()));
+        }
+        return executeForResponseAsync(request, conditionalHeaders(entry), trace, 1)
+                .thenApply(response -> cacheResponse(key, entry, response));
+    }
+
+    /**
+     * Executes the given attempt of a request asynchronously, scheduling further attempts as the retry policy
+     * allows.
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @param headers additional headers of the request. Must not be {@code null}.
+     * @param trace the trace of the request, or {@code null} if no listener is configured.
+     * @param attempt the number of the attempt, starting at {@code 1}.
+     * @return a {@link CompletableFuture} completed with the final {@link ApiGatewayResponse}.
+     */
+    private CompletableFuture<ApiGatewayResponse> executeForResponseAsync(final ApiRequest request,
+                                                                          final Map<String, String> headers,
+                                                                          final RequestTrace trace,
+                                                                          final int attempt) {
+        return acquirePermitAsync()
+                .thenCompose(ignored -> sendAsync(request, headers, trace))
+                .handle((response, e) -> {
+                    final Optional<Duration> delay;
+                    if (e != null) {
+                        delay = isRejectedLocally(e) ? Optional.empty()
+                                : retryPolicy.nextDelay(request.method(), request.body().isRepeatable(), attempt,
+                                        -1, null);
+                        if (delay.isEmpty()) {
+                            return CompletableFuture.<ApiGatewayResponse>failedFuture(e);
+                        }
+                    } else if (response.isSuccessful()) {
+                        retryPolicy.onSuccess();
+                        return CompletableFuture.completedFuture(response);
+                    } else {
+                        delay = retryPolicy.nextDelay(request.method(), request.body().isRepeatable(), attempt,
+                                response.statusCode(), response.firstHeader("Retry-After").orElse(null));
+                        if (delay.isEmpty()) {
+                            return CompletableFuture.completedFuture(response);
+                        }
+                    }
+                    final var executor = CompletableFuture.delayedExecutor(delay.get().toMillis(),
+                            TimeUnit.MILLISECONDS);
+                    return CompletableFuture.runAsync(() -> { }, executor)
+                            .thenCompose(ignored -> executeForResponseAsync(request, headers, trace, attempt + 1));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    /**
+     * Waits for a permit of the client-side rate limiter, if one is configured.
+     *
+     * @throws RequestRejectedException with status code {@code 429} if no permit is available within the maximum
+     *         wait.
+     */
+    private void acquirePermit() {
+        if (rateLimiter == null) {
+            return;
+        }
+        try {
+            if (!rateLimiter.acquire(rateLimitMaxWait)) {
+                throw rateLimitExceeded();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiGatewayException(e);
+        }
+    }
+
+    /**
+     * Acquires a permit of the client-side rate limiter without blocking, if one is configured.
+     *
+     * @return a future completed once the permit is available, or completed exceptionally with an
+     * {@link RequestRejectedException} with status code {@code 429} if none is available within the maximum wait.
+     */
+    private CompletableFuture<Void> acquirePermitAsync() {
+        if (rateLimiter == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return rateLimiter.acquireAsync(rateLimitMaxWait)
+                .thenAccept(acquired -> {
+                    if (!acquired) {
+                        throw rateLimitExceeded();
+                    }
+                });
+    }
+
+    private static RequestRejectedException rateLimitExceeded() {
+        return new RequestRejectedException(RATE_LIMIT_EXCEEDED, 429);
+    }
+
+    private static RequestRejectedException circuitOpen() {
+        return new RequestRejectedException(CIRCUIT_OPEN, 503);
+    }
+
+    /**
+     * Checks whether a failure was raised by the client itself, by the rate limiter or the circuit breaker, so
+     * retrying it right away would not help.
+     *
+     * @param e the failure, possibly wrapped in a {@link CompletionException}.
+     * @return {@code true} if the request was rejected by the client.
+     */
+    private static boolean isRejectedLocally(final Throwable e) {
+        final var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof RequestRejectedException;
+    }
+
+    /**
+     * Asks the circuit breaker of the endpoint for permission to send an attempt, if circuit breaking is enabled.
+     *
+     * @param endpoint the endpoint the attempt is sent to. Must not be {@code null}.
+     * @return the permit to report the outcome through, or {@code null} if circuit breaking is disabled.
+     * @throws RequestRejectedException with status code {@code 503} if the circuit breaker is open.
+     */
+    private CircuitBreaker.Permit acquireCircuit(final Endpoint endpoint) {
+        if (circuitBreakerProperties == null) {
+            return null;
+        }
+        return circuitBreakers.computeIfAbsent(endpoint.name(), name -> new CircuitBreaker(circuitBreakerProperties))
+                .tryAcquire()
+                .orElseThrow(HttpClient::circuitOpen);
+    }
+
+    /**
+     * Reports the outcome of an attempt to the endpoint, the circuit breaker and the latency tracker.
+     *
+     * @param endpoint the endpoint the attempt was sent to. Must not be {@code null}.
+     * @param circuitPermit the circuit breaker permit of the attempt, or {@code null}.
+     * @param startNanos the {@link System#nanoTime()} at which the attempt was sent.
+     * @param statusCode the status code of the response, or {@code -1} if no response was received.
+     */
+    private void onAttemptCompleted(final Endpoint endpoint, final CircuitBreaker.Permit circuitPermit,
+                                    final long startNanos, final int statusCode) {
+        final var durationNanos = System.nanoTime() - startNanos;
+        final var failed = statusCode < 0 || statusCode >= 500;
+        router.onComplete(endpoint, durationNanos, failed);
+        if (circuitPermit != null) {
+            circuitPermit.onResult(failed, durationNanos);
+        }
+        if (latencyTracker != null && statusCode >= 0) {
+            latencyTracker.record(durationNanos);
+        }
+    }
+
+    private void onAttemptFailed(final Endpoint endpoint, final CircuitBreaker.Permit circuitPermit,
+                                 final long startNanos, final RequestBody body, final RequestTrace trace) {
+        onAttemptCompleted(endpoint, circuitPermit, startNanos, -1);
+        if (trace != null) {
+            trace.onFailedAttempt(endpoint.name(), body.contentLength());
+        }
+    }
+
+    private boolean isHedged(final ApiRequest request) {
+        return hedgeProperties != null && request.method().isIdempotent() && request.body().buffer().isPresent();
+    }
+
+    /**
+     * Returns the time after which a hedged request sends its second attempt.
+     *
+     * @return the observed latency percentile once known, otherwise the configured hedge delay.
+     */
+    private Duration hedgeDelay() {
+        final var percentile = latencyTracker != null ? latencyTracker.percentile() : -1;
+        return percentile >= 0 ? Duration.ofNanos(percentile) : Duration.ofMillis(hedgeProperties.delay());
+    }
+
+    /**
+     * Sends a single attempt of a request with the blocking client.
+     * <p>
+     * Hedged requests are sent with the non-blocking client instead, whose responses are buffered completely before
+     * one of them is chosen. Their bodies are therefore held in memory and read from the buffer, and closing them
+     * early does not abort the transfer.
+     * </p>
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @param headers additional headers of the request. Must not be {@code null}.
+     * @param trace the trace of the request, or {@code null} if no listener is configured.
+     * @return the {@link ApiGatewayResponse} of the attempt.
+     * @throws ApiGatewayException if no response could be received.
+     */
+    private ApiGatewayResponse sendOnce(final ApiRequest request, final Map<String, String> headers,
+                                        final RequestTrace trace) {
+        if (isHedged(request)) {
+            try {
+                return sendHedgedAsync(request, headers, trace).join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        final var body = request.body();
+        final var endpoint = router.select();
+        final var preparedRequest = getPreparedRequest(endpoint, request, headers);
+        final var signedRequest = getSignedRequest(preparedRequest, endpoint.region(), body, trace);
+
+        final var poolMetrics = transport.poolMetrics();
+        final var metricCollector = poolMetrics.newCollector();
+        final var httpExecuteRequest = HttpExecuteRequest.builder()
+                .request(signedRequest.request())
+                .contentStreamProvider(signedRequest.payload().orElse(null))
+                .metricCollector(metricCollector)
+                .build();
+
+        final var circuitPermit = acquireCircuit(endpoint);
+        router.onStart(endpoint);
+        final var start = System.nanoTime();
+        try {
+            final var response = client.prepareRequest(httpExecuteRequest).call();
+            final var metrics = poolMetrics.record(metricCollector);
+            onAttemptCompleted(endpoint, circuitPermit, start, response.httpResponse().statusCode());
+            if (trace != null) {
+                trace.onAttempt(endpoint.name(), body.contentLength(), PoolMetricsRecorder.acquireNanos(metrics),
+                        start, System.nanoTime());
+            }
+
+            return new ApiGatewayResponse(response.httpResponse(), response.responseBody().orElse(null),
+                    decompressResponses);
+        } catch (IOException e) {
+            onAttemptFailed(endpoint, circuitPermit, start, body, trace);
+            throw new ApiGatewayException(e);
+        } catch (RuntimeException e) {
+            onAttemptFailed(endpoint, circuitPermit, start, body, trace);
+            throw e;
+        }
+    }
+
+    /**
+     * Sends a single attempt of a request with the non-blocking client, hedging it if configured.
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @param headers additional headers of the request. Must not be {@code null}.
+     * @param trace the trace of the request, or {@code null} if no listener is configured.
+     * @return a {@link CompletableFuture} completed with the {@link ApiGatewayResponse} of the attempt.
+     */
+    private CompletableFuture<ApiGatewayResponse> sendAsync(final ApiRequest request,
+                                                            final Map<String, String> headers,
+                                                            final RequestTrace trace) {
+        return isHedged(request)
+                ? sendHedgedAsync(request, headers, trace)
+                : sendOnceAsync(request, headers, trace);
+    }
+
+    /**
+     * Sends an attempt of an idempotent request and, if it has not answered within the hedge delay, a second one,
+     * completing with whichever answers first with a usable response.
+     * <p>
+     * A successful response, or one that retrying would not change, completes the attempt at once and the other
+     * response is discarded. A throttled or server error response ({@link RetryPolicy#isRetryableStatus(int)}) is
+     * only used if the other request fails as well, so a fast error of a degraded gateway does not beat a slower
+     * success. The attempt only fails if every request sent for it failed.
+     * </p>
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @param headers additional headers of the request. Must not be {@code null}.
+     * @param trace the trace of the request, or {@code null} if no listener is configured.
+     * @return a {@link CompletableFuture} completed with the chosen {@link ApiGatewayResponse}.
+     */
+    private CompletableFuture<ApiGatewayResponse> sendHedgedAsync(final ApiRequest request,
+                                                                  final Map<String, String> headers,
+                                                                  final RequestTrace trace) {
+        final var result = new CompletableFuture<ApiGatewayResponse>();
+        final var outstanding = new AtomicInteger(1);
+        final var fallback = new AtomicReference<ApiGatewayResponse>();
+        final BiConsumer<ApiGatewayResponse, Throwable> onAnswer = (response, e) -> {
+            synchronized (result) {
+                if (e == null && !RetryPolicy.isRetryableStatus(response.statusCode())) {
+                    if (result.complete(response)) {
+                        final var discarded = fallback.getAndSet(null);
+                        if (discarded != null) {
+                            discarded.close();
+                        }
+                    } else {
+                        response.close();
+                    }
+                    return;
+                }
+                if (e == null && (result.isDone() || !fallback.compareAndSet(null, response))) {
+                    response.close();
+                }
+                if (outstanding.decrementAndGet() == 0) {
+                    final var used = fallback.getAndSet(null);
+                    if (used != null) {
+                        result.complete(used);
+                    } else {
+                        result.completeExceptionally(e);
+                    }
+                }
+            }
+        };
+
+        sendOnceAsyncSafely(request, headers, trace).whenComplete(onAnswer);
+        CompletableFuture.delayedExecutor(hedgeDelay().toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+            if (!result.isDone() && outstanding.getAndUpdate(n -> n > 0 ? n + 1 : n) > 0) {
+                hedgedRequests.increment();
+                sendOnceAsyncSafely(request, headers, trace).whenComplete(onAnswer);
+            }
+        });
+        return result;
+    }
+
+    private CompletableFuture<ApiGatewayResponse> sendOnceAsyncSafely(final ApiRequest request,
+                                                                      final Map<String, String> headers,
+                                                                      final RequestTrace trace) {
+        try {
+            return sendOnceAsync(request, headers, trace);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Sends a single attempt of a request with the non-blocking client.
+     *
+     * @param request the request to execute. Must not be {@code null}.
+     * @param headers additional headers of the request. Must not be {@code null}.
+     * @param trace the trace of the request, or {@code null} if no listener is configured.
+     * @return a {@link CompletableFuture} completed with the {@link ApiGatewayResponse} of the attempt.
+     */
+    private CompletableFuture<ApiGatewayResponse> sendOnceAsync(final ApiRequest request,
+                                                                final Map<String, String> headers,
+                                                                final RequestTrace trace) {
+        final var body = request.body();
+        final var content = body.buffer()
+                .orElseThrow(() -> new IllegalArgumentException("Streamed bodies cannot be sent asynchronously."));
+        final var endpoint = router.select();
+        final var preparedRequest = getPreparedRequest(endpoint, request, headers);
+        final var signedRequest = getSignedRequest(preparedRequest, endpoint.region(), body, trace);
+
+        final var asyncPoolMetrics = transport.asyncPoolMetrics();
+        final var metricCollector = asyncPoolMetrics.newCollector();
+        final var responseHandler = new BufferingResponseHandler();
+        final var asyncExecuteRequest = AsyncExecuteRequest.builder()
+                .request(signedRequest.request())
+                .requestContentPublisher(new ByteBufferContentPublisher(content))
+                .responseHandler(responseHandler)
+                .metricCollector(metricCollector)
+                .build();
+
+        final var asyncClient = transport.asyncClient();
+        final var circuitPermit = acquireCircuit(endpoint);
+        router.onStart(endpoint);
+        final var start = System.nanoTime();
+        final var metrics = new CompletableFuture<MetricCollection>();
+        try {
+            asyncClient.execute(asyncExecuteRequest)
+                    .whenComplete((ignored, e) -> {
+                        metrics.complete(asyncPoolMetrics.record(metricCollector));
+                        if (e != null) {
+                            responseHandler.future().completeExceptionally(e);
+                        }
+                    });
+        } catch (RuntimeException e) {
+            // Reported through the response future, so the attempt is completed like any other failure.
+            metrics.complete(null);
+            responseHandler.future().completeExceptionally(e);
+        }
+
+        return responseHandler.future()
+                .handle((response, e) -> {
+                    if (e != null) {
+                        onAttemptFailed(endpoint, circuitPermit, start, body, trace);
+                        throw new ApiGatewayException(e instanceof Exception ? (Exception) e : new IOException(e));
+                    }
+                    onAttemptCompleted(endpoint, circuitPermit, start, response.httpResponse().statusCode());
+                    if (trace != null) {
+                        trace.onAttempt(endpoint.name(), body.contentLength(),
+                                PoolMetricsRecorder.acquireNanos(metrics.getNow(null)), start,
+                                responseHandler.headersNanos());
+                    }
+                    return new ApiGatewayResponse(response.httpResponse(), new ByteArrayInputStream(response.body()),
+                            decompressResponses);
+                });
+    }
+
+    /**
+     * Executes all given requests and returns their results in input order.
+     * <p>
+     * The requests are pipelined over the non-blocking client with at most as many in flight as the connection
+     * pool allows. A failing request does not stop the batch; its failure is reported in its {@link BatchResult}.
+     * </p>
+     *
+     * @param requests the requests to execute. Must not be {@code null}.
+     * @return the results, one per request, in the order of {@code requests}.
+     * @throws IllegalArgumentException if a request body is streamed from an {@link InputStream} or a large file.
+     */
+    public List<BatchResult> executeAll(final List<ApiRequest> requests) {
+        return executeAll(requests, poolSize());
+    }
+
+    /**
+     * Executes all given requests with at most {@code maxConcurrency} in flight and returns their results in input
+     * order.
+     *
+     * @param requests the requests to execute. Must not be {@code null}.
+     * @param maxConcurrency the maximum number of requests in flight. Must be positive.
+     * @return the results, one per request, in the order of {@code requests}.
+     * @throws IllegalArgumentException if a request body is streamed from an {@link InputStream} or a large file.
+     */
+    public List<BatchResult> executeAll(final List<ApiRequest> requests, final int maxConcurrency) {
+        final List<CompletableFuture<BatchResult>> futures = new ArrayList<>(requests.size());
+
+        try (var sink = openBatch(maxConcurrency)) {
+            for (ApiRequest request : requests) {
+                futures.add(sink.submit(request));
+            }
+        }
+
+        final List<BatchResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<BatchResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /**
+     * Opens a sink for streaming a batch of requests with at most as many in flight as the connection pool allows.
+     *
+     * @return a new {@link BatchSink}, to be closed once all requests have been submitted.
+     */
+    public BatchSink openBatch() {
+        return openBatch(poolSize());
+    }
 
-    private static final Logger logger = Logger.getLogger(HttpClient.class.getName());
+    /**
+     * Opens a sink for streaming a batch of requests with at most {@code maxConcurrency} in flight.
+     *
+     * @param maxConcurrency the maximum number of requests in flight. Must be positive.
+     * @return a new {@link BatchSink}, to be closed once all requests have been submitted.
+     */
+    public BatchSink openBatch(final int maxConcurrency) {
+        ensureOpen();
 
-    private final SdkHttpClient client;
-    private final AwsProperties awsProperties;
-    private final ProxyProperties proxyProperties;
+        return new BatchSink(request -> executeForResponseAsync(request)
+                .thenApply(response -> {
+                    if (!response.isSuccessful()) {
+                        throw failed(response);
+                    }
+                    return response;
+                }), maxConcurrency);
+    }
 
     /**
-     * Private constructor to enforce usage of the {@link Builder}.
+     * Opens the given number of pooled connections to every endpoint and signs a first request, blocking until done.
+     * <p>
+     * Warm-up takes DNS resolution, TCP and TLS handshakes and the loading of the signing code off the first real
+     * requests. The connections are opened with {@code OPTIONS} requests to the path of the configured
+     * {@link WarmUpProperties}, or to the endpoint itself, at most as many per endpoint as the pool holds. Only the
+     * pool of the blocking client is warmed up; asynchronous, batched and hedged requests open their connections on
+     * first use. It never fails; connections that cannot be opened within 10 seconds are reported as failures.
+     * </p>
      *
-     * @param builder the {@link Builder} instance used to construct this {@code HttpClient}.
+     * @param connections the number of connections to open per endpoint. Must be positive.
+     * @return the {@link WarmUpReport} with the number of connections opened and the time it took.
      */
-    private HttpClient(Builder builder) {
-        this.awsProperties = builder.awsProperties;
-        this.proxyProperties = builder.proxyProperties;
-        this.client = getSdkHttpClient();
+    public WarmUpReport warmUp(final int connections) {
+        return warmUpAsync(connections).join();
     }
 
     /**
-     * Executes an HTTP request with the specified method, payload, and content type.
+     * Opens the given number of pooled connections to every endpoint and signs a first request, without blocking.
      *
-     * @param method the HTTP method to use for the request (e.g., GET, POST). Must not be {@code null}.
-     * @param payloadString the payload to send in the request body. Must not be {@code null}.
-     * @param contentType the content type of the payload. Must not be {@code null}.
-     * @return an {@link InputStream} containing the response body.
-     * @throws ApiGatewayException if the request fails or the response body is empty.
+     * @param connections the number of connections to open per endpoint. Must be positive.
+     * @return a {@link CompletableFuture} completed with the {@link WarmUpReport} once the warm-up is done.
      */
-    public InputStream execute(final HttpMethod method, final String payloadString, final ContentType contentType) {
-        final var payload = ContentStreamProvider.fromUtf8String(payloadString);
-        final var preparedRequest = getPreparedRequest(method, payload, contentType);
-        final var signedRequest = getSignedRequest(preparedRequest, payload);
+    public CompletableFuture<WarmUpReport> warmUpAsync(final int connections) {
+        return warmUpAsync(connections, WARM_UP_TIMEOUT);
+    }
 
-        final var httpExecuteRequest = HttpExecuteRequest.builder()
-                .request(signedRequest.request())
-                .contentStreamProvider(signedRequest.payload().orElse(null))
-                .build();
+    private CompletableFuture<WarmUpReport> warmUpAsync(final int connections, final Duration timeout) {
+        ensureOpen();
+        if (connections < 1) {
+            throw new IllegalArgumentException("Connections must be at least 1.");
+        }
+        return new ConnectionWarmer(client, signer, router.endpoints(), warmUpPath)
+                .warmUp(Math.min(connections, poolSize()), timeout)
+                .whenComplete((report, e) -> logger.fine(() -> String.format(
+                        "Warmed up %d connections (%d failed) in %d ms", report.connections(), report.failures(),
+                        TimeUnit.NANOSECONDS.toMillis(report.totalNanos()))));
+    }
 
-        try {
-            final var response = client.prepareRequest(httpExecuteRequest).call();
+    /**
+     * Returns the warm-up started when this client was built.
+     * <p>
+     * With a background warm-up, readiness checks can wait for this future before taking traffic.
+     * </p>
+     *
+     * @return a {@link CompletableFuture} completed with the {@link WarmUpReport}, or with
+     * {@link WarmUpReport#NONE} if no {@link WarmUpProperties} are configured.
+     */
+    public CompletableFuture<WarmUpReport> getWarmUp() {
+        return warmUp;
+    }
+
+    /**
+     * Precompiles requests to a resource path, so that only the path variables are processed per request.
+     *
+     * @param method the HTTP method of the requests. Must not be {@code null}.
+     * @param pathTemplate the path relative to the endpoint, such as {@code /orders/{id}}. Must not be {@code null}.
+     * @param contentType the content type of the payloads. Must not be {@code null}.
+     * @return a new {@link RequestTemplate}.
+     * @throws IllegalArgumentException if the path template is malformed.
+     */
+    public RequestTemplate prepare(final HttpMethod method, final String pathTemplate,
+                                   final ContentType contentType) {
+        return prepare(method, pathTemplate, contentType, Map.of());
+    }
 
-            if (!response.httpResponse().isSuccessful()) {
-                final var handleError = handleHttpErrorResponse(response.httpResponse());
+    /**
+     * Precompiles requests to a resource path with headers sent on every request, so that only the path variables
+     * are processed per request.
+     *
+     * @param method the HTTP method of the requests. Must not be {@code null}.
+     * @param pathTemplate the path relative to the endpoint, such as {@code /orders/{id}}. Must not be {@code null}.
+     * @param contentType the content type of the payloads. Must not be {@code null}.
+     * @param headers the headers sent with every request. Must not be {@code null}.
+     * @return a new {@link RequestTemplate}.
+     * @throws IllegalArgumentException if the path template is malformed.
+     */
+    public RequestTemplate prepare(final HttpMethod method, final String pathTemplate, final ContentType contentType,
+                                   final Map<String, String> headers) {
+        return new RequestTemplate(method, pathTemplate, contentType, headers);
+    }
 
-                logger.warning(String.format("Request failed!\nReason: %s", handleError));
+    /**
+     * Returns the connection pool gauges of the blocking client as of its most recent request.
+     * <p>
+     * This is a snapshot, not a live reading: it does not change while no requests are sent.
+     * </p>
+     *
+     * @return the {@link PoolMetrics} recorded by the last request, or {@link PoolMetrics#EMPTY} before the first.
+     */
+    public PoolMetrics getLastRequestPoolMetrics() {
+        return transport.poolMetrics().latest();
+    }
 
-                throw new ApiGatewayException(handleError);
-            }
+    /**
+     * Returns the connection pool gauges of the non-blocking client as of its most recent request.
+     * <p>
+     * This is a snapshot, not a live reading: it does not change while no requests are sent.
+     * </p>
+     *
+     * @return the {@link PoolMetrics} recorded by the last request, or {@link PoolMetrics#EMPTY} before the first.
+     */
+    public PoolMetrics getLastRequestAsyncPoolMetrics() {
+        return transport.asyncPoolMetrics().latest();
+    }
+
+    /**
+     * Returns the counters of the response cache.
+     *
+     * @return the current {@link CacheStatistics}, or {@link CacheStatistics#EMPTY} if no cache is configured.
+     */
+    public CacheStatistics getCacheStatistics() {
+        return responseCache != null ? responseCache.statistics() : CacheStatistics.EMPTY;
+    }
 
-            return response.responseBody()
-                    .map(StreamSource::new)
-                    .orElseThrow(() -> new ApiGatewayException("Response body is empty!"))
-                    .getInputStream();
+    /**
+     * Returns the number of {@code GET} requests that shared the upstream call of an identical request in flight.
+     *
+     * @return the number of collapsed requests, or {@code 0} if request coalescing is disabled.
+     */
+    public long getCollapsedRequestCount() {
+        return coalescer != null ? coalescer.collapsed() : 0;
+    }
 
-        } catch (IOException e) {
-            throw new ApiGatewayException(e);
+    /**
+     * Returns the number of hedged requests, that is second attempts sent because the first was slow.
+     *
+     * @return the number of hedged requests, or {@code 0} if hedging is disabled.
+     */
+    public long getHedgedRequestCount() {
+        return hedgedRequests.sum();
+    }
+
+    /**
+     * Returns the state of the circuit breaker guarding the endpoint of this client.
+     *
+     * @return the {@link CircuitBreaker.State}, which is always {@code CLOSED} if circuit breaking is disabled.
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return getCircuitState(awsProperties.awsApiGatewayEndpoint());
+    }
+
+    /**
+     * Returns the state of the circuit breaker guarding the given endpoint.
+     *
+     * @param endpoint the endpoint URL as configured. Must not be {@code null}.
+     * @return the {@link CircuitBreaker.State}, which is always {@code CLOSED} if circuit breaking is disabled or
+     * no attempt has been sent to the endpoint yet.
+     */
+    public CircuitBreaker.State getCircuitState(final String endpoint) {
+        final var circuitBreaker = circuitBreakers.get(endpoint);
+        return circuitBreaker != null ? circuitBreaker.state() : CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * Returns the endpoints requests are routed to, with their recent latency, outstanding requests and health.
+     *
+     * @return the endpoints of the {@link RoutingProperties}, or the endpoint of the {@link AwsProperties} alone if
+     * routing is not configured.
+     */
+    public List<Endpoint> getEndpoints() {
+        return router.endpoints();
+    }
+
+    /**
+     * Closes this client.
+     * <p>
+     * If the client was created with a shared transport, the underlying connection pools are only closed once the
+     * last client using them has been closed. Closing a client more than once has no effect.
+     * </p>
+     */
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        credentials.close();
+        if (transportRegistry != null) {
+            transportRegistry.release(transport);
+        } else {
+            transport.close();
         }
     }
 
     /**
-     * Prepares an HTTP request based on the specified method, payload, and content type.
+     * Prepares an HTTP request based on the specified request and endpoint.
+     * <p>
+     * The endpoint URI is parsed once by the router; only the path, query parameters and headers of the request are
+     * added here. Headers of the request replace the content headers, and the additional headers replace both.
+     * </p>
+     * <p>
+     * A {@code GET} request with an empty body is sent without content and without {@code Content-Length}: the
+     * transports drop the header or turn the request into a {@code POST} otherwise, and the signature, which covers
+     * both, would no longer match.
+     * </p>
      *
-     * @param method the HTTP method for the request. Must not be {@code null}.
-     * @param payload the payload for the request body. Must not be {@code null}.
-     * @param contentType the content type of the payload. Must not be {@code null}.
+     * @param endpoint the endpoint to send the request to. Must not be {@code null}.
+     * @param request the request to execute. Must not be {@code null}.
+     * @param headers additional headers of the request. Must not be {@code null}.
      * @return a {@link SdkHttpFullRequest} object representing the prepared request.
      */
-    private SdkHttpFullRequest getPreparedRequest(final HttpMethod method, final ContentStreamProvider payload,
-                                                  final ContentType contentType) {
-
-        return SdkHttpFullRequest.builder()
-                .method(method.getMethod())
-                .uri(URI.create(awsProperties.awsApiGatewayEndpoint()))
-                .putHeader("Content-Type", contentType.getContentType())
-                .contentStreamProvider(payload)
-                .build();
+    SdkHttpFullRequest getPreparedRequest(final Endpoint endpoint, final ApiRequest request,
+                                          final Map<String, String> headers) {
+        final var body = request.body();
+        final var builder = SdkHttpFullRequest.builder()
+                .method(request.method().getMethod())
+                .uri(endpoint.uri())
+                .putHeader("Content-Type", request.contentType().getContentType());
+        if (request.method() != HttpMethod.GET || body.contentLength() != 0) {
+            builder.putHeader("Content-Length", Long.toString(body.contentLength()))
+                    .contentStreamProvider(body.contentStreamProvider());
+        }
+        if (decompressResponses) {
+            builder.putHeader("Accept-Encoding", Compression.ACCEPT_ENCODING);
+        }
+        if (!request.path().isEmpty()) {
+            builder.encodedPath(endpoint.basePath() + request.path());
+        }
+        request.queryParameters().forEach(builder::putRawQueryParameter);
+        request.headers().forEach(builder::putHeader);
+        headers.forEach(builder::putHeader);
+        return builder.build();
     }
 
     /**
      * Signs the prepared request using AWS V4 signing.
      *
      * @param request the request to sign. Must not be {@code null}.
+     * @param region the signing region of the endpoint the request is sent to. Must not be {@code null}.
+     * @param body the body of the request. Must not be {@code null}.
+     * @param trace the trace of the request, or {@code null} if no listener is configured.
      * @return a {@link SignedRequest} object representing the signed request.
+     * @throws IllegalArgumentException if the body would have to be read twice but does not support it.
+     */
+    SignedRequest getSignedRequest(final SdkHttpFullRequest request, final String region, final RequestBody body,
+                                   final RequestTrace trace) {
+        if (!body.isRepeatable() && signer.hashesPayload(request)) {
+            throw new IllegalArgumentException("Signing the payload requires a stream that supports mark and reset; "
+                    + "use an unsigned payload over HTTPS to send other streams.");
+        }
+        if (trace == null) {
+            return signer.sign(request, request.contentStreamProvider().orElse(null), region);
+        }
+        final var start = System.nanoTime();
+        final var signedRequest = signer.sign(request, request.contentStreamProvider().orElse(null), region);
+        trace.onSigned(System.nanoTime() - start);
+        return signedRequest;
+    }
+
+    /**
+     * Compresses the payload of a request if compression is configured and the payload qualifies.
+     *
+     * @param request the request to compress. Must not be {@code null}.
+     * @return the request with a compressed payload, or {@code request} itself.
      */
-    private SignedRequest getSignedRequest(final SdkHttpFullRequest request,
-                                           final ContentStreamProvider payload) {
-        final var signer = AwsV4HttpSigner.create();
-        final var credentials = getCredentials();
+    private ApiRequest compress(final ApiRequest request) {
+        return compression != null ? compression.compress(request) : request;
+    }
 
-        return signer.sign(r -> r.identity(credentials)
-                .request(request)
-                .payload(payload)
-                .putProperty(AwsV4HttpSigner.SERVICE_SIGNING_NAME, awsProperties.serviceName())
-                .putProperty(AwsV4HttpSigner.REGION_NAME, awsProperties.awsRegion()));
+    /**
+     * Starts the trace of a request if a listener is configured.
+     *
+     * @param method the HTTP method of the request.
+     * @return a new {@link RequestTrace}, or {@code null} if no listener is configured.
+     */
+    private RequestTrace newTrace(final HttpMethod method) {
+        return requestListener != null
+                ? new RequestTrace(requestListener, awsProperties.awsApiGatewayEndpoint(), method) : null;
     }
 
     /**
-     * Retrieves AWS credentials based on the properties configured in this client.
+     * Checks whether the response of a request may be served from and stored in the response cache.
      *
-     * @return an {@link AwsCredentialsIdentity} object containing the AWS credentials.
+     * @param request the request.
+     * @return {@code true} if a cache is configured, the method is {@code GET} and the body is held in memory.
      */
-    private AwsCredentialsIdentity getCredentials() {
-        return AwsCredentialsIdentity.create(awsProperties.awsIamAccessKey(), awsProperties.awsSecretAccessKey());
+    private boolean isCacheable(final ApiRequest request) {
+        return responseCache != null && request.method() == HttpMethod.GET && request.body().buffer().isPresent();
+    }
+
+    private RequestKey requestKey(final ApiRequest request) {
+        return RequestKey.of(request.method().name(), awsProperties.awsApiGatewayEndpoint() + request.target(),
+                request.contentType().getContentType(), request.headers(), request.body().buffer().orElseThrow());
     }
 
     /**
-     * Creates an instance of {@link SdkHttpClient} with proxy and timeout settings.
+     * Checks whether a request may share its upstream call with identical requests in flight.
      *
-     * @return an {@link SdkHttpClient} instance.
+     * @param request the request.
+     * @return {@code true} if coalescing is enabled, the method is {@code GET} and the body is held in memory.
      */
-    private SdkHttpClient getSdkHttpClient() {
-        final var proxyConfiguration = getProxyConfiguration();
+    private boolean isCoalescable(final ApiRequest request) {
+        return coalescer != null && request.method() == HttpMethod.GET && request.body().buffer().isPresent();
+    }
 
-        return ApacheHttpClient.builder()
-                .proxyConfiguration(proxyConfiguration)
-                .socketTimeout(Duration.ofMillis(Integer.toUnsignedLong(awsProperties.socketTimeout())))
-                .build();
+    /**
+     * Reads a response completely so it can be handed to several callers, releasing its connection.
+     *
+     * @param response the response to buffer. Must not be {@code null}.
+     * @return the buffered response.
+     * @throws ApiGatewayException if the body cannot be read.
+     */
+    private static BufferedResponse buffer(final ApiGatewayResponse response) {
+        try (response) {
+            final var content = response.hasBody() ? response.body().readAllBytes() : null;
+            return new BufferedResponse(response.httpResponse(), content);
+        } catch (IOException e) {
+            throw new ApiGatewayException(e);
+        }
     }
 
     /**
-     * Configures proxy settings based on the provided proxy properties.
+     * Creates a response with its own stream over a buffered body.
      *
-     * @return a {@link ProxyConfiguration} object.
+     * @param response the buffered response. Must not be {@code null}.
+     * @return a new {@link ApiGatewayResponse} reading the buffered body from the start.
      */
-    private ProxyConfiguration getProxyConfiguration() {
-        final var proxyConfig = ProxyConfiguration.builder()
-                .useEnvironmentVariableValues(false)
-                .useSystemPropertyValues(false);
+    private static ApiGatewayResponse unbuffer(final BufferedResponse response) {
+        final var content = response.body() != null ? new ByteArrayInputStream(response.body()) : null;
+        return new ApiGatewayResponse(response.httpResponse(), content);
+    }
 
-        if (proxyProperties != null && !proxyProperties.enabled()) {
+    /**
+     * Returns the headers that turn a request into a conditional one validating the given cache entry.
+     *
+     * @param entry the stale cache entry, if any.
+     * @return the {@code If-None-Match} and {@code If-Modified-Since} headers for the entry's validators.
+     */
+    private static Map<String, String> conditionalHeaders(final Optional<CachedResponse> entry) {
+        if (entry.isEmpty()) {
+            return Map.of();
+        }
+        final var headers = new HashMap<String, String>();
+        entry.get().etag().ifPresent(etag -> headers.put("If-None-Match", etag));
+        entry.get().lastModified().ifPresent(lastModified -> headers.put("If-Modified-Since", lastModified));
+        return headers;
+    }
 
-            proxyConfig.username(proxyProperties.username());
-            proxyConfig.password(proxyProperties.password());
-            proxyConfig.endpoint(getEndpoint());
+    /**
+     * Updates the response cache with a response received from the server.
+     * <p>
+     * A {@code 304 Not Modified} renews the stale entry and is answered from it; a storable response is buffered,
+     * stored and returned over the buffered body; any other response is returned unchanged. A body decompressed
+     * while it is buffered is stored without its {@code Content-Encoding}.
+     * </p>
+     *
+     * @param key the cache key of the request.
+     * @param entry the stale cache entry the request was conditional on, if any.
+     * @param response the response received from the server.
+     * @return the response to hand to the caller.
+     * @throws ApiGatewayException if the body of a storable response cannot be read.
+     */
+    private ApiGatewayResponse cacheResponse(final RequestKey key, final Optional<CachedResponse> entry,
+                                             final ApiGatewayResponse response) {
+        final var now = Instant.now();
+        if (response.statusCode() == 304 && entry.isPresent()) {
+            response.close();
+            return fromCache(responseCache.revalidated(key, entry.get(), response.httpResponse(), now));
+        }
+        if (!responseCache.isStorable(response.httpResponse(), now) || !response.hasBody()) {
+            return response;
+        }
+        var httpResponse = response.httpResponse();
+        if (decompressResponses
+                && Compression.isDecompressed(httpResponse.firstMatchingHeader("Content-Encoding").orElse(null))) {
+            httpResponse = httpResponse.toBuilder().removeHeader("Content-Encoding").build();
         }
+        try (response) {
+            final var content = response.body().readAllBytes();
+            return fromCache(responseCache.store(key, httpResponse, content, now));
+        } catch (IOException e) {
+            throw new ApiGatewayException(e);
+        }
+    }
 
-        return proxyConfig.build();
+    private static ApiGatewayResponse fromCache(final CachedResponse entry) {
+        return new ApiGatewayResponse(entry.httpResponse(), new ByteArrayInputStream(entry.body()));
     }
 
     /**
-     * Constructs the URI for the proxy endpoint.
+     * Returns the size of the connection pool, which also bounds batches and warm-ups.
      *
-     * @return a {@link URI} representing the proxy endpoint.
+     * @return the configured maximum number of connections, or the default of the SDK clients.
      */
-    private URI getEndpoint() {
-        return URI.create(proxyProperties.host() + ":" + proxyProperties.port());
+    private int poolSize() {
+        final var maxConnections = transport.settings().poolProperties().maxConnections();
+        return maxConnections != null ? maxConnections : DEFAULT_POOL_SIZE;
     }
 
     /**
-     * Handles HTTP error responses by formatting error details.
+     * Waits before the next attempt of a request.
      *
-     * @param response the HTTP response to handle. Must not be {@code null}.
-     * @return a string representing the formatted error details.
+     * @param delay the time to wait.
+     * @throws ApiGatewayException if the calling thread is interrupted while waiting.
      */
-    private String handleHttpErrorResponse(final SdkHttpResponse response) {
-        final var sb = new StringBuilder();
-        sb.append("Status code: ").append(response.statusCode());
-        response.statusText().ifPresent(txt -> sb.append("Status text: ").append(txt));
-        return sb.toString();
+    private static void sleep(final Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiGatewayException(e);
+        }
+    }
+
+    /**
+     * Ensures that this client has not been closed yet.
+     *
+     * @throws IllegalStateException if the client has been closed.
+     */
+    private void ensureOpen() {
+        if (closed.get()) {
+            throw new IllegalStateException("HTTP client is closed.");
+        }
+    }
+
+    /**
+     * Turns an unsuccessful response into an {@link ApiGatewayException}, releasing its connection.
+     *
+     * @param response the unsuccessful response. Must not be {@code null}.
+     * @return the exception describing the failure.
+     */
+    private ApiGatewayException failed(final ApiGatewayResponse response) {
+        final var exception = response.toException();
+
+        logger.warning(() -> "Request failed!\nReason: " + exception.getMessage());
+
+        return exception;
     }
 
     /**
@@ -192,6 +1665,22 @@ public class HttpClient {
     public static class Builder {
         private AwsProperties awsProperties;
         private ProxyProperties proxyProperties;
+        private PoolProperties poolProperties = PoolProperties.DEFAULT;
+        private PayloadSigningMode payloadSigningMode = PayloadSigningMode.SIGNED;
+        private TransportType transportType = TransportType.APACHE;
+        private Codec codec;
+        private RetryProperties retryProperties = RetryProperties.DISABLED;
+        private RateLimitProperties rateLimitProperties;
+        private CacheProperties cacheProperties;
+        private boolean requestCoalescing;
+        private HedgeProperties hedgeProperties;
+        private CircuitBreakerProperties circuitBreakerProperties;
+        private RequestListener requestListener;
+        private RoutingProperties routingProperties;
+        private CompressionProperties compressionProperties;
+        private WarmUpProperties warmUpProperties;
+        private IdentityProvider<? extends AwsCredentialsIdentity> credentialsProvider;
+        private TransportRegistry transportRegistry;
 
         /**
          * Sets the AWS properties for the {@code HttpClient}.
@@ -219,6 +1708,187 @@ public class HttpClient {
             return this;
         }
 
+        /**
+         * Sets the connection pool properties for the {@code HttpClient}.
+         *
+         * @param poolProperties the pool properties to set. May be {@code null} to keep the SDK defaults.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder poolProperties(final PoolProperties poolProperties) {
+            this.poolProperties = poolProperties != null ? poolProperties : PoolProperties.DEFAULT;
+            return this;
+        }
+
+        /**
+         * Sets how request payloads are covered by the AWS V4 signature.
+         *
+         * @param payloadSigningMode the payload signing mode to set. May be {@code null} to sign payloads.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder payloadSigningMode(final PayloadSigningMode payloadSigningMode) {
+            this.payloadSigningMode = payloadSigningMode != null ? payloadSigningMode : PayloadSigningMode.SIGNED;
+            return this;
+        }
+
+        /**
+         * Sets the HTTP implementation used to send requests.
+         *
+         * @param transportType the transport type to set. May be {@code null} to use {@link TransportType#APACHE}.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder transportType(final TransportType transportType) {
+            this.transportType = transportType != null ? transportType : TransportType.APACHE;
+            return this;
+        }
+
+        /**
+         * Sets the retry properties for the {@code HttpClient}.
+         *
+         * @param retryProperties the retry properties to set. May be {@code null} to disable retries.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder retryProperties(final RetryProperties retryProperties) {
+            this.retryProperties = retryProperties != null ? retryProperties : RetryProperties.DISABLED;
+            return this;
+        }
+
+        /**
+         * Sets the client-side rate limit for the {@code HttpClient}.
+         *
+         * @param rateLimitProperties the rate limit properties to set. May be {@code null} to disable rate limiting.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder rateLimitProperties(final RateLimitProperties rateLimitProperties) {
+            this.rateLimitProperties = rateLimitProperties;
+            return this;
+        }
+
+        /**
+         * Sets the response cache properties for the {@code HttpClient}.
+         *
+         * @param cacheProperties the cache properties to set. May be {@code null} to disable response caching.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder cacheProperties(final CacheProperties cacheProperties) {
+            this.cacheProperties = cacheProperties;
+            return this;
+        }
+
+        /**
+         * Enables or disables coalescing of identical {@code GET} requests in flight.
+         *
+         * @param requestCoalescing {@code true} to let identical requests share one upstream call.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder requestCoalescing(final boolean requestCoalescing) {
+            this.requestCoalescing = requestCoalescing;
+            return this;
+        }
+
+        /**
+         * Sets the hedging properties for the {@code HttpClient}.
+         *
+         * @param hedgeProperties the hedging properties to set. May be {@code null} to disable hedging.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder hedgeProperties(final HedgeProperties hedgeProperties) {
+            this.hedgeProperties = hedgeProperties;
+            return this;
+        }
+
+        /**
+         * Sets the circuit breaker properties for the {@code HttpClient}.
+         *
+         * @param circuitBreakerProperties the circuit breaker properties to set. May be {@code null} to disable
+         *                                 circuit breaking.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder circuitBreakerProperties(final CircuitBreakerProperties circuitBreakerProperties) {
+            this.circuitBreakerProperties = circuitBreakerProperties;
+            return this;
+        }
+
+        /**
+         * Sets the listener receiving the {@link RequestMetrics} of every request.
+         *
+         * @param requestListener the listener to set. May be {@code null} to disable request metrics.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder requestListener(final RequestListener requestListener) {
+            this.requestListener = requestListener;
+            return this;
+        }
+
+        /**
+         * Sets the codec used by the typed methods to encode request objects and decode responses.
+         *
+         * @param codec the codec to set. May be {@code null} if the typed methods are not used.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder codec(final Codec codec) {
+            this.codec = codec;
+            return this;
+        }
+
+        /**
+         * Sets the endpoints the {@code HttpClient} routes requests to.
+         *
+         * @param routingProperties the routing properties to set. May be {@code null} to send all requests to the
+         *                          endpoint of the AWS properties.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder routingProperties(final RoutingProperties routingProperties) {
+            this.routingProperties = routingProperties;
+            return this;
+        }
+
+        /**
+         * Sets the compression properties for the {@code HttpClient}.
+         *
+         * @param compressionProperties the compression properties to set. May be {@code null} to send and receive
+         *                              uncompressed bodies.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder compressionProperties(final CompressionProperties compressionProperties) {
+            this.compressionProperties = compressionProperties;
+            return this;
+        }
+
+        /**
+         * Sets the warm-up properties for the {@code HttpClient}.
+         *
+         * @param warmUpProperties the warm-up properties to set. May be {@code null} to open connections lazily.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder warmUpProperties(final WarmUpProperties warmUpProperties) {
+            this.warmUpProperties = warmUpProperties;
+            return this;
+        }
+
+        /**
+         * Sets the provider of the credentials requests are signed with, replacing the keys of the AWS properties.
+         *
+         * @param credentialsProvider the credentials provider to set. May be {@code null} to sign with the keys of
+         *                            the AWS properties.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        public Builder credentialsProvider(
+                final IdentityProvider<? extends AwsCredentialsIdentity> credentialsProvider) {
+            this.credentialsProvider = credentialsProvider;
+            return this;
+        }
+
+        /**
+         * Lets the {@code HttpClient} lease its transport from the given registry instead of creating its own.
+         *
+         * @param transportRegistry the registry of shared transports. May be {@code null}.
+         * @return this {@code Builder} instance for method chaining.
+         */
+        Builder transportRegistry(final TransportRegistry transportRegistry) {
+            this.transportRegistry = transportRegistry;
+            return this;
+        }
+
         /**
          * Builds and returns a new {@link HttpClient} instance with the configured properties.
          *
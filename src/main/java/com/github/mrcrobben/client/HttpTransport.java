@@ -0,0 +1,306 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.model.TransportType;
+import software.amazon.awssdk.http.Protocol;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.apache.ProxyConfiguration;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.http.urlconnection.UrlConnectionHttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Owns the SDK HTTP clients, and with them the connection pools, used to send requests.
+ * <p>
+ * The blocking client is created eagerly, the non-blocking client on first use. A transport may be shared by
+ * several {@link HttpClient} instances with equal {@link TransportSettings}, see {@link TransportRegistry}.
+ * </p>
+ * <p>
+ * The blocking client is an Apache or {@code HttpURLConnection} based client depending on the
+ * {@link TransportType}. With {@link TransportType#HTTP2} both APIs share one Netty client speaking HTTP/2, which is
+ * then created eagerly as well.
+ * </p>
+ */
+final class HttpTransport implements AutoCloseable {
+
+    private final TransportSettings settings;
+    private final SdkHttpClient client;
+    private final PoolMetricsRecorder poolMetrics = new PoolMetricsRecorder();
+    private final PoolMetricsRecorder asyncPoolMetrics = new PoolMetricsRecorder();
+    private final Object asyncClientLock = new Object();
+    private volatile SdkAsyncHttpClient asyncClient;
+    private boolean closed;
+
+    /**
+     * Constructs a transport and its blocking client for the given settings.
+     *
+     * @param settings the settings of the transport. Must not be {@code null}.
+     */
+    HttpTransport(final TransportSettings settings) {
+        this.settings = settings;
+        this.client = buildSdkHttpClient();
+    }
+
+    TransportSettings settings() {
+        return settings;
+    }
+
+    /**
+     * Returns the blocking {@link SdkHttpClient} of this transport.
+     *
+     * @return the blocking client.
+     */
+    SdkHttpClient client() {
+        return client;
+    }
+
+    /**
+     * Returns the non-blocking {@link SdkAsyncHttpClient}, creating it on first use.
+     *
+     * @return the non-blocking client.
+     * @throws IllegalStateException if the transport has been closed.
+     */
+    SdkAsyncHttpClient asyncClient() {
+        var result = asyncClient;
+        if (result == null) {
+            synchronized (asyncClientLock) {
+                if (closed) {
+                    throw new IllegalStateException("HTTP transport is closed.");
+                }
+                result = asyncClient;
+                if (result == null) {
+                    result = buildSdkAsyncHttpClient();
+                    asyncClient = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    PoolMetricsRecorder poolMetrics() {
+        return poolMetrics;
+    }
+
+    PoolMetricsRecorder asyncPoolMetrics() {
+        return asyncPoolMetrics;
+    }
+
+    /**
+     * Closes the SDK HTTP clients and their connection pools.
+     */
+    @Override
+    public void close() {
+        synchronized (asyncClientLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        client.close();
+        if (asyncClient != null) {
+            asyncClient.close();
+        }
+    }
+
+    /**
+     * Creates the blocking client for the configured {@link TransportType}.
+     *
+     * @return an {@link SdkHttpClient} instance.
+     */
+    private SdkHttpClient buildSdkHttpClient() {
+        switch (settings.transportType()) {
+            case URL_CONNECTION:
+                return buildUrlConnectionHttpClient();
+            case HTTP2:
+                return new AsyncBackedHttpClient(asyncClient());
+            default:
+                return buildApacheHttpClient();
+        }
+    }
+
+    /**
+     * Creates an instance of {@link ApacheHttpClient} with proxy, timeout and connection pool settings.
+     *
+     * @return an {@link SdkHttpClient} instance.
+     */
+    private SdkHttpClient buildApacheHttpClient() {
+        final var pool = settings.poolProperties();
+        final var builder = ApacheHttpClient.builder()
+                .proxyConfiguration(getProxyConfiguration())
+                .socketTimeout(toDuration(settings.socketTimeout()));
+
+        if (pool.maxConnections() != null) {
+            builder.maxConnections(pool.maxConnections());
+        }
+        if (pool.connectionTimeout() != null) {
+            builder.connectionTimeout(toDuration(pool.connectionTimeout()));
+        }
+        if (pool.connectionAcquisitionTimeout() != null) {
+            builder.connectionAcquisitionTimeout(toDuration(pool.connectionAcquisitionTimeout()));
+        }
+        if (pool.connectionTimeToLive() != null) {
+            builder.connectionTimeToLive(toDuration(pool.connectionTimeToLive()));
+        }
+        if (pool.connectionMaxIdleTime() != null) {
+            builder.connectionMaxIdleTime(toDuration(pool.connectionMaxIdleTime()));
+            builder.useIdleConnectionReaper(true);
+        }
+        if (pool.tcpKeepAlive() != null) {
+            builder.tcpKeepAlive(pool.tcpKeepAlive());
+        }
+        if (pool.expectContinueEnabled() != null) {
+            builder.expectContinueEnabled(pool.expectContinueEnabled());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates an instance of {@link UrlConnectionHttpClient} with proxy and timeout settings.
+     *
+     * @return an {@link SdkHttpClient} instance.
+     */
+    private SdkHttpClient buildUrlConnectionHttpClient() {
+        final var pool = settings.poolProperties();
+        final var builder = UrlConnectionHttpClient.builder()
+                .proxyConfiguration(getUrlConnectionProxyConfiguration())
+                .socketTimeout(toDuration(settings.socketTimeout()));
+
+        if (pool.connectionTimeout() != null) {
+            builder.connectionTimeout(toDuration(pool.connectionTimeout()));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates an instance of {@link SdkAsyncHttpClient} with proxy, timeout and connection pool settings, speaking
+     * HTTP/2 if configured.
+     *
+     * @return an {@link SdkAsyncHttpClient} instance.
+     */
+    private SdkAsyncHttpClient buildSdkAsyncHttpClient() {
+        final var pool = settings.poolProperties();
+        final var timeout = toDuration(settings.socketTimeout());
+        final var builder = NettyNioAsyncHttpClient.builder()
+                .proxyConfiguration(getAsyncProxyConfiguration())
+                .readTimeout(timeout)
+                .writeTimeout(timeout);
+
+        if (settings.transportType() == TransportType.HTTP2) {
+            builder.protocol(Protocol.HTTP2);
+        }
+        if (pool.maxConnections() != null) {
+            builder.maxConcurrency(pool.maxConnections());
+        }
+        if (pool.connectionTimeout() != null) {
+            builder.connectionTimeout(toDuration(pool.connectionTimeout()));
+        }
+        if (pool.connectionAcquisitionTimeout() != null) {
+            builder.connectionAcquisitionTimeout(toDuration(pool.connectionAcquisitionTimeout()));
+        }
+        if (pool.connectionTimeToLive() != null) {
+            builder.connectionTimeToLive(toDuration(pool.connectionTimeToLive()));
+        }
+        if (pool.connectionMaxIdleTime() != null) {
+            builder.connectionMaxIdleTime(toDuration(pool.connectionMaxIdleTime()));
+            builder.useIdleConnectionReaper(true);
+        }
+        if (pool.tcpKeepAlive() != null) {
+            builder.tcpKeepAlive(pool.tcpKeepAlive());
+        }
+        if (pool.maxPendingConnectionAcquires() != null) {
+            builder.maxPendingConnectionAcquires(pool.maxPendingConnectionAcquires());
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Configures proxy settings based on the provided proxy properties.
+     *
+     * @return a {@link ProxyConfiguration} object.
+     */
+    private ProxyConfiguration getProxyConfiguration() {
+        final var proxyConfig = ProxyConfiguration.builder()
+                .useEnvironmentVariableValues(false)
+                .useSystemPropertyValues(false);
+
+        if (settings.proxyEnabled()) {
+            final var proxyProperties = settings.proxyProperties();
+
+            proxyConfig.username(proxyProperties.username());
+            proxyConfig.password(proxyProperties.password());
+            proxyConfig.endpoint(getEndpoint());
+        }
+
+        return proxyConfig.build();
+    }
+
+    /**
+     * Configures proxy settings of the non-blocking client based on the provided proxy properties.
+     *
+     * @return a {@link software.amazon.awssdk.http.nio.netty.ProxyConfiguration} object.
+     */
+    private software.amazon.awssdk.http.nio.netty.ProxyConfiguration getAsyncProxyConfiguration() {
+        final var proxyConfig = software.amazon.awssdk.http.nio.netty.ProxyConfiguration.builder()
+                .useEnvironmentVariableValues(false)
+                .useSystemPropertyValues(false);
+
+        if (settings.proxyEnabled()) {
+            final var proxyProperties = settings.proxyProperties();
+            final var endpoint = getEndpoint();
+
+            proxyConfig.scheme(endpoint.getScheme());
+            proxyConfig.host(endpoint.getHost());
+            proxyConfig.port(endpoint.getPort());
+            proxyConfig.username(proxyProperties.username());
+            proxyConfig.password(proxyProperties.password());
+        }
+
+        return proxyConfig.build();
+    }
+
+    /**
+     * Configures proxy settings of the {@code HttpURLConnection} based client.
+     *
+     * @return a {@link software.amazon.awssdk.http.urlconnection.ProxyConfiguration} object.
+     */
+    private software.amazon.awssdk.http.urlconnection.ProxyConfiguration getUrlConnectionProxyConfiguration() {
+        final var proxyConfig = software.amazon.awssdk.http.urlconnection.ProxyConfiguration.builder()
+                .useEnvironmentVariablesValues(false)
+                .useSystemPropertyValues(false);
+
+        if (settings.proxyEnabled()) {
+            final var proxyProperties = settings.proxyProperties();
+
+            proxyConfig.username(proxyProperties.username());
+            proxyConfig.password(proxyProperties.password());
+            proxyConfig.endpoint(getEndpoint());
+        }
+
+        return proxyConfig.build();
+    }
+
+    /**
+     * Constructs the URI for the proxy endpoint.
+     *
+     * @return a {@link URI} representing the proxy endpoint.
+     */
+    private URI getEndpoint() {
+        return URI.create(settings.proxyProperties().host() + ":" + settings.proxyProperties().port());
+    }
+
+    /**
+     * Converts a duration in milliseconds, as used by the configuration properties, to a {@link Duration}.
+     *
+     * @param millis the duration in milliseconds.
+     * @return the corresponding {@link Duration}.
+     */
+    static Duration toDuration(final Integer millis) {
+        return Duration.ofMillis(Integer.toUnsignedLong(millis));
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.metrics.PoolMetrics;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+import java.time.Instant;
+
+/**
+ * Keeps the connection pool gauges that an SDK HTTP client reported for the most recent request.
+ * <p>
+ * A fresh {@link MetricCollector} is attached to every request through {@link #newCollector()}; once the request
+ * has been handed to the SDK client, the collected values are published with {@link #record(MetricCollector)}.
+ * </p>
+ */
+final class PoolMetricsRecorder {
+
+    private static final String COLLECTOR_NAME = "ApiGatewayRequest";
+
+    private volatile PoolMetrics latest = PoolMetrics.EMPTY;
+
+    /**
+     * Creates a collector to be attached to a single request.
+     *
+     * @return a new {@link MetricCollector}.
+     */
+    MetricCollector newCollector() {
+        return MetricCollector.create(COLLECTOR_NAME);
+    }
+
+    /**
+     * Publishes the pool gauges gathered by the given collector, if the SDK client reported any.
+     *
+     * @param collector the collector previously attached to a request. Must not be {@code null}.
+     * @return the metrics gathered by the collector.
+     */
+    MetricCollection record(final MetricCollector collector) {
+        final var collection = collector.collect();
+        final var maxConcurrency = value(collection, HttpMetric.MAX_CONCURRENCY);
+
+        if (maxConcurrency >= 0) {
+            latest = new PoolMetrics(maxConcurrency,
+                    Math.max(0, value(collection, HttpMetric.LEASED_CONCURRENCY)),
+                    Math.max(0, value(collection, HttpMetric.AVAILABLE_CONCURRENCY)),
+                    Math.max(0, value(collection, HttpMetric.PENDING_CONCURRENCY_ACQUIRES)),
+                    Instant.now());
+        }
+        return collection;
+    }
+
+    /**
+     * Returns the pool gauges reported for the most recent request.
+     *
+     * @return the latest {@link PoolMetrics}, or {@link PoolMetrics#EMPTY} if nothing was reported yet.
+     */
+    PoolMetrics latest() {
+        return latest;
+    }
+
+    /**
+     * Returns how long a request waited for a connection.
+     *
+     * @param collection the metrics gathered for the request, or {@code null}.
+     * @return the connection acquisition time in nanoseconds, or {@code -1} if the SDK client did not report it.
+     */
+    static long acquireNanos(final MetricCollection collection) {
+        if (collection == null) {
+            return -1;
+        }
+        final var values = collection.metricValues(HttpMetric.CONCURRENCY_ACQUIRE_DURATION);
+        return values.isEmpty() ? -1 : values.get(values.size() - 1).toNanos();
+    }
+
+    private static int value(final MetricCollection collection, final SdkMetric<Integer> metric) {
+        final var values = collection.metricValues(metric);
+        return values.isEmpty() ? -1 : values.get(values.size() - 1);
+    }
+}
@@ -0,0 +1,167 @@
+package com.github.mrcrobben.client;
+
+import software.amazon.awssdk.http.ContentStreamProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * The body of a request, together with its length.
+ * <p>
+ * Bodies are created through the static factory methods and are never copied: byte arrays and buffers are sent as
+ * they are, files are memory-mapped, and streams are read while the request is sent. Bodies backed by memory or
+ * by a file can be read any number of times, which allows the payload to be hashed for signing and requests to be
+ * sent again. A body created from an {@link InputStream} can only be read once unless the stream supports
+ * {@linkplain InputStream#markSupported() mark and reset}.
+ * </p>
+ */
+public final class RequestBody {
+
+    private final ContentStreamProvider contentStreamProvider;
+    private final long contentLength;
+    private final ByteBuffer buffer;
+    private final boolean repeatable;
+
+    private RequestBody(final ContentStreamProvider contentStreamProvider, final long contentLength,
+                        final ByteBuffer buffer, final boolean repeatable) {
+        this.contentStreamProvider = contentStreamProvider;
+        this.contentLength = contentLength;
+        this.buffer = buffer;
+        this.repeatable = repeatable;
+    }
+
+    /**
+     * Creates a body from the UTF-8 encoding of the given string.
+     *
+     * @param content the content of the body. Must not be {@code null}.
+     * @return a new {@code RequestBody}.
+     */
+    public static RequestBody fromString(final String content) {
+        if (content == null) {
+            throw new IllegalArgumentException("Content must not be null.");
+        }
+        return fromBytes(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a body from the given bytes. The array is not copied and must not be modified afterwards.
+     *
+     * @param content the content of the body. Must not be {@code null}.
+     * @return a new {@code RequestBody}.
+     */
+    public static RequestBody fromBytes(final byte[] content) {
+        if (content == null) {
+            throw new IllegalArgumentException("Content must not be null.");
+        }
+        return new RequestBody(ContentStreamProvider.fromByteArrayUnsafe(content), content.length,
+                ByteBuffer.wrap(content), true);
+    }
+
+    /**
+     * Creates a body from the remaining bytes of the given buffer. The buffer is not copied, its position and limit
+     * are not changed, and its content must not be modified afterwards.
+     *
+     * @param content the content of the body. Must not be {@code null}.
+     * @return a new {@code RequestBody}.
+     */
+    public static RequestBody fromByteBuffer(final ByteBuffer content) {
+        if (content == null) {
+            throw new IllegalArgumentException("Content must not be null.");
+        }
+        final var view = content.slice();
+        return new RequestBody(() -> new ByteBufferInputStream(view), view.remaining(), view, true);
+    }
+
+    /**
+     * Creates a body that is read from the given stream while the request is sent.
+     *
+     * @param content the stream providing the content of the body. Must not be {@code null}.
+     * @param contentLength the exact number of bytes the stream provides.
+     * @return a new {@code RequestBody}.
+     */
+    public static RequestBody fromInputStream(final InputStream content, final long contentLength) {
+        if (content == null) {
+            throw new IllegalArgumentException("Content must not be null.");
+        }
+        if (contentLength < 0) {
+            throw new IllegalArgumentException("Content length must not be negative.");
+        }
+        return new RequestBody(ContentStreamProvider.fromInputStream(content), contentLength, null,
+                content.markSupported());
+    }
+
+    /**
+     * Creates a body from the content of the given file.
+     * <p>
+     * Files of up to 2 GiB are memory-mapped, so their content is paged in by the operating system instead of
+     * being copied to the heap. Larger files are streamed from disk.
+     * </p>
+     *
+     * @param path the file providing the content of the body. Must not be {@code null}.
+     * @return a new {@code RequestBody}.
+     * @throws UncheckedIOException if the file cannot be read.
+     */
+    public static RequestBody fromPath(final Path path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path must not be null.");
+        }
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final var size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                return new RequestBody(ContentStreamProvider.fromInputStreamSupplier(() -> newInputStream(path)),
+                        size, null, true);
+            }
+            return fromByteBuffer(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the number of bytes of this body.
+     *
+     * @return the content length.
+     */
+    public long contentLength() {
+        return contentLength;
+    }
+
+    /**
+     * Checks whether this body can be read more than once.
+     *
+     * @return {@code true} if the body can be read repeatedly.
+     */
+    public boolean isRepeatable() {
+        return repeatable;
+    }
+
+    ContentStreamProvider contentStreamProvider() {
+        return contentStreamProvider;
+    }
+
+    /**
+     * Returns the content of this body as a buffer, if the body is held in memory or memory-mapped.
+     *
+     * @return a read-only view of the content, or an empty {@link Optional} for streamed bodies.
+     */
+    Optional<ByteBuffer> buffer() {
+        return Optional.ofNullable(buffer).map(ByteBuffer::asReadOnlyBuffer);
+    }
+
+    private static InputStream newInputStream(final Path path) {
+        try {
+            return Files.newInputStream(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
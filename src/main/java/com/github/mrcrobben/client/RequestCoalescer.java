@@ -0,0 +1,66 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.cache.RequestKey;
+import com.github.mrcrobben.client.BufferingResponseHandler.BufferedResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lets identical requests that are in flight at the same time share a single upstream call.
+ * <p>
+ * The first caller of a key executes the call; callers arriving while it is in flight wait for its buffered
+ * response instead of sending their own. Once the call completes the key is released, so later callers start a new
+ * call.
+ * </p>
+ */
+final class RequestCoalescer {
+
+    private final ConcurrentHashMap<RequestKey, CompletableFuture<BufferedResponse>> inFlight =
+            new ConcurrentHashMap<>();
+    private final LongAdder collapsed = new LongAdder();
+
+    /**
+     * Joins the call in flight for the given key, or starts it if there is none.
+     *
+     * @param key the key of the request.
+     * @param call starts the upstream call; only invoked if no call for the key is in flight.
+     * @return a future completed with the shared buffered response.
+     */
+    CompletableFuture<BufferedResponse> coalesce(final RequestKey key,
+                                                 final Supplier<CompletableFuture<BufferedResponse>> call) {
+        final var promise = new CompletableFuture<BufferedResponse>();
+        final var existing = inFlight.putIfAbsent(key, promise);
+        if (existing != null) {
+            collapsed.increment();
+            return existing;
+        }
+
+        CompletableFuture<BufferedResponse> upstream;
+        try {
+            upstream = call.get();
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+        upstream.whenComplete((response, e) -> {
+            inFlight.remove(key, promise);
+            if (e != null) {
+                promise.completeExceptionally(e);
+            } else {
+                promise.complete(response);
+            }
+        });
+        return promise;
+    }
+
+    /**
+     * Returns the number of calls that were answered by another caller's upstream call.
+     *
+     * @return the number of collapsed calls.
+     */
+    long collapsed() {
+        return collapsed.sum();
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.PayloadSigningMode;
+import software.amazon.awssdk.http.ContentStreamProvider;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.auth.aws.signer.AwsV4HttpSigner;
+import software.amazon.awssdk.http.auth.spi.signer.SignedRequest;
+import software.amazon.awssdk.identity.spi.AwsCredentialsIdentity;
+
+/**
+ * Signs requests with AWS V4 signing on behalf of a single {@link HttpClient}.
+ * <p>
+ * The signer is immutable and thread-safe, so it is created once and shared by all requests of the client. The
+ * credentials are read from a {@link CredentialsCache} once per signature, so temporary credentials rotated in the
+ * background take effect on the next request. The derived signing key (the HMAC chain over date, region and service)
+ * is cached by the SDK signer per secret key, region and service, and is rolled over when the UTC date or the secret
+ * changes.
+ * </p>
+ * <p>
+ * Requests are signed for the region of the AWS properties unless another region is given, as for endpoints in
+ * other regions when routing across deployments.
+ * </p>
+ */
+final class RequestSigner {
+
+    private static final AwsV4HttpSigner SIGNER = AwsV4HttpSigner.create();
+
+    private final CredentialsCache credentials;
+    private final String region;
+    private final String serviceName;
+    private final boolean payloadSigningEnabled;
+
+    /**
+     * Constructs a {@code RequestSigner} for the static credentials, region and service of the given AWS properties.
+     *
+     * @param awsProperties the AWS properties providing credentials and signing scope. Must not be {@code null}.
+     * @param payloadSigningMode how request payloads are covered by the signature. Must not be {@code null}.
+     */
+    RequestSigner(final AwsProperties awsProperties, final PayloadSigningMode payloadSigningMode) {
+        this(awsProperties, payloadSigningMode, new CredentialsCache(AwsCredentialsIdentity.create(
+                awsProperties.awsIamAccessKey(), awsProperties.awsSecretAccessKey())));
+    }
+
+    /**
+     * Constructs a {@code RequestSigner} for the region and service of the given AWS properties, signing with the
+     * credentials of the given cache.
+     *
+     * @param awsProperties the AWS properties providing the signing scope. Must not be {@code null}.
+     * @param payloadSigningMode how request payloads are covered by the signature. Must not be {@code null}.
+     * @param credentials the cache of the credentials to sign with. Must not be {@code null}.
+     */
+    RequestSigner(final AwsProperties awsProperties, final PayloadSigningMode payloadSigningMode,
+                  final CredentialsCache credentials) {
+        this.credentials = credentials;
+        this.region = awsProperties.awsRegion();
+        this.serviceName = awsProperties.serviceName();
+        this.payloadSigningEnabled = payloadSigningMode == PayloadSigningMode.SIGNED;
+    }
+
+    /**
+     * Checks whether signing the given request reads its payload to hash it.
+     * <p>
+     * Payloads are always hashed for plain HTTP requests, regardless of the payload signing mode.
+     * </p>
+     *
+     * @param request the request to sign. Must not be {@code null}.
+     * @return {@code true} if the payload is hashed into the signature.
+     */
+    boolean hashesPayload(final SdkHttpFullRequest request) {
+        return payloadSigningEnabled || !"https".equalsIgnoreCase(request.protocol());
+    }
+
+    /**
+     * Signs the prepared request using AWS V4 signing.
+     *
+     * @param request the request to sign. Must not be {@code null}.
+     * @param payload the payload of the request, hashed into the signature. May be {@code null}.
+     * @return a {@link SignedRequest} object representing the signed request.
+     */
+    SignedRequest sign(final SdkHttpFullRequest request, final ContentStreamProvider payload) {
+        return sign(request, payload, region);
+    }
+
+    /**
+     * Signs the prepared request using AWS V4 signing for the given region.
+     *
+     * @param request the request to sign. Must not be {@code null}.
+     * @param payload the payload of the request, hashed into the signature. May be {@code null}.
+     * @param region the signing region. Must not be {@code null}.
+     * @return a {@link SignedRequest} object representing the signed request.
+     */
+    SignedRequest sign(final SdkHttpFullRequest request, final ContentStreamProvider payload, final String region) {
+        return SIGNER.sign(r -> r.identity(credentials.current())
+                .request(request)
+                .payload(payload)
+                .putProperty(AwsV4HttpSigner.SERVICE_SIGNING_NAME, serviceName)
+                .putProperty(AwsV4HttpSigner.REGION_NAME, region)
+                .putProperty(AwsV4HttpSigner.PAYLOAD_SIGNING_ENABLED, payloadSigningEnabled));
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.model.HttpMethod;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A precompiled request to a resource path such as {@code /orders/{id}}, created with
+ * {@link HttpClient#prepare(HttpMethod, String, ContentType, Map)}.
+ * <p>
+ * The path template is parsed and the headers are copied once, so creating a request only expands the path
+ * variables. Variable values are URL-encoded as a single path segment. Templates are immutable and thread-safe.
+ * </p>
+ */
+public final class RequestTemplate {
+
+    private final HttpMethod method;
+    private final String pathTemplate;
+    private final ContentType contentType;
+    private final Map<String, String> headers;
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    /**
+     * Constructs a template by parsing the given path template.
+     *
+     * @param method the HTTP method of the requests. Must not be {@code null}.
+     * @param pathTemplate the path, starting with {@code /}, with variables in braces. Must not be {@code null}.
+     * @param contentType the content type of the payloads. Must not be {@code null}.
+     * @param headers the headers sent with every request. Must not be {@code null}.
+     * @throws IllegalArgumentException if an argument is {@code null} or the path template is malformed.
+     */
+    RequestTemplate(final HttpMethod method, final String pathTemplate, final ContentType contentType,
+                    final Map<String, String> headers) {
+        if (method == null || contentType == null || headers == null) {
+            throw new IllegalArgumentException("HTTP method, content type and headers must not be null.");
+        }
+        if (pathTemplate == null || !pathTemplate.startsWith("/")) {
+            throw new IllegalArgumentException("Path template must start with '/'.");
+        }
+        this.method = method;
+        this.pathTemplate = pathTemplate;
+        this.contentType = contentType;
+        this.headers = Map.copyOf(headers);
+
+        final List<String> literals = new ArrayList<>();
+        final List<String> variables = new ArrayList<>();
+        var from = 0;
+        for (int open = pathTemplate.indexOf('{'); open >= 0; open = pathTemplate.indexOf('{', from)) {
+            final var close = pathTemplate.indexOf('}', open);
+            if (close < 0 || close == open + 1 || pathTemplate.lastIndexOf('{', close) != open) {
+                throw new IllegalArgumentException("Malformed path template: " + pathTemplate);
+            }
+            literals.add(pathTemplate.substring(from, open));
+            variables.add(pathTemplate.substring(open + 1, close));
+            from = close + 1;
+        }
+        if (pathTemplate.indexOf('}', from) >= 0) {
+            throw new IllegalArgumentException("Malformed path template: " + pathTemplate);
+        }
+        literals.add(pathTemplate.substring(from));
+        this.literals = literals.toArray(new String[0]);
+        this.variables = variables.toArray(new String[0]);
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    public HttpMethod method() {
+        return method;
+    }
+
+    public String pathTemplate() {
+        return pathTemplate;
+    }
+
+    public ContentType contentType() {
+        return contentType;
+    }
+
+    /**
+     * Returns the names of the path variables, in the order they appear in the path template.
+     *
+     * @return the variable names.
+     */
+    public List<String> variables() {
+        return List.of(variables);
+    }
+
+    /**
+     * Starts a request with the given path variable values, in the order the variables appear in the template.
+     * <p>
+     * The returned builder can add query parameters, headers and a body.
+     * </p>
+     *
+     * @param values the values of the path variables. Must not be {@code null} and must not contain {@code null}.
+     * @return a new {@link ApiRequest.Builder} for the expanded path.
+     * @throws IllegalArgumentException if the number of values does not match the number of variables.
+     */
+    public ApiRequest.Builder bind(final String... values) {
+        if (values.length != variables.length) {
+            throw new IllegalArgumentException(String.format("Path template %s has %d variables, got %d values.",
+                    pathTemplate, variables.length, values.length));
+        }
+        final String path;
+        if (values.length == 0) {
+            path = pathTemplate;
+        } else {
+            final var sb = new StringBuilder(literalLength + 16 * values.length);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == null) {
+                    throw new IllegalArgumentException("Value of path variable " + variables[i] + " is null.");
+                }
+                sb.append(literals[i]).append(SdkHttpUtils.urlEncode(values[i]));
+            }
+            path = sb.append(literals[values.length]).toString();
+        }
+        return new ApiRequest.Builder()
+                .method(method)
+                .contentType(contentType)
+                .template(path, headers);
+    }
+
+    /**
+     * Starts a request with the given path variable values, looked up by name.
+     *
+     * @param values the values of the path variables by name. Must not be {@code null}.
+     * @return a new {@link ApiRequest.Builder} for the expanded path.
+     * @throws IllegalArgumentException if a variable of the template has no value.
+     */
+    public ApiRequest.Builder bind(final Map<String, String> values) {
+        final var ordered = new String[variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            ordered[i] = values.get(variables[i]);
+        }
+        return bind(ordered);
+    }
+
+    @Override
+    public String toString() {
+        return method + " " + pathTemplate;
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.metrics.RequestListener;
+import com.github.mrcrobben.metrics.RequestMetrics;
+import com.github.mrcrobben.model.HttpMethod;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collects the {@link RequestMetrics} of a single request while it is executed, and reports them to the client's
+ * {@link RequestListener} once.
+ * <p>
+ * A trace is only created if a listener is configured; without one the client passes {@code null} and skips all
+ * bookkeeping. Hedged attempts may report concurrently, so recording methods are synchronized.
+ * </p>
+ */
+final class RequestTrace {
+
+    private static final Logger logger = Logger.getLogger(RequestTrace.class.getName());
+
+    private final RequestListener listener;
+    private final HttpMethod method;
+    private String endpoint;
+    private final long startNanos = System.nanoTime();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private int attempts;
+    private long bytesSent;
+    private long signingNanos;
+    private long connectionAcquisitionNanos = -1;
+    private long timeToFirstByteNanos;
+    private long headersAtNanos = -1;
+
+    /**
+     * Constructs a trace of a request that has not been sent yet.
+     *
+     * @param listener the listener to report to. Must not be {@code null}.
+     * @param endpoint the configured endpoint, reported if no attempt is sent.
+     * @param method the HTTP method of the request.
+     */
+    RequestTrace(final RequestListener listener, final String endpoint, final HttpMethod method) {
+        this.listener = listener;
+        this.endpoint = endpoint;
+        this.method = method;
+    }
+
+    synchronized void onSigned(final long nanos) {
+        signingNanos += nanos;
+    }
+
+    /**
+     * Records that an attempt received its response headers.
+     *
+     * @param endpoint the endpoint the attempt was routed to.
+     * @param contentLength the number of body bytes the attempt sent.
+     * @param connectionAcquisitionNanos the time the attempt waited for a connection, or {@code -1} if unknown.
+     * @param sentAtNanos the {@link System#nanoTime()} at which the attempt was sent.
+     * @param headersAtNanos the {@link System#nanoTime()} at which its response headers arrived.
+     */
+    synchronized void onAttempt(final String endpoint, final long contentLength, final long connectionAcquisitionNanos,
+                                final long sentAtNanos, final long headersAtNanos) {
+        this.endpoint = endpoint;
+        attempts++;
+        bytesSent += contentLength;
+        this.connectionAcquisitionNanos = connectionAcquisitionNanos;
+        this.timeToFirstByteNanos = headersAtNanos - sentAtNanos;
+        this.headersAtNanos = headersAtNanos;
+    }
+
+    /**
+     * Records that an attempt failed without a response.
+     *
+     * @param endpoint the endpoint the attempt was routed to.
+     * @param contentLength the number of body bytes the attempt sent.
+     */
+    synchronized void onFailedAttempt(final String endpoint, final long contentLength) {
+        this.endpoint = endpoint;
+        attempts++;
+        bytesSent += contentLength;
+    }
+
+    /**
+     * Completes the trace and reports it, unless it has been completed before.
+     *
+     * @param statusCode the status code of the final response, or {@code -1} if no response was received.
+     * @param bytesReceived the number of body bytes received, or {@code -1} if unknown.
+     */
+    void complete(final int statusCode, final long bytesReceived) {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+        final var now = System.nanoTime();
+        final RequestMetrics metrics;
+        synchronized (this) {
+            metrics = new RequestMetrics(endpoint, method, statusCode, attempts, bytesSent, bytesReceived,
+                    signingNanos, connectionAcquisitionNanos, timeToFirstByteNanos,
+                    headersAtNanos >= 0 ? now - headersAtNanos : 0, now - startNanos);
+        }
+        try {
+            listener.onRequestCompleted(metrics);
+        } catch (RuntimeException e) {
+            logger.log(Level.FINE, "Request listener failed", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.mrcrobben.client;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A reference-counted registry of {@link HttpTransport} instances keyed by their {@link TransportSettings}.
+ * <p>
+ * Clients with equal settings lease the same transport, so their requests share warm pooled connections.
+ * A transport is closed once the last client that leased it has been closed.
+ * </p>
+ */
+final class TransportRegistry {
+
+    private final Map<TransportSettings, Entry> transports = new HashMap<>();
+
+    /**
+     * Leases the transport for the given settings, creating it if no client uses it yet.
+     *
+     * @param settings the settings of the requested transport. Must not be {@code null}.
+     * @return the shared {@link HttpTransport}.
+     */
+    synchronized HttpTransport acquire(final TransportSettings settings) {
+        final var entry = transports.computeIfAbsent(settings, s -> new Entry(new HttpTransport(s)));
+        entry.references++;
+        return entry.transport;
+    }
+
+    /**
+     * Returns a transport previously leased with {@link #acquire(TransportSettings)}, closing it if it is no longer
+     * used by any client.
+     *
+     * @param transport the leased transport. Must not be {@code null}.
+     */
+    void release(final HttpTransport transport) {
+        synchronized (this) {
+            final var entry = transports.get(transport.settings());
+            if (entry == null || entry.transport != transport || --entry.references > 0) {
+                return;
+            }
+            transports.remove(transport.settings());
+        }
+        transport.close();
+    }
+
+    /**
+     * Returns the number of transports currently leased by at least one client.
+     *
+     * @return the number of open shared transports.
+     */
+    synchronized int size() {
+        return transports.size();
+    }
+
+    private static final class Entry {
+        private final HttpTransport transport;
+        private int references;
+
+        private Entry(final HttpTransport transport) {
+            this.transport = transport;
+        }
+    }
+}
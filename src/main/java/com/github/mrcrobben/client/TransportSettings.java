@@ -0,0 +1,52 @@
+package com.github.mrcrobben.client;
+
+import com.github.mrcrobben.model.PoolProperties;
+import com.github.mrcrobben.model.ProxyProperties;
+import com.github.mrcrobben.model.TransportType;
+
+/**
+ * The settings that determine how an {@link HttpTransport} is built.
+ * <p>
+ * Two clients whose settings are equal can share the same transport, and with it the same connection pools.
+ * The proxy properties are normalized to {@code null} when no proxy is used, so that all clients without a proxy
+ * share a transport regardless of how their (disabled) proxy properties look like.
+ * </p>
+ *
+ * @param proxyProperties the proxy properties, or {@code null} if no proxy is used.
+ * @param socketTimeout the socket timeout in milliseconds.
+ * @param poolProperties the connection pool properties.
+ * @param transportType the HTTP implementation of the transport.
+ */
+record TransportSettings(ProxyProperties proxyProperties,
+                         Integer socketTimeout,
+                         PoolProperties poolProperties,
+                         TransportType transportType) {
+
+    /**
+     * Creates transport settings, normalizing disabled proxy properties, missing pool properties and a missing
+     * transport type.
+     *
+     * @param proxyProperties the proxy properties. May be {@code null}.
+     * @param socketTimeout the socket timeout in milliseconds.
+     * @param poolProperties the connection pool properties. May be {@code null}.
+     * @param transportType the HTTP implementation. May be {@code null} for {@link TransportType#APACHE}.
+     * @return the normalized {@code TransportSettings}.
+     */
+    static TransportSettings of(final ProxyProperties proxyProperties, final Integer socketTimeout,
+                                final PoolProperties poolProperties, final TransportType transportType) {
+        final var proxyEnabled = proxyProperties != null && Boolean.TRUE.equals(proxyProperties.enabled());
+
+        return new TransportSettings(proxyEnabled ? proxyProperties : null, socketTimeout,
+                poolProperties != null ? poolProperties : PoolProperties.DEFAULT,
+                transportType != null ? transportType : TransportType.APACHE);
+    }
+
+    /**
+     * Checks whether requests should be routed through the configured proxy.
+     *
+     * @return {@code true} if proxy properties are present and enabled.
+     */
+    boolean proxyEnabled() {
+        return proxyProperties != null;
+    }
+}
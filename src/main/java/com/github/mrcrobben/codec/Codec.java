@@ -0,0 +1,54 @@
+package com.github.mrcrobben.codec;
+
+import com.github.mrcrobben.client.ContentType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Converts request objects to payloads and response payloads to objects, for the typed methods of a client such as
+ * {@link com.github.mrcrobben.client.HttpClient#execute(com.github.mrcrobben.model.HttpMethod, Object, Class)}.
+ * <p>
+ * A codec writes straight into the pooled buffer that is signed and sent, and reads straight from the response
+ * stream, so no intermediate strings or arrays are needed. Implementations typically adapt a serialization library,
+ * for example Jackson's {@code ObjectMapper.writeValue(OutputStream, Object)} and
+ * {@code ObjectMapper.readValue(InputStream, Class)}. Codecs are shared by all threads using the client and must be
+ * thread-safe.
+ * </p>
+ */
+public interface Codec {
+
+    /**
+     * Returns the content type of the payloads written by this codec.
+     *
+     * @return the content type.
+     */
+    ContentType contentType();
+
+    /**
+     * Writes the given object as a request payload.
+     * <p>
+     * The stream must not be closed or kept after this method returns.
+     * </p>
+     *
+     * @param value the object to encode. Never {@code null}.
+     * @param out the stream receiving the payload. Never {@code null}.
+     * @throws IOException if the object cannot be encoded.
+     */
+    void encode(Object value, OutputStream out) throws IOException;
+
+    /**
+     * Reads an object of the given type from a response payload.
+     * <p>
+     * The stream should be read only as far as needed; it is closed by the client afterwards.
+     * </p>
+     *
+     * @param in the stream over the response body. Never {@code null}.
+     * @param type the type of the object to read. Never {@code null}.
+     * @param <T> the type of the object.
+     * @return the decoded object.
+     * @throws IOException if the payload cannot be read or decoded.
+     */
+    <T> T decode(InputStream in, Class<T> type) throws IOException;
+}
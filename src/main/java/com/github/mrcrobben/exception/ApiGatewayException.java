@@ -1,12 +1,65 @@
 package com.github.mrcrobben.exception;
 
+/**
+ * Thrown when a request to the API Gateway fails.
+ * <p>
+ * For unsuccessful HTTP responses, the exception carries the status code, the request id assigned by the
+ * API Gateway and the (possibly truncated) error body. For failures without a response, such as I/O errors,
+ * the status code is {@code -1}.
+ * </p>
+ */
 public class ApiGatewayException extends RuntimeException{
 
+    private final int statusCode;
+    private final String requestId;
+    private final String errorBody;
+
     public ApiGatewayException(final String message) {
         super(message);
+        this.statusCode = -1;
+        this.requestId = null;
+        this.errorBody = null;
     }
 
     public ApiGatewayException(final Exception eX) {
         super(eX);
+        this.statusCode = -1;
+        this.requestId = null;
+        this.errorBody = null;
+    }
+
+    public ApiGatewayException(final String message, final int statusCode, final String requestId,
+                               final String errorBody) {
+        super(message);
+        this.statusCode = statusCode;
+        this.requestId = requestId;
+        this.errorBody = errorBody;
+    }
+
+    /**
+     * Returns the HTTP status code of the failed response.
+     *
+     * @return the status code, or {@code -1} if no response was received.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Returns the request id assigned by the API Gateway to the failed request.
+     *
+     * @return the request id, or {@code null} if it is unknown.
+     */
+    public String getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Returns the body of the failed response.
+     *
+     * @return the error body, or {@code null} if no response was received.
+     */
+    public String getErrorBody() {
+        return errorBody;
     }
 }
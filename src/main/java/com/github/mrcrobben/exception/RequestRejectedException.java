@@ -0,0 +1,16 @@
+package com.github.mrcrobben.exception;
+
+/**
+ * Thrown when the client rejects a request without sending it, because its rate limit is exhausted or the circuit
+ * breaker of the endpoint is open.
+ * <p>
+ * The status code mirrors the response the API Gateway would have given: {@code 429} for the rate limit and
+ * {@code 503} for an open circuit. Rejected requests are not retried.
+ * </p>
+ */
+public class RequestRejectedException extends ApiGatewayException {
+
+    public RequestRejectedException(final String message, final int statusCode) {
+        super(message, statusCode, null, null);
+    }
+}
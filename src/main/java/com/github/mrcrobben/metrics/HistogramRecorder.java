@@ -0,0 +1,81 @@
+package com.github.mrcrobben.metrics;
+
+import com.github.mrcrobben.model.HttpMethod;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link RequestListener} keeping a {@link LatencyHistogram} of the total request latency per endpoint and
+ * method, together with a histogram of the time to first byte.
+ */
+public final class HistogramRecorder implements RequestListener {
+
+    private final Map<Route, Histograms> histograms = new ConcurrentHashMap<>();
+
+    @Override
+    public void onRequestCompleted(final RequestMetrics metrics) {
+        final var route = new Route(metrics.endpoint(), metrics.method());
+        var entry = histograms.get(route);
+        if (entry == null) {
+            entry = histograms.computeIfAbsent(route, r -> new Histograms(new LatencyHistogram(),
+                    new LatencyHistogram()));
+        }
+        entry.total().record(metrics.totalNanos());
+        if (metrics.attempts() > 0) {
+            entry.timeToFirstByte().record(metrics.timeToFirstByteNanos());
+        }
+    }
+
+    /**
+     * Returns the histogram of the total latency of the requests with the given endpoint and method.
+     *
+     * @param endpoint the endpoint of the requests.
+     * @param method the HTTP method of the requests.
+     * @return the histogram, or an empty {@link Optional} if no such request has completed yet.
+     */
+    public Optional<LatencyHistogram> latency(final String endpoint, final HttpMethod method) {
+        return Optional.ofNullable(histograms.get(new Route(endpoint, method))).map(Histograms::total);
+    }
+
+    /**
+     * Returns the histogram of the time to first byte of the requests with the given endpoint and method, counting
+     * only requests that were sent to the endpoint.
+     *
+     * @param endpoint the endpoint of the requests.
+     * @param method the HTTP method of the requests.
+     * @return the histogram, or an empty {@link Optional} if no such request has completed yet.
+     */
+    public Optional<LatencyHistogram> timeToFirstByte(final String endpoint, final HttpMethod method) {
+        return Optional.ofNullable(histograms.get(new Route(endpoint, method))).map(Histograms::timeToFirstByte);
+    }
+
+    /**
+     * Returns the histograms of all routes seen so far.
+     *
+     * @return an unmodifiable view of the histograms by route.
+     */
+    public Map<Route, Histograms> histograms() {
+        return Collections.unmodifiableMap(histograms);
+    }
+
+    /**
+     * An endpoint and method for which latencies are recorded.
+     *
+     * @param endpoint the endpoint.
+     * @param method the HTTP method.
+     */
+    public record Route(String endpoint, HttpMethod method) {
+    }
+
+    /**
+     * The histograms of a route.
+     *
+     * @param total the total latency of the requests.
+     * @param timeToFirstByte the time to first byte of the requests that were sent.
+     */
+    public record Histograms(LatencyHistogram total, LatencyHistogram timeToFirstByte) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.mrcrobben.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of latencies with logarithmic buckets, in the style of an HDR histogram.
+ * <p>
+ * Values below {@value #LINEAR_BUCKETS} nanoseconds are counted exactly; larger values are counted in buckets of
+ * {@value #SUB_BUCKETS} per power of two, so every recorded value is reproduced within about 1.6 percent. Recording
+ * is a single atomic increment and never allocates.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    private static final int LINEAR_BUCKETS = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int FIRST_EXPONENT = 7;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR_BUCKETS + (63 - FIRST_EXPONENT) * SUB_BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values are recorded as {@code 0}.
+     */
+    public void record(final long nanos) {
+        final var value = Math.max(0, nanos);
+        counts.incrementAndGet(index(value));
+        total.increment();
+        sum.add(value);
+    }
+
+    /**
+     * Returns the number of recorded latencies.
+     *
+     * @return the count.
+     */
+    public long count() {
+        return total.sum();
+    }
+
+    /**
+     * Returns the mean of the recorded latencies.
+     *
+     * @return the mean in nanoseconds, or {@code 0} if nothing was recorded.
+     */
+    public double mean() {
+        final var count = total.sum();
+        return count == 0 ? 0 : (double) sum.sum() / count;
+    }
+
+    /**
+     * Returns the latency at the given percentile.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}.
+     * @return the highest latency equivalent to the percentile's bucket in nanoseconds, or {@code 0} if nothing was
+     * recorded.
+     */
+    public long valueAtPercentile(final double percentile) {
+        final var snapshot = new long[counts.length()];
+        long count = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            count += snapshot[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        final var rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return highestEquivalentValue(i);
+            }
+        }
+        return highestEquivalentValue(snapshot.length - 1);
+    }
+
+    private static int index(final long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        final var exponent = 63 - Long.numberOfLeadingZeros(value);
+        final var subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (exponent - FIRST_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestEquivalentValue(final int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        final var exponent = FIRST_EXPONENT + (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+        final var subBucket = SUB_BUCKETS + (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        final var shift = exponent - SUB_BUCKET_BITS;
+        return ((long) subBucket << shift) + (1L << shift) - 1;
+    }
+}
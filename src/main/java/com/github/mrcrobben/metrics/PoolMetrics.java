@@ -0,0 +1,29 @@
+package com.github.mrcrobben.metrics;
+
+import java.time.Instant;
+
+/**
+ * A snapshot of connection pool gauges, taken by the underlying SDK HTTP client when a request leased a connection.
+ * <p>
+ * The SDK HTTP clients do not expose their pools, so these are not live gauges: they describe the pool as the most
+ * recent request found it and do not change while no requests are sent. Use {@link #recordedAt()} to judge how
+ * current a snapshot is.
+ * </p>
+ *
+ * @param maxConcurrency the maximum number of connections (or concurrent requests) of the pool.
+ * @param leased the number of connections leased to requests.
+ * @param available the number of idle connections available for reuse.
+ * @param pending the number of requests waiting for a connection.
+ * @param recordedAt the time the snapshot was taken, or {@code null} if no request has been sent yet.
+ */
+public record PoolMetrics(int maxConcurrency,
+                          int leased,
+                          int available,
+                          int pending,
+                          Instant recordedAt) {
+
+    /**
+     * Pool metrics of a pool that has not served any request yet.
+     */
+    public static final PoolMetrics EMPTY = new PoolMetrics(0, 0, 0, 0, null);
+}
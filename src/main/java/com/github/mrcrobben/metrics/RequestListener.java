@@ -0,0 +1,20 @@
+package com.github.mrcrobben.metrics;
+
+/**
+ * Receives the {@link RequestMetrics} of every request executed by a client.
+ * <p>
+ * Blocking requests complete when their response is closed, asynchronous requests when their response has been
+ * received. Listeners are called on the thread completing the request, which may be an I/O thread of the
+ * non-blocking client, so they must be fast and must not block. Exceptions thrown by a listener are ignored.
+ * </p>
+ */
+@FunctionalInterface
+public interface RequestListener {
+
+    /**
+     * Called once per request after it has completed.
+     *
+     * @param metrics the timings and sizes of the request.
+     */
+    void onRequestCompleted(RequestMetrics metrics);
+}
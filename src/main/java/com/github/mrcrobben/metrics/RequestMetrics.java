@@ -0,0 +1,45 @@
+package com.github.mrcrobben.metrics;
+
+import com.github.mrcrobben.model.HttpMethod;
+
+/**
+ * Timings and sizes of a single request, reported to a {@link RequestListener} once the request has completed.
+ * <p>
+ * Durations are in nanoseconds. Attempts include retries and hedged attempts; the phase timings other than signing
+ * describe the last attempt. Connection acquisition includes connecting and the TLS handshake when no pooled
+ * connection was available. A request served from the response cache has no attempts.
+ * </p>
+ *
+ * @param endpoint the endpoint the last attempt was routed to, or the configured endpoint if no attempt was sent.
+ * @param method the HTTP method of the request.
+ * @param statusCode the status code of the final response, or {@code -1} if no response was received.
+ * @param attempts the number of attempts sent.
+ * @param bytesSent the number of body bytes sent over all attempts.
+ * @param bytesReceived the number of body bytes received, or {@code -1} if unknown.
+ * @param signingNanos the time spent signing, over all attempts.
+ * @param connectionAcquisitionNanos the time the last attempt waited for a connection, or {@code -1} if unknown.
+ * @param timeToFirstByteNanos the time from sending the last attempt until its response headers arrived.
+ * @param bodyTransferNanos the time from the response headers until the body was read completely or closed.
+ * @param totalNanos the time from the start of the request until it completed.
+ */
+public record RequestMetrics(String endpoint,
+                             HttpMethod method,
+                             int statusCode,
+                             int attempts,
+                             long bytesSent,
+                             long bytesReceived,
+                             long signingNanos,
+                             long connectionAcquisitionNanos,
+                             long timeToFirstByteNanos,
+                             long bodyTransferNanos,
+                             long totalNanos) {
+
+    /**
+     * Returns the number of retries, that is attempts after the first one.
+     *
+     * @return the retry count.
+     */
+    public int retryCount() {
+        return Math.max(0, attempts - 1);
+    }
+}
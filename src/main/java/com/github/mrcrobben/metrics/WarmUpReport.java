@@ -0,0 +1,22 @@
+package com.github.mrcrobben.metrics;
+
+/**
+ * The outcome and cost of warming up a client.
+ *
+ * @param connections the number of connections opened and returned to the pool.
+ * @param failures the number of connections that could not be opened or did not answer in time.
+ * @param signingNanos the time spent signing the first request, including loading the signing code.
+ * @param maxConnectNanos the time the slowest connection took to answer, including DNS resolution and handshakes.
+ * @param totalNanos the time the whole warm-up took.
+ */
+public record WarmUpReport(int connections,
+                           int failures,
+                           long signingNanos,
+                           long maxConnectNanos,
+                           long totalNanos) {
+
+    /**
+     * The report of a client that was not warmed up.
+     */
+    public static final WarmUpReport NONE = new WarmUpReport(0, 0, 0, 0, 0);
+}
@@ -0,0 +1,20 @@
+package com.github.mrcrobben.model;
+
+/**
+ * Settings of the in-memory response cache for {@code GET} requests.
+ *
+ * @param maxEntries the maximum number of cached responses.
+ * @param maxBytes the maximum total size of the cached response bodies; larger responses are not cached.
+ */
+public record CacheProperties(int maxEntries,
+                              long maxBytes) {
+
+    public CacheProperties {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be at least 1.");
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("Max bytes must be at least 1.");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.mrcrobben.model;
+
+/**
+ * Circuit breaker settings of a client.
+ * <p>
+ * The breaker evaluates the outcomes of the last {@code windowSize} calls to an endpoint. Once at least
+ * {@code minimumCalls} have been recorded and either the failure rate or the slow call rate reaches its threshold,
+ * the breaker opens and calls fail fast for {@code openDuration} milliseconds. It then lets a single probe through,
+ * closing again if the probe succeeds. Failures are I/O errors and 5xx responses; throttling is not a failure.
+ * </p>
+ *
+ * @param windowSize the number of recent calls evaluated.
+ * @param minimumCalls the minimum number of recorded calls before the breaker may open.
+ * @param failureRateThreshold the failure rate in percent at which the breaker opens.
+ * @param slowCallDuration the duration in milliseconds above which a call counts as slow.
+ * @param slowCallRateThreshold the slow call rate in percent at which the breaker opens.
+ * @param openDuration the time in milliseconds the breaker stays open before probing for recovery.
+ */
+public record CircuitBreakerProperties(int windowSize,
+                                       int minimumCalls,
+                                       double failureRateThreshold,
+                                       int slowCallDuration,
+                                       double slowCallRateThreshold,
+                                       int openDuration) {
+
+    /**
+     * Circuit breaker properties that open after at least 20 of the last 100 calls, when half of them failed or 80
+     * percent took longer than 10 s, and probe again after 30 s.
+     */
+    public static final CircuitBreakerProperties STANDARD =
+            new CircuitBreakerProperties(100, 20, 50, 10_000, 80, 30_000);
+
+    public CircuitBreakerProperties {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Window size must be at least 1.");
+        }
+        if (minimumCalls < 1 || minimumCalls > windowSize) {
+            throw new IllegalArgumentException("Minimum calls must be between 1 and the window size.");
+        }
+        if (!(failureRateThreshold > 0) || failureRateThreshold > 100
+                || !(slowCallRateThreshold > 0) || slowCallRateThreshold > 100) {
+            throw new IllegalArgumentException("Rate thresholds must be greater than 0 and at most 100.");
+        }
+        if (slowCallDuration < 0 || openDuration < 0) {
+            throw new IllegalArgumentException("Durations must not be negative.");
+        }
+    }
+}
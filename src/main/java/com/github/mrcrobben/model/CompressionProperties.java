@@ -0,0 +1,30 @@
+package com.github.mrcrobben.model;
+
+/**
+ * Compression settings of a client.
+ * <p>
+ * Request payloads held in memory of a compressible content type and at least {@code minimumSize} bytes long are
+ * compressed before they are signed, so the signature covers the compressed payload. Payloads that do not shrink
+ * are sent as they are.
+ * </p>
+ *
+ * @param requestEncoding the coding used to compress request payloads, or {@code null} to send them uncompressed.
+ * @param minimumSize the minimum payload size in bytes for compression.
+ * @param decompressResponses whether compressed responses are requested with {@code Accept-Encoding} and
+ *                            decompressed while they are read.
+ */
+public record CompressionProperties(ContentEncoding requestEncoding,
+                                    int minimumSize,
+                                    boolean decompressResponses) {
+
+    /**
+     * Compression properties that gzip payloads of at least 1 KB and decompress responses.
+     */
+    public static final CompressionProperties STANDARD = new CompressionProperties(ContentEncoding.GZIP, 1024, true);
+
+    public CompressionProperties {
+        if (minimumSize < 0) {
+            throw new IllegalArgumentException("Minimum size must not be negative.");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.github.mrcrobben.model;
+
+/**
+ * A content coding used to compress request and response bodies.
+ */
+public enum ContentEncoding {
+
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String encoding;
+
+    ContentEncoding(final String encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * Returns the token of this coding as used in the {@code Content-Encoding} header.
+     *
+     * @return the coding token.
+     */
+    public String getEncoding() {
+        return encoding;
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.mrcrobben.model;
+
+/**
+ * A deployment of the API that requests can be routed to.
+ *
+ * @param endpoint the URL of the API Gateway stage.
+ * @param region the AWS region of the deployment, used as the AWS V4 signing region.
+ */
+public record EndpointProperties(String endpoint,
+                                 String region) {
+
+    public EndpointProperties {
+        if (endpoint == null || region == null) {
+            throw new IllegalArgumentException("Endpoint and region must not be null.");
+        }
+    }
+}
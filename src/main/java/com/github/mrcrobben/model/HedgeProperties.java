@@ -0,0 +1,27 @@
+package com.github.mrcrobben.model;
+
+/**
+ * Settings of hedged requests: a second attempt is sent if the first has not answered within the hedge delay,
+ * and whichever answers first with a usable response is used. Only requests with idempotent methods are hedged.
+ * <p>
+ * Hedged attempts are sent with the non-blocking client and their responses are buffered in memory, also for the
+ * blocking methods, so hedging suits small responses rather than large downloads that should be streamed.
+ * </p>
+ *
+ * @param delay the hedge delay in milliseconds; used until enough latencies have been observed if
+ *              {@code percentile} is set.
+ * @param percentile the latency percentile, between {@code 0} and {@code 100} exclusive, used as hedge delay once
+ *                   enough latencies have been observed, or {@code 0} to always use {@code delay}.
+ */
+public record HedgeProperties(int delay,
+                              double percentile) {
+
+    public HedgeProperties {
+        if (delay < 0) {
+            throw new IllegalArgumentException("Delay must not be negative.");
+        }
+        if (percentile < 0 || percentile >= 100) {
+            throw new IllegalArgumentException("Percentile must be at least 0 and less than 100.");
+        }
+    }
+}
@@ -4,14 +4,26 @@ import software.amazon.awssdk.http.SdkHttpMethod;
 
 public enum HttpMethod {
 
-    POST(SdkHttpMethod.POST),
-    GET(SdkHttpMethod.GET),
-    PATCH(SdkHttpMethod.PATCH);
+    POST(SdkHttpMethod.POST, false),
+    GET(SdkHttpMethod.GET, true),
+    PATCH(SdkHttpMethod.PATCH, false);
 
-    private HttpMethod(final SdkHttpMethod sdkHttpMethod) {
+    private final boolean idempotent;
+
+    private HttpMethod(final SdkHttpMethod sdkHttpMethod, final boolean idempotent) {
+        this.idempotent = idempotent;
     }
 
     public SdkHttpMethod getMethod() {
         return SdkHttpMethod.valueOf(this.name());
     }
+
+    /**
+     * Checks whether sending a request with this method more than once has the same effect as sending it once.
+     *
+     * @return {@code true} for idempotent methods.
+     */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
 }
@@ -0,0 +1,20 @@
+package com.github.mrcrobben.model;
+
+/**
+ * Determines how the request payload is covered by the AWS V4 signature.
+ */
+public enum PayloadSigningMode {
+
+    /**
+     * The SHA-256 hash of the payload is part of the signature. The payload is read once to hash it and once more
+     * to send it. This is the default.
+     */
+    SIGNED,
+
+    /**
+     * The payload is sent with the {@code UNSIGNED-PAYLOAD} marker and is read only once, while it is sent.
+     * Integrity of the payload is then protected by TLS only, so this mode applies to HTTPS endpoints only;
+     * requests to plain HTTP endpoints are always signed with {@link #SIGNED}.
+     */
+    UNSIGNED
+}
@@ -0,0 +1,32 @@
+package com.github.mrcrobben.model;
+
+/**
+ * Connection pool settings of the underlying HTTP clients.
+ * <p>
+ * All durations are in milliseconds. A {@code null} value keeps the default of the underlying SDK HTTP client.
+ * </p>
+ *
+ * @param maxConnections the maximum number of pooled connections (concurrent requests for the non-blocking client).
+ * @param connectionTimeout the time to wait for a TCP connection to be established.
+ * @param connectionAcquisitionTimeout the time to wait for a connection to be leased from the pool.
+ * @param connectionTimeToLive the maximum lifetime of a pooled connection; {@code 0} means unlimited.
+ * @param connectionMaxIdleTime the time after which idle connections are closed by the idle connection reaper.
+ * @param tcpKeepAlive whether TCP keep-alive probes are sent on pooled connections.
+ * @param expectContinueEnabled whether the {@code Expect: 100-continue} handshake is used for request bodies.
+ * @param maxPendingConnectionAcquires the maximum number of requests waiting for a connection of the
+ *                                     non-blocking client before new requests are rejected.
+ */
+public record PoolProperties(Integer maxConnections,
+                             Integer connectionTimeout,
+                             Integer connectionAcquisitionTimeout,
+                             Integer connectionTimeToLive,
+                             Integer connectionMaxIdleTime,
+                             Boolean tcpKeepAlive,
+                             Boolean expectContinueEnabled,
+                             Integer maxPendingConnectionAcquires) {
+
+    /**
+     * Pool properties that keep all defaults of the underlying SDK HTTP clients.
+     */
+    public static final PoolProperties DEFAULT = new PoolProperties(null, null, null, null, null, null, null, null);
+}
@@ -0,0 +1,26 @@
+package com.github.mrcrobben.model;
+
+/**
+ * Client-side rate limit settings, matching the throttling settings of an API Gateway usage plan.
+ *
+ * @param rate the steady-state number of requests per second.
+ * @param burst the maximum number of requests that may be sent at once after a quiet period.
+ * @param maxWait the maximum time in milliseconds a request waits for a permit; {@code 0} rejects requests
+ *                immediately when no permit is available.
+ */
+public record RateLimitProperties(double rate,
+                                  int burst,
+                                  int maxWait) {
+
+    public RateLimitProperties {
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("Rate must be positive.");
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1.");
+        }
+        if (maxWait < 0) {
+            throw new IllegalArgumentException("Max wait must not be negative.");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.mrcrobben.model;
+
+/**
+ * Retry settings of a client.
+ * <p>
+ * Durations are in milliseconds. Retries are spent from a token-bucket retry budget of {@code budgetCapacity}
+ * tokens: every retry costs {@code retryCost} tokens and every successful response returns one token, so that
+ * retries stop once the API Gateway fails persistently instead of multiplying the load on it.
+ * </p>
+ *
+ * @param maxAttempts the maximum number of attempts per request, including the first one.
+ * @param baseDelay the base delay of the exponential backoff.
+ * @param maxDelay the maximum delay between two attempts, also capping {@code Retry-After}.
+ * @param budgetCapacity the capacity of the retry budget, in tokens.
+ * @param retryCost the number of tokens a retry takes from the budget.
+ * @param retryNonIdempotent whether requests with non-idempotent methods are retried after server errors and
+ *                           I/O failures, where the API Gateway may already have processed them.
+ */
+public record RetryProperties(int maxAttempts,
+                              int baseDelay,
+                              int maxDelay,
+                              int budgetCapacity,
+                              int retryCost,
+                              boolean retryNonIdempotent) {
+
+    public RetryProperties {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be at least 1.");
+        }
+        if (baseDelay < 0 || maxDelay < 0) {
+            throw new IllegalArgumentException("Delays must not be negative.");
+        }
+        if (maxDelay < baseDelay) {
+            throw new IllegalArgumentException("Max delay must not be less than base delay.");
+        }
+        if (budgetCapacity < 0 || retryCost < 0) {
+            throw new IllegalArgumentException("Budget capacity and retry cost must not be negative.");
+        }
+    }
+
+    /**
+     * Retry properties that disable retries. This is the default.
+     */
+    public static final RetryProperties DISABLED = new RetryProperties(1, 0, 0, 0, 0, false);
+
+    /**
+     * Retry properties with up to 3 attempts, 100 ms base delay, 20 s maximum delay and a budget of 500 tokens
+     * with 5 tokens per retry.
+     */
+    public static final RetryProperties STANDARD = new RetryProperties(3, 100, 20_000, 500, 5, false);
+}
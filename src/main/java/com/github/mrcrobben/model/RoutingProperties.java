@@ -0,0 +1,46 @@
+package com.github.mrcrobben.model;
+
+import java.util.List;
+
+/**
+ * Settings for routing requests across several deployments of the same API.
+ * <p>
+ * Durations are in milliseconds. An endpoint is ejected after {@code ejectionThreshold} consecutive failed
+ * attempts, that is I/O errors or 5xx responses, and receives no traffic for {@code ejectionDuration}. After that it
+ * takes a growing share of the traffic over {@code recoveryDuration}.
+ * </p>
+ *
+ * @param endpoints the endpoints to route to. Must not be empty.
+ * @param ejectionThreshold the number of consecutive failures after which an endpoint is ejected.
+ * @param ejectionDuration the time an ejected endpoint receives no traffic.
+ * @param recoveryDuration the time over which a returning endpoint is brought back to full traffic.
+ */
+public record RoutingProperties(List<EndpointProperties> endpoints,
+                                int ejectionThreshold,
+                                int ejectionDuration,
+                                int recoveryDuration) {
+
+    public RoutingProperties {
+        if (endpoints == null || endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one endpoint is required.");
+        }
+        if (ejectionThreshold < 1) {
+            throw new IllegalArgumentException("Ejection threshold must be at least 1.");
+        }
+        if (ejectionDuration < 0 || recoveryDuration < 0) {
+            throw new IllegalArgumentException("Durations must not be negative.");
+        }
+        endpoints = List.copyOf(endpoints);
+    }
+
+    /**
+     * Creates routing properties that eject an endpoint after 5 consecutive failures for 30 s and bring it back
+     * over 60 s.
+     *
+     * @param endpoints the endpoints to route to. Must not be empty.
+     * @return the routing properties.
+     */
+    public static RoutingProperties of(final List<EndpointProperties> endpoints) {
+        return new RoutingProperties(endpoints, 5, 30_000, 60_000);
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.mrcrobben.model;
+
+/**
+ * The HTTP implementation used to send requests.
+ */
+public enum TransportType {
+
+    /**
+     * The Apache HTTP client, speaking HTTP/1.1 over a pool of connections. Every request in flight occupies a
+     * connection. This is the default.
+     */
+    APACHE,
+
+    /**
+     * The JDK's {@code HttpURLConnection}, speaking HTTP/1.1. It loads the fewest classes and starts fastest, which
+     * suits short-lived processes such as small functions. Connections are kept alive by the JDK; the connection pool
+     * properties other than the connection timeout do not apply.
+     */
+    URL_CONNECTION,
+
+    /**
+     * The Netty client speaking HTTP/2, multiplexing many concurrent requests as streams over a few connections.
+     * HTTPS endpoints negotiate HTTP/2 with ALPN and plain HTTP endpoints use it with prior knowledge. The maximum
+     * number of connections of the pool properties bounds the number of concurrent streams.
+     */
+    HTTP2
+}
@@ -0,0 +1,45 @@
+package com.github.mrcrobben.model;
+
+/**
+ * Settings for warming up a client when it is built.
+ * <p>
+ * Warming up opens {@code connections} pooled connections to every endpoint, including DNS resolution and TLS
+ * handshakes, and signs a first request, so the first real requests do not pay for it. The connections are opened
+ * with {@code OPTIONS} requests to {@code path}, which API Gateway answers itself, with a short error or CORS
+ * response, without invoking the integration behind it. The timeout is in milliseconds.
+ * </p>
+ *
+ * @param connections the number of connections to open per endpoint, limited to the pool size.
+ * @param timeout the maximum time the warm-up may take.
+ * @param background whether the client is returned right away while it warms up, instead of after warming up.
+ * @param path the URL-encoded resource path warm-up requests are sent to, relative to the endpoint, or an empty
+ *             string for the endpoint itself.
+ */
+public record WarmUpProperties(int connections,
+                               int timeout,
+                               boolean background,
+                               String path) {
+
+    public WarmUpProperties {
+        if (connections < 1) {
+            throw new IllegalArgumentException("Connections must be at least 1.");
+        }
+        if (timeout < 1) {
+            throw new IllegalArgumentException("Timeout must be at least 1.");
+        }
+        if (path == null || !path.isEmpty() && !path.startsWith("/")) {
+            throw new IllegalArgumentException("Path must be empty or start with /.");
+        }
+    }
+
+    /**
+     * Constructs warm-up properties that send their requests to the endpoint itself.
+     *
+     * @param connections the number of connections to open per endpoint.
+     * @param timeout the maximum time the warm-up may take.
+     * @param background whether the client is returned right away while it warms up.
+     */
+    public WarmUpProperties(final int connections, final int timeout, final boolean background) {
+        this(connections, timeout, background, "");
+    }
+}
@@ -0,0 +1,172 @@
+package com.github.mrcrobben.resilience;
+
+import com.github.mrcrobben.model.CircuitBreakerProperties;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A count-based circuit breaker guarding a single endpoint.
+ * <p>
+ * The outcomes of the most recent calls are kept in a ring buffer. While {@link State#CLOSED} every call is
+ * permitted; once the failure or slow call rate crosses its threshold the breaker turns {@link State#OPEN} and
+ * rejects calls until the open duration has elapsed. It then turns {@link State#HALF_OPEN} and permits one probe,
+ * whose outcome closes or reopens it. Outcomes are reported through the {@link Permit} a call was given, so a late
+ * outcome of a call permitted before the breaker opened cannot stand in for the probe.
+ * </p>
+ */
+public final class CircuitBreaker {
+
+    /**
+     * The state of a circuit breaker.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final CircuitBreakerProperties properties;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final byte[] outcomes;
+    private int next;
+    private int recorded;
+    private int failures;
+    private int slowCalls;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean probing;
+    private final Permit callPermit = new Permit(false);
+    private final Permit probePermit = new Permit(true);
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    /**
+     * Constructs a closed circuit breaker.
+     *
+     * @param properties the thresholds of the breaker. Must not be {@code null}.
+     */
+    public CircuitBreaker(final CircuitBreakerProperties properties) {
+        this.properties = properties;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(properties.slowCallDuration());
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(properties.openDuration());
+        this.outcomes = new byte[properties.windowSize()];
+    }
+
+    /**
+     * Asks for permission to make a call.
+     *
+     * @return the {@link Permit} through which the outcome of the call must be reported, or an empty
+     * {@link Optional} if the call is rejected.
+     */
+    public synchronized Optional<Permit> tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return Optional.empty();
+            }
+            state = State.HALF_OPEN;
+            probing = false;
+        }
+        if (state == State.CLOSED) {
+            return Optional.of(callPermit);
+        }
+        if (probing) {
+            return Optional.empty();
+        }
+        probing = true;
+        return Optional.of(probePermit);
+    }
+
+    private synchronized void onResult(final boolean probe, final boolean failed, final long durationNanos) {
+        final var slow = durationNanos > slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (!probe) {
+                return;
+            }
+            probing = false;
+            if (failed || slow) {
+                open();
+            } else {
+                reset();
+            }
+            return;
+        }
+        if (state == State.OPEN || probe) {
+            return;
+        }
+
+        final var outcome = (byte) ((failed ? FAILED : 0) | (slow ? SLOW : 0));
+        if (recorded == outcomes.length) {
+            final var evicted = outcomes[next];
+            failures -= evicted & FAILED;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            recorded++;
+        }
+        outcomes[next] = outcome;
+        next = (next + 1) % outcomes.length;
+        failures += outcome & FAILED;
+        slowCalls += (outcome & SLOW) >> 1;
+
+        if (recorded >= properties.minimumCalls()
+                && (failures * 100.0 / recorded >= properties.failureRateThreshold()
+                || slowCalls * 100.0 / recorded >= properties.slowCallRateThreshold())) {
+            open();
+        }
+    }
+
+    /**
+     * Returns the current state of this breaker.
+     *
+     * @return the {@link State}; an open breaker whose open duration has elapsed is still reported as open until
+     * the next call probes it.
+     */
+    public synchronized State state() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+        slowCalls = 0;
+    }
+
+    /**
+     * The permission to make one call, given by {@link #tryAcquire()}.
+     */
+    public final class Permit {
+
+        private final boolean probe;
+
+        private Permit(final boolean probe) {
+            this.probe = probe;
+        }
+
+        /**
+         * Checks whether this permit was given to the probe of a half-open breaker.
+         *
+         * @return {@code true} for the probe.
+         */
+        public boolean isProbe() {
+            return probe;
+        }
+
+        /**
+         * Records the outcome of the permitted call. While the breaker is half-open, only the outcome of the probe
+         * counts.
+         *
+         * @param failed whether the call failed.
+         * @param durationNanos the duration of the call in nanoseconds.
+         */
+        public void onResult(final boolean failed, final long durationNanos) {
+            CircuitBreaker.this.onResult(probe, failed, durationNanos);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.mrcrobben.resilience;
+
+import java.util.Arrays;
+
+/**
+ * Tracks a percentile of recent request latencies.
+ * <p>
+ * Latencies are kept in a ring buffer of the last {@value #SAMPLES} samples. The percentile is recomputed every
+ * {@value #RECOMPUTE_INTERVAL} samples, so reading it is a single volatile read.
+ * </p>
+ */
+public final class LatencyTracker {
+
+    private static final int SAMPLES = 512;
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private final double percentile;
+    private final long[] samples = new long[SAMPLES];
+    private int next;
+    private int recorded;
+    private volatile long value = -1;
+
+    /**
+     * Constructs a tracker without samples.
+     *
+     * @param percentile the tracked percentile, between {@code 0} and {@code 100} exclusive.
+     */
+    public LatencyTracker(final double percentile) {
+        this.percentile = percentile;
+    }
+
+    /**
+     * Records the latency of a request.
+     *
+     * @param nanos the latency in nanoseconds.
+     */
+    public synchronized void record(final long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % SAMPLES;
+        recorded = Math.min(recorded + 1, SAMPLES);
+
+        if (next % RECOMPUTE_INTERVAL == 0) {
+            final var sorted = Arrays.copyOf(samples, recorded);
+            Arrays.sort(sorted);
+            final var rank = (int) Math.ceil(percentile / 100 * recorded) - 1;
+            value = sorted[Math.max(0, Math.min(recorded - 1, rank))];
+        }
+    }
+
+    /**
+     * Returns the tracked percentile.
+     *
+     * @return the percentile in nanoseconds, or {@code -1} until {@value #RECOMPUTE_INTERVAL} samples have been
+     * recorded.
+     */
+    public long percentile() {
+        return value;
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.mrcrobben.resilience;
+
+import com.github.mrcrobben.model.RateLimitProperties;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free token-bucket rate limiter with a steady rate and a burst capacity.
+ * <p>
+ * The bucket is implemented as a generic cell rate algorithm: a single atomic timestamp holds the theoretical
+ * arrival time of the next request, and acquiring a permit advances it by one emission interval. Permits can be
+ * acquired without waiting ({@link #tryAcquire()}), by blocking ({@link #acquire(Duration)}) or asynchronously
+ * ({@link #acquireAsync(Duration)}). Waiting callers reserve their permit up front, so they are served in order
+ * and never spin.
+ * </p>
+ */
+public final class RateLimiter {
+
+    private final long intervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    /**
+     * Constructs a rate limiter whose bucket starts full.
+     *
+     * @param properties the rate and burst settings. Must not be {@code null}.
+     */
+    public RateLimiter(final RateLimitProperties properties) {
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / properties.rate()));
+        this.burstToleranceNanos = intervalNanos * (properties.burst() - 1);
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - burstToleranceNanos);
+    }
+
+    /**
+     * Acquires a permit if one is available right now.
+     *
+     * @return {@code true} if a permit was acquired.
+     */
+    public boolean tryAcquire() {
+        return reserve(Duration.ZERO) == 0;
+    }
+
+    /**
+     * Acquires a permit, blocking the calling thread until it is available.
+     *
+     * @param maxWait the maximum time to wait for the permit.
+     * @return {@code true} if a permit was acquired, {@code false} if it would not be available within
+     * {@code maxWait}; in that case no permit is consumed.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public boolean acquire(final Duration maxWait) throws InterruptedException {
+        final var wait = reserve(maxWait);
+        if (wait < 0) {
+            return false;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        return true;
+    }
+
+    /**
+     * Acquires a permit without blocking the calling thread.
+     *
+     * @param maxWait the maximum time to wait for the permit.
+     * @return a future completed with {@code true} once the permit is available, or immediately with {@code false}
+     * if it would not be available within {@code maxWait}.
+     */
+    public CompletableFuture<Boolean> acquireAsync(final Duration maxWait) {
+        final var wait = reserve(maxWait);
+        if (wait <= 0) {
+            return CompletableFuture.completedFuture(wait == 0);
+        }
+        return CompletableFuture.supplyAsync(() -> true,
+                CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Reserves the next permit if it becomes available within {@code maxWait}.
+     *
+     * @param maxWait the maximum time to wait for the permit.
+     * @return the time in nanoseconds until the reserved permit may be used, or {@code -1} if none was reserved.
+     */
+    private long reserve(final Duration maxWait) {
+        final var maxWaitNanos = maxWait.toNanos();
+        while (true) {
+            final var now = System.nanoTime();
+            final var current = theoreticalArrival.get();
+            final var arrival = current - now > 0 ? current : now;
+            final var wait = Math.max(0, arrival - now - burstToleranceNanos);
+
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (theoreticalArrival.compareAndSet(current, arrival + intervalNanos)) {
+                return wait;
+            }
+        }
+    }
+}
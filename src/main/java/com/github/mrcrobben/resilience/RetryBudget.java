@@ -0,0 +1,69 @@
+package com.github.mrcrobben.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A token bucket limiting the share of retries among all requests of a client.
+ * <p>
+ * Each retry takes a fixed number of tokens and each successful response returns one. While the API Gateway is
+ * healthy the bucket stays full; during an outage it drains and further retries are refused, so retries cannot
+ * amplify the outage. The bucket is lock-free and safe for use by multiple threads.
+ * </p>
+ */
+public final class RetryBudget {
+
+    private final int capacity;
+    private final AtomicInteger tokens;
+
+    /**
+     * Constructs a full retry budget.
+     *
+     * @param capacity the maximum number of tokens. Must not be negative.
+     */
+    public RetryBudget(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Retry budget capacity must not be negative.");
+        }
+        this.capacity = capacity;
+        this.tokens = new AtomicInteger(capacity);
+    }
+
+    /**
+     * Takes the given number of tokens if they are available.
+     *
+     * @param cost the number of tokens to take.
+     * @return {@code true} if the tokens were taken and the retry may proceed.
+     */
+    public boolean tryAcquire(final int cost) {
+        while (true) {
+            final var current = tokens.get();
+            if (current < cost) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - cost)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns one token to the budget after a successful response, up to its capacity.
+     */
+    public void onSuccess() {
+        while (true) {
+            final var current = tokens.get();
+            if (current >= capacity || tokens.compareAndSet(current, current + 1)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tokens currently available.
+     *
+     * @return the available tokens.
+     */
+    public int available() {
+        return tokens.get();
+    }
+}
@@ -0,0 +1,131 @@
+package com.github.mrcrobben.resilience;
+
+import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.model.RetryProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether and when a failed request is attempted again.
+ * <p>
+ * Throttled requests ({@code 429}) are rejected by the API Gateway before they reach the integration, so they are
+ * retried for every method. Server errors ({@code 500}, {@code 502}, {@code 503}, {@code 504}) and I/O failures are
+ * retried for idempotent methods only, unless retrying non-idempotent methods is enabled. Delays follow an
+ * exponential backoff with full jitter, and never undercut a {@code Retry-After} sent by the server. Every retry is
+ * paid for from a shared {@link RetryBudget}.
+ * </p>
+ */
+public final class RetryPolicy {
+
+    private final RetryProperties properties;
+    private final RetryBudget budget;
+
+    /**
+     * Constructs a retry policy with its own retry budget.
+     *
+     * @param properties the retry settings. Must not be {@code null}.
+     */
+    public RetryPolicy(final RetryProperties properties) {
+        if (properties == null) {
+            throw new IllegalArgumentException("Retry properties must not be null.");
+        }
+        this.properties = properties;
+        this.budget = new RetryBudget(properties.budgetCapacity());
+    }
+
+    /**
+     * Checks whether the given status code denotes a transient failure.
+     *
+     * @param statusCode the HTTP status code of the response.
+     * @return {@code true} for throttling and transient server errors.
+     */
+    public static boolean isRetryableStatus(final int statusCode) {
+        return statusCode == 429 || statusCode == 500 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    /**
+     * Decides whether a failed attempt is retried, and takes the cost of the retry from the budget if so.
+     *
+     * @param method the HTTP method of the request. Must not be {@code null}.
+     * @param repeatable whether the request body can be sent again.
+     * @param attempt the number of the failed attempt, starting at {@code 1}.
+     * @param statusCode the status code of the failed response, or {@code -1} for an I/O failure.
+     * @param retryAfter the value of the {@code Retry-After} header of the response, or {@code null}.
+     * @return the delay before the next attempt, or an empty {@link Optional} if the request is not retried.
+     */
+    public Optional<Duration> nextDelay(final HttpMethod method, final boolean repeatable, final int attempt,
+                                        final int statusCode, final String retryAfter) {
+        if (attempt >= properties.maxAttempts() || !repeatable) {
+            return Optional.empty();
+        }
+        if (statusCode >= 0 && !isRetryableStatus(statusCode)) {
+            return Optional.empty();
+        }
+        if (statusCode != 429 && !method.isIdempotent() && !properties.retryNonIdempotent()) {
+            return Optional.empty();
+        }
+        if (!budget.tryAcquire(properties.retryCost())) {
+            return Optional.empty();
+        }
+
+        final var backoff = backoff(attempt);
+        final var serverDelay = parseRetryAfter(retryAfter).orElse(Duration.ZERO);
+        final var maxDelay = Duration.ofMillis(properties.maxDelay());
+        final var delay = backoff.compareTo(serverDelay) >= 0 ? backoff : serverDelay;
+
+        return Optional.of(delay.compareTo(maxDelay) <= 0 ? delay : maxDelay);
+    }
+
+    /**
+     * Records a successful response, refilling the retry budget.
+     */
+    public void onSuccess() {
+        budget.onSuccess();
+    }
+
+    public RetryBudget budget() {
+        return budget;
+    }
+
+    /**
+     * Computes the exponential backoff with full jitter for the given attempt.
+     *
+     * @param attempt the number of the failed attempt, starting at {@code 1}.
+     * @return a random delay between zero and the exponential backoff ceiling.
+     */
+    private Duration backoff(final int attempt) {
+        final var ceiling = Math.min((long) properties.maxDelay(),
+                (long) properties.baseDelay() << Math.min(attempt - 1, 30));
+        return Duration.ofMillis(ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0);
+    }
+
+    /**
+     * Parses a {@code Retry-After} header given either in seconds or as an HTTP date.
+     *
+     * @param retryAfter the header value. May be {@code null}.
+     * @return the delay requested by the server, or an empty {@link Optional} if absent or malformed.
+     */
+    static Optional<Duration> parseRetryAfter(final String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return Optional.empty();
+        }
+        final var value = retryAfter.trim();
+        try {
+            return Optional.of(Duration.ofSeconds(Math.max(0, Long.parseLong(value))));
+        } catch (NumberFormatException e) {
+            try {
+                final var date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                final var delay = Duration.between(Instant.now(), date);
+                return Optional.of(delay.isNegative() ? Duration.ZERO : delay);
+            } catch (DateTimeParseException ignored) {
+                return Optional.empty();
+            }
+        }
+    }
+}
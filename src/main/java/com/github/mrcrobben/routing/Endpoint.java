@@ -0,0 +1,169 @@
+package com.github.mrcrobben.routing;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An endpoint known to an {@link EndpointRouter}, with its recent latency, outstanding requests and health.
+ * <p>
+ * The latency is an exponentially weighted moving average of the attempts sent to the endpoint, in which failed
+ * attempts are penalized. An endpoint that fails too often in a row is ejected for a while and then recovers
+ * gradually: its share of traffic ramps up over the recovery period that starts when the ejection ends, whether or
+ * not it receives an attempt.
+ * </p>
+ */
+public final class Endpoint {
+
+    /**
+     * The weight of a new latency sample in the moving average.
+     */
+    private static final double EWMA_ALPHA = 0.2;
+
+    /**
+     * The factor by which a failed attempt is counted slower than the current average latency.
+     */
+    private static final int FAILURE_PENALTY = 4;
+
+    /**
+     * The share of its score a recovering endpoint starts with.
+     */
+    private static final double MIN_RECOVERY_WEIGHT = 0.1;
+
+    private final String name;
+    private final URI uri;
+    private final String basePath;
+    private final String region;
+    private final boolean tracked;
+    private final int ejectionThreshold;
+    private final long ejectionNanos;
+    private final long recoveryNanos;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private volatile double latencyNanos;
+    private volatile long ejectedUntil;
+    private int consecutiveFailures;
+
+    Endpoint(final String name, final String region, final boolean tracked, final int ejectionThreshold,
+             final long ejectionMillis, final long recoveryMillis) {
+        this.name = name;
+        this.uri = URI.create(name);
+        final var rawPath = uri.getRawPath() != null ? uri.getRawPath() : "";
+        this.basePath = rawPath.endsWith("/") ? rawPath.substring(0, rawPath.length() - 1) : rawPath;
+        this.region = region;
+        this.tracked = tracked;
+        this.ejectionThreshold = ejectionThreshold;
+        this.ejectionNanos = TimeUnit.MILLISECONDS.toNanos(ejectionMillis);
+        this.recoveryNanos = TimeUnit.MILLISECONDS.toNanos(recoveryMillis);
+        // Starts in the past, so a new endpoint is neither ejected nor recovering.
+        this.ejectedUntil = System.nanoTime() - ejectionNanos - recoveryNanos - 1;
+    }
+
+    /**
+     * Returns the endpoint URL as configured.
+     *
+     * @return the endpoint URL.
+     */
+    public String name() {
+        return name;
+    }
+
+    public URI uri() {
+        return uri;
+    }
+
+    /**
+     * Returns the URL-encoded path of the endpoint, to which resource paths of requests are appended.
+     *
+     * @return the path without a trailing {@code /}, or an empty string if the endpoint has no path.
+     */
+    public String basePath() {
+        return basePath;
+    }
+
+    public String region() {
+        return region;
+    }
+
+    /**
+     * Returns the moving average of the latency of the attempts sent to this endpoint.
+     *
+     * @return the average latency in nanoseconds, or {@code 0} if no attempt has completed yet.
+     */
+    public double latencyNanos() {
+        return latencyNanos;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Checks whether this endpoint is currently ejected.
+     *
+     * @return {@code true} if the endpoint receives no traffic.
+     */
+    public boolean isEjected() {
+        return isEjected(System.nanoTime());
+    }
+
+    /**
+     * Records that an attempt is sent to this endpoint.
+     */
+    void onStart() {
+        if (tracked) {
+            outstanding.incrementAndGet();
+        }
+    }
+
+    /**
+     * Records the outcome of an attempt previously started with {@link #onStart()}. A failed attempt is counted as
+     * {@value #FAILURE_PENALTY} times slower than the slower of its duration and the current average, so an endpoint
+     * that fails fast never looks faster than a healthy one.
+     *
+     * @param durationNanos the duration of the attempt.
+     * @param failed whether the attempt failed.
+     */
+    void onComplete(final long durationNanos, final boolean failed) {
+        if (!tracked) {
+            return;
+        }
+        outstanding.decrementAndGet();
+        synchronized (this) {
+            final double sample = failed ? FAILURE_PENALTY * Math.max(durationNanos, latencyNanos) : durationNanos;
+            latencyNanos = latencyNanos == 0 ? sample : EWMA_ALPHA * sample + (1 - EWMA_ALPHA) * latencyNanos;
+            if (!failed) {
+                consecutiveFailures = 0;
+                return;
+            }
+            final var now = System.nanoTime();
+            if (++consecutiveFailures >= ejectionThreshold && !isEjected(now)) {
+                consecutiveFailures = 0;
+                ejectedUntil = now + ejectionNanos;
+            }
+        }
+    }
+
+    boolean isEjected(final long now) {
+        return now - ejectedUntil < 0;
+    }
+
+    long ejectedUntil() {
+        return ejectedUntil;
+    }
+
+    /**
+     * Scores this endpoint for routing; lower is better.
+     *
+     * @param now the current {@link System#nanoTime()}.
+     * @return the latency weighted by the outstanding requests, inflated during the recovery period that follows the
+     *         end of an ejection.
+     */
+    double score(final long now) {
+        final var score = (latencyNanos + 1) * (outstanding.get() + 1);
+        final var sinceReturn = now - ejectedUntil;
+        if (sinceReturn >= recoveryNanos) {
+            return score;
+        }
+        return score / Math.max(MIN_RECOVERY_WEIGHT, (double) sinceReturn / recoveryNanos);
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.mrcrobben.routing;
+
+import com.github.mrcrobben.model.EndpointProperties;
+import com.github.mrcrobben.model.RoutingProperties;
+
+import java.util.List;
+
+/**
+ * Routes requests across several deployments of the same API.
+ * <p>
+ * Every attempt goes to the endpoint with the lowest latency weighted by its outstanding requests. Ejected
+ * endpoints are skipped; if all endpoints are ejected, the one that returns first is used, so requests are never
+ * rejected by the router itself. With a single endpoint no statistics are kept.
+ * </p>
+ */
+public final class EndpointRouter {
+
+    private final List<Endpoint> endpoints;
+
+    /**
+     * Constructs a router over the endpoints of the given properties.
+     *
+     * @param properties the endpoints and ejection settings. Must not be {@code null}.
+     */
+    public EndpointRouter(final RoutingProperties properties) {
+        final var tracked = properties.endpoints().size() > 1;
+        this.endpoints = properties.endpoints().stream()
+                .map(endpoint -> new Endpoint(endpoint.endpoint(), endpoint.region(), tracked,
+                        properties.ejectionThreshold(), properties.ejectionDuration(),
+                        properties.recoveryDuration()))
+                .toList();
+    }
+
+    /**
+     * Constructs a router with a single endpoint.
+     *
+     * @param endpoint the endpoint. Must not be {@code null}.
+     */
+    public EndpointRouter(final EndpointProperties endpoint) {
+        this(RoutingProperties.of(List.of(endpoint)));
+    }
+
+    /**
+     * Selects the endpoint for the next attempt.
+     *
+     * @return the selected {@link Endpoint}.
+     */
+    public Endpoint select() {
+        if (endpoints.size() == 1) {
+            return endpoints.get(0);
+        }
+        final var now = System.nanoTime();
+        Endpoint best = null;
+        var bestScore = Double.MAX_VALUE;
+        Endpoint firstToReturn = endpoints.get(0);
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isEjected(now)) {
+                if (endpoint.ejectedUntil() - firstToReturn.ejectedUntil() < 0) {
+                    firstToReturn = endpoint;
+                }
+                continue;
+            }
+            final var score = endpoint.score(now);
+            if (score < bestScore) {
+                best = endpoint;
+                bestScore = score;
+            }
+        }
+        return best != null ? best : firstToReturn;
+    }
+
+    /**
+     * Records that an attempt is sent to the given endpoint.
+     *
+     * @param endpoint the endpoint returned by {@link #select()}. Must not be {@code null}.
+     */
+    public void onStart(final Endpoint endpoint) {
+        endpoint.onStart();
+    }
+
+    /**
+     * Records the outcome of an attempt previously reported with {@link #onStart(Endpoint)}.
+     *
+     * @param endpoint the endpoint the attempt was sent to. Must not be {@code null}.
+     * @param durationNanos the duration of the attempt.
+     * @param failed whether the attempt failed.
+     */
+    public void onComplete(final Endpoint endpoint, final long durationNanos, final boolean failed) {
+        endpoint.onComplete(durationNanos, failed);
+    }
+
+    /**
+     * Returns the endpoints of this router.
+     *
+     * @return the endpoints, in configuration order.
+     */
+    public List<Endpoint> endpoints() {
+        return endpoints;
+    }
+}
@@ -0,0 +1,84 @@
+import com.github.mrcrobben.model.CircuitBreakerProperties;
+import com.github.mrcrobben.resilience.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    @Test
+    void testOpensOnceFailureRateIsReached() {
+        // Arrange
+        final var breaker = new CircuitBreaker(new CircuitBreakerProperties(10, 4, 50, 1_000, 100, 60_000));
+
+        // Act
+        record(breaker, false, 0);
+        record(breaker, true, 0);
+        record(breaker, false, 0);
+        final var stateBeforeThreshold = breaker.state();
+        record(breaker, true, 0);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, stateBeforeThreshold);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertTrue(breaker.tryAcquire().isEmpty());
+    }
+
+    @Test
+    void testOpensOnceSlowCallRateIsReached() {
+        // Arrange
+        final var breaker = new CircuitBreaker(new CircuitBreakerProperties(4, 2, 100, 100, 50, 60_000));
+
+        // Act
+        record(breaker, false, TimeUnit.MILLISECONDS.toNanos(10));
+        record(breaker, false, TimeUnit.MILLISECONDS.toNanos(500));
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    @Test
+    void testSingleProbeClosesBreakerAfterOpenDuration() throws Exception {
+        // Arrange
+        final var breaker = new CircuitBreaker(new CircuitBreakerProperties(2, 1, 50, 1_000, 100, 50));
+        record(breaker, true, 0);
+        Thread.sleep(100);
+
+        // Act
+        final var probe = breaker.tryAcquire();
+        final var concurrentCall = breaker.tryAcquire();
+        probe.orElseThrow().onResult(false, 0);
+
+        // Assert
+        assertTrue(probe.orElseThrow().isProbe());
+        assertTrue(concurrentCall.isEmpty());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertTrue(breaker.tryAcquire().isPresent());
+    }
+
+    @Test
+    void testLateOutcomeOfEarlierCallDoesNotResolveProbe() throws Exception {
+        // Arrange
+        final var breaker = new CircuitBreaker(new CircuitBreakerProperties(2, 1, 50, 1_000, 100, 50));
+        final var lateCall = breaker.tryAcquire().orElseThrow();
+        record(breaker, true, 0);
+        Thread.sleep(100);
+        final var probe = breaker.tryAcquire().orElseThrow();
+
+        // Act
+        lateCall.onResult(false, 0);
+        final var stateAfterLateCall = breaker.state();
+        probe.onResult(true, 0);
+
+        // Assert
+        assertEquals(CircuitBreaker.State.HALF_OPEN, stateAfterLateCall);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private static void record(final CircuitBreaker breaker, final boolean failed, final long durationNanos) {
+        breaker.tryAcquire().orElseThrow().onResult(failed, durationNanos);
+    }
+}
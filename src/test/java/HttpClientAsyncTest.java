@@ -0,0 +1,184 @@
+import com.github.mrcrobben.client.ClientConfigurationBuilder;
+import com.github.mrcrobben.client.ClientFactory;
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.exception.ApiGatewayException;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.model.PoolProperties;
+import com.github.mrcrobben.model.ProxyProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.utils.IoUtils;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientAsyncTest {
+
+    private static final int REQUESTS = 200;
+    private static final long RESPONSE_DELAY_MILLIS = 300;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicInteger signedRequests = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS);
+        server.setExecutor(serverExecutor);
+        server.createContext("/ok", exchange -> {
+            final var current = inFlight.incrementAndGet();
+            peakInFlight.accumulateAndGet(current, Math::max);
+            try {
+                if (exchange.getRequestHeaders().getFirst("Authorization").startsWith("AWS4-HMAC-SHA256")) {
+                    signedRequests.incrementAndGet();
+                }
+                exchange.getRequestBody().readAllBytes();
+                Thread.sleep(RESPONSE_DELAY_MILLIS);
+                final var body = "Response Body".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.createContext("/error", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(502, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testExecuteAsyncKeepsManyRequestsInFlightFromOneThread() throws Exception {
+        // Arrange
+        httpClient = clientFor("/ok");
+        final var callerThread = Thread.currentThread();
+        final List<CompletableFuture<InputStream>> futures = new ArrayList<>();
+
+        // Act
+        final var start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(httpClient.executeAsync(HttpMethod.POST, "{\"id\":" + i + "}", ContentType.JSON));
+        }
+        assertEquals(callerThread, Thread.currentThread());
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+        final var elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        for (CompletableFuture<InputStream> future : futures) {
+            assertEquals("Response Body", IoUtils.toUtf8String(future.join()));
+        }
+        assertEquals(REQUESTS, signedRequests.get());
+        assertTrue(peakInFlight.get() >= 32,
+                "Expected many concurrent requests from a single caller thread, peak was " + peakInFlight.get());
+        assertTrue(elapsedMillis < REQUESTS * RESPONSE_DELAY_MILLIS / 8,
+                "Requests were not executed concurrently, took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testExecuteAsyncFailsOnErrorStatus() {
+        // Arrange
+        httpClient = clientFor("/error");
+
+        // Act & Assert
+        final var future = httpClient.executeAsync(HttpMethod.POST, "Test payload", ContentType.JSON);
+        final var exception = assertThrows(CompletionException.class, future::join);
+
+        assertInstanceOf(ApiGatewayException.class, exception.getCause());
+        assertTrue(exception.getCause().getMessage().startsWith("Status code: 502"));
+    }
+
+    @Test
+    void testExecuteAsyncRespectsPoolSize() throws Exception {
+        // Arrange
+        httpClient = clientFor("/ok", new PoolProperties(8, null, 30_000, null, null, true, null, null));
+        final List<CompletableFuture<InputStream>> futures = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 32; i++) {
+            futures.add(httpClient.executeAsync(HttpMethod.POST, "{\"id\":" + i + "}", ContentType.JSON));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(peakInFlight.get() <= 8, "Pool size exceeded, peak was " + peakInFlight.get());
+        assertEquals(8, httpClient.getLastRequestAsyncPoolMetrics().maxConcurrency());
+        assertNotNull(httpClient.getLastRequestAsyncPoolMetrics().recordedAt());
+    }
+
+    @Test
+    void testClientsFromFactoryShareTransportUntilLastIsClosed() throws Exception {
+        // Arrange
+        final var configuration = new ClientConfigurationBuilder()
+                .awsProperties(awsProperties("/ok"))
+                .proxyProperties(new ProxyProperties(false, null, 0, null, null))
+                .createClientConfiguration();
+        final var first = ClientFactory.create(configuration);
+        httpClient = ClientFactory.create(configuration);
+
+        // Act
+        IoUtils.toUtf8String(first.executeAsync(HttpMethod.POST, "first", ContentType.JSON).get(10, TimeUnit.SECONDS));
+        first.close();
+        final var response = httpClient.executeAsync(HttpMethod.POST, "second", ContentType.JSON)
+                .get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals("Response Body", IoUtils.toUtf8String(response));
+        assertThrows(IllegalStateException.class,
+                () -> first.executeAsync(HttpMethod.POST, "closed", ContentType.JSON));
+    }
+
+    private HttpClient clientFor(final String path) {
+        return clientFor(path, null);
+    }
+
+    private HttpClient clientFor(final String path, final PoolProperties poolProperties) {
+        return new HttpClient.Builder()
+                .awsProperties(awsProperties(path))
+                .poolProperties(poolProperties)
+                .build();
+    }
+
+    private AwsProperties awsProperties(final String path) {
+        final var endpoint = "http://localhost:" + server.getAddress().getPort() + path;
+
+        return new AwsProperties("accessKey", "secretKey", "us-west-2", endpoint, "execute-api", 10_000);
+    }
+}
@@ -0,0 +1,116 @@
+import com.github.mrcrobben.client.ApiRequest;
+import com.github.mrcrobben.client.BatchResult;
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.utils.IoUtils;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientBatchTest {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 100);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                final var body = exchange.getRequestBody().readAllBytes();
+                Thread.sleep(20);
+                final var status = new String(body, StandardCharsets.UTF_8).equals("fail") ? 500 : 200;
+                exchange.sendResponseHeaders(status, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+
+        httpClient = new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "secretKey", "us-west-2",
+                        "http://localhost:" + server.getAddress().getPort(), "execute-api", 10_000))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testExecuteAllReturnsResultsInInputOrder() throws Exception {
+        // Arrange
+        final List<ApiRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            requests.add(ApiRequest.of(HttpMethod.POST, i == 42 ? "fail" : "item-" + i, ContentType.JSON));
+        }
+
+        // Act
+        final List<BatchResult> results = httpClient.executeAll(requests, 10);
+
+        // Assert
+        assertEquals(100, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            final var result = results.get(i);
+            assertEquals(i, result.index());
+            if (i == 42) {
+                assertFalse(result.isSuccess());
+                assertEquals(500, result.error().getStatusCode());
+                assertEquals("fail", result.error().getErrorBody());
+            } else {
+                assertTrue(result.isSuccess());
+                assertEquals("item-" + i, IoUtils.toUtf8String(result.response().body()));
+            }
+        }
+        assertTrue(peakInFlight.get() <= 10, "Concurrency limit exceeded, peak was " + peakInFlight.get());
+    }
+
+    @Test
+    void testBatchSinkAppliesBackpressure() {
+        // Arrange
+        final List<CompletableFuture<BatchResult>> futures = new ArrayList<>();
+
+        // Act
+        try (var sink = httpClient.openBatch(4)) {
+            for (int i = 0; i < 40; i++) {
+                futures.add(sink.submit(ApiRequest.of(HttpMethod.POST, "item-" + i, ContentType.JSON)));
+                assertTrue(inFlight.get() <= 4);
+            }
+        }
+
+        // Assert
+        assertTrue(futures.stream().allMatch(CompletableFuture::isDone));
+        assertTrue(futures.stream().map(CompletableFuture::join).allMatch(BatchResult::isSuccess));
+        assertTrue(peakInFlight.get() <= 4, "Concurrency limit exceeded, peak was " + peakInFlight.get());
+    }
+}
@@ -0,0 +1,239 @@
+import com.github.mrcrobben.client.ApiRequest;
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.client.RequestBody;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.CacheProperties;
+import com.github.mrcrobben.model.CompressionProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.utils.IoUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientCacheTest {
+
+    private static final String LARGE_BODY = "Response Body".repeat(100);
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+    private final List<String> apiKeys = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/max-age", exchange -> respond(exchange, "Cache-Control", "max-age=60"));
+        server.createContext("/gzip", exchange -> {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            final var out = new ByteArrayOutputStream();
+            try (var gzip = new GZIPOutputStream(out)) {
+                gzip.write(LARGE_BODY.getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Cache-Control", "max-age=60");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, out.size());
+            exchange.getResponseBody().write(out.toByteArray());
+            exchange.close();
+        });
+        server.createContext("/no-store", exchange -> respond(exchange, "Cache-Control", "no-store"));
+        server.createContext("/etag", exchange -> {
+            final var condition = exchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.set(condition);
+            if ("\"v1\"".equals(condition)) {
+                requests.incrementAndGet();
+                exchange.getRequestBody().readAllBytes();
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            respond(exchange, "Cache-Control", "no-cache");
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void testFreshResponseIsServedFromCache() throws Exception {
+        // Arrange
+        httpClient = clientFor("/max-age", new CacheProperties(16, 1024));
+
+        // Act
+        final var first = IoUtils.toUtf8String(httpClient.execute(HttpMethod.GET, "", ContentType.JSON));
+        final var second = IoUtils.toUtf8String(httpClient.execute(HttpMethod.GET, "", ContentType.JSON));
+
+        // Assert
+        assertEquals("Response Body", first);
+        assertEquals("Response Body", second);
+        assertEquals(1, requests.get());
+        assertEquals(1, httpClient.getCacheStatistics().hits());
+        assertEquals(1, httpClient.getCacheStatistics().misses());
+    }
+
+    @Test
+    void testStaleResponseIsRevalidatedWithETag() throws Exception {
+        // Arrange
+        httpClient = clientFor("/etag", new CacheProperties(16, 1024));
+
+        // Act
+        IoUtils.toUtf8String(httpClient.execute(HttpMethod.GET, "", ContentType.JSON));
+        final var revalidated = IoUtils.toUtf8String(httpClient.executeAsync(HttpMethod.GET, "", ContentType.JSON)
+                .get(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals("Response Body", revalidated);
+        assertEquals("\"v1\"", ifNoneMatch.get());
+        assertEquals(2, requests.get());
+        assertEquals(1, httpClient.getCacheStatistics().revalidations());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() throws Exception {
+        // Arrange
+        httpClient = clientFor("/max-age", new CacheProperties(1, 1024));
+
+        // Act
+        IoUtils.toUtf8String(httpClient.execute(HttpMethod.GET, "first", ContentType.JSON));
+        IoUtils.toUtf8String(httpClient.execute(HttpMethod.GET, "second", ContentType.JSON));
+        IoUtils.toUtf8String(httpClient.execute(HttpMethod.GET, "first", ContentType.JSON));
+
+        // Assert
+        final var statistics = httpClient.getCacheStatistics();
+        assertEquals(3, requests.get());
+        assertEquals(2, statistics.evictions());
+        assertEquals(1, statistics.entries());
+        assertEquals("Response Body".length(), statistics.bytes());
+    }
+
+    @Test
+    void testRequestsWithDifferentHeadersAreCachedSeparately() throws Exception {
+        // Arrange
+        httpClient = clientFor("/max-age", new CacheProperties(16, 1024));
+
+        // Act
+        IoUtils.toUtf8String(httpClient.execute(withApiKey("key-a")));
+        IoUtils.toUtf8String(httpClient.execute(withApiKey("key-b")));
+        IoUtils.toUtf8String(httpClient.execute(withApiKey("key-a")));
+
+        // Assert
+        assertEquals(2, requests.get());
+        assertEquals(List.of("key-a", "key-b"), apiKeys);
+        assertEquals(1, httpClient.getCacheStatistics().hits());
+    }
+
+    @Test
+    void testDecompressedResponseIsStoredWithItsDecodedLength() throws Exception {
+        // Arrange
+        httpClient = clientFor("/gzip", new CacheProperties(16, 4096), CompressionProperties.STANDARD);
+        httpClient.execute(HttpMethod.GET, "", ContentType.JSON).close();
+
+        // Act
+        try (var response = httpClient.executeForResponse(HttpMethod.GET, RequestBody.fromString(""),
+                ContentType.JSON)) {
+
+            // Assert
+            assertEquals(LARGE_BODY, IoUtils.toUtf8String(response.body()));
+            assertTrue(response.firstHeader("Content-Encoding").isEmpty());
+            assertEquals(String.valueOf(LARGE_BODY.length()), response.firstHeader("Content-Length").orElseThrow());
+        }
+        assertEquals(1, requests.get());
+        assertEquals(LARGE_BODY.length(), httpClient.getCacheStatistics().bytes());
+    }
+
+    @Test
+    void testDecompressedResponseLargerThanCacheIsNotStored() throws Exception {
+        // Arrange
+        httpClient = clientFor("/gzip", new CacheProperties(16, 1024), CompressionProperties.STANDARD);
+
+        // Act
+        final var first = IoUtils.toUtf8String(httpClient.execute(HttpMethod.GET, "", ContentType.JSON));
+        final var second = IoUtils.toUtf8String(httpClient.execute(HttpMethod.GET, "", ContentType.JSON));
+
+        // Assert
+        assertEquals(LARGE_BODY, first);
+        assertEquals(LARGE_BODY, second);
+        assertEquals(2, requests.get());
+        assertEquals(0, httpClient.getCacheStatistics().entries());
+        assertEquals(0, httpClient.getCacheStatistics().bytes());
+    }
+
+    @Test
+    void testNoStoreResponseIsNotCached() throws Exception {
+        // Arrange
+        httpClient = clientFor("/no-store", new CacheProperties(16, 1024));
+
+        // Act
+        IoUtils.toUtf8String(httpClient.execute(HttpMethod.GET, "", ContentType.JSON));
+        IoUtils.toUtf8String(httpClient.execute(HttpMethod.GET, "", ContentType.JSON));
+
+        // Assert
+        assertEquals(2, requests.get());
+        assertEquals(0, httpClient.getCacheStatistics().entries());
+    }
+
+    private static ApiRequest withApiKey(final String apiKey) {
+        return new ApiRequest.Builder()
+                .method(HttpMethod.GET)
+                .contentType(ContentType.JSON)
+                .header("x-api-key", apiKey)
+                .build();
+    }
+
+    private void respond(final HttpExchange exchange, final String header, final String value) throws IOException {
+        requests.incrementAndGet();
+        final var apiKey = exchange.getRequestHeaders().getFirst("x-api-key");
+        if (apiKey != null) {
+            apiKeys.add(apiKey);
+        }
+        exchange.getRequestBody().readAllBytes();
+        final var body = "Response Body".getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add(header, value);
+        exchange.sendResponseHeaders(200, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    private HttpClient clientFor(final String path, final CacheProperties cacheProperties) {
+        return clientFor(path, cacheProperties, null);
+    }
+
+    private HttpClient clientFor(final String path, final CacheProperties cacheProperties,
+                                 final CompressionProperties compressionProperties) {
+        final var endpoint = "http://localhost:" + server.getAddress().getPort() + path;
+
+        return new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "secretKey", "us-west-2", endpoint, "execute-api",
+                        10_000))
+                .cacheProperties(cacheProperties)
+                .compressionProperties(compressionProperties)
+                .build();
+    }
+}
@@ -0,0 +1,121 @@
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.utils.IoUtils;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientCoalescingTest {
+
+    private static final int CALLERS = 10;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final CountDownLatch arrived = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private HttpServer server;
+    private ExecutorService callers;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/slow", exchange -> {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            arrived.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            final var body = "Response Body".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        callers.shutdownNow();
+        server.stop(0);
+    }
+
+    @Test
+    void testIdenticalGetRequestsShareOneUpstreamCall() throws Exception {
+        // Arrange
+        httpClient = clientFor(true);
+        final List<CompletableFuture<InputStream>> responses = new ArrayList<>();
+
+        // Act
+        responses.add(CompletableFuture.supplyAsync(
+                () -> httpClient.execute(HttpMethod.GET, "{}", ContentType.JSON), callers));
+        assertTrue(arrived.await(10, TimeUnit.SECONDS));
+        for (int i = 1; i < CALLERS; i++) {
+            responses.add(CompletableFuture.supplyAsync(
+                    () -> httpClient.execute(HttpMethod.GET, "{}", ContentType.JSON), callers));
+        }
+        while (httpClient.getCollapsedRequestCount() < CALLERS - 1) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        // Assert
+        for (CompletableFuture<InputStream> response : responses) {
+            assertEquals("Response Body", IoUtils.toUtf8String(response.get(10, TimeUnit.SECONDS)));
+        }
+        assertEquals(1, requests.get());
+        assertEquals(CALLERS - 1, httpClient.getCollapsedRequestCount());
+    }
+
+    @Test
+    void testRequestsAreNotCoalescedByDefault() throws Exception {
+        // Arrange
+        httpClient = clientFor(false);
+        release.countDown();
+
+        // Act
+        final var first = httpClient.executeAsync(HttpMethod.GET, "{}", ContentType.JSON);
+        final var second = httpClient.executeAsync(HttpMethod.GET, "{}", ContentType.JSON);
+        CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, requests.get());
+        assertEquals(0, httpClient.getCollapsedRequestCount());
+    }
+
+    private HttpClient clientFor(final boolean requestCoalescing) {
+        final var endpoint = "http://localhost:" + server.getAddress().getPort() + "/slow";
+
+        return new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "secretKey", "us-west-2", endpoint, "execute-api",
+                        10_000))
+                .requestCoalescing(requestCoalescing)
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.codec.Codec;
+import com.github.mrcrobben.exception.ApiGatewayException;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HttpClientCodecTest {
+
+    private final List<String> payloads = new CopyOnWriteArrayList<>();
+    private final List<String> contentTypes = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/echo", exchange -> {
+            final var payload = exchange.getRequestBody().readAllBytes();
+            payloads.add(new String(payload, StandardCharsets.UTF_8));
+            contentTypes.add(exchange.getRequestHeaders().getFirst("Content-Type"));
+            exchange.sendResponseHeaders(200, payload.length == 0 ? -1 : payload.length);
+            exchange.getResponseBody().write(payload);
+            exchange.close();
+        });
+        server.createContext("/error", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            final var body = "invalid order".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(400, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testTypedExecuteEncodesRequestAndDecodesResponse() {
+        // Arrange
+        httpClient = client("/echo", new OrderCodec());
+
+        // Act
+        final var order = httpClient.execute(HttpMethod.POST, new Order("A-1", 3), Order.class);
+
+        // Assert
+        assertEquals(new Order("A-1", 3), order);
+        assertEquals(List.of("A-1;3"), payloads);
+        assertEquals(ContentType.TEXT.getContentType(), contentTypes.get(0));
+    }
+
+    @Test
+    void testReusedBuffersSendOnlyTheirOwnPayload() {
+        // Arrange
+        httpClient = client("/echo", new OrderCodec());
+        final var largeId = "L".repeat(20_000);
+
+        // Act
+        httpClient.execute(HttpMethod.POST, new Order(largeId, 1), Order.class);
+        final var order = httpClient.execute(HttpMethod.POST, new Order("S", 2), Order.class);
+
+        // Assert
+        assertEquals(new Order("S", 2), order);
+        assertEquals(largeId + ";1", payloads.get(0));
+        assertEquals("S;2", payloads.get(1));
+    }
+
+    @Test
+    void testTypedExecuteAsyncDecodesResponse() {
+        // Arrange
+        httpClient = client("/echo", new OrderCodec());
+
+        // Act
+        final var order = httpClient.executeAsync(HttpMethod.PATCH, new Order("B-2", 5), Order.class).join();
+
+        // Assert
+        assertEquals(new Order("B-2", 5), order);
+    }
+
+    @Test
+    void testVoidResponseTypeSkipsDecoding() {
+        // Arrange
+        httpClient = client("/echo", new OrderCodec());
+
+        // Act
+        final var result = httpClient.execute(HttpMethod.GET, null, Void.class);
+
+        // Assert
+        assertNull(result);
+        assertEquals(List.of(""), payloads);
+    }
+
+    @Test
+    void testUnsuccessfulResponseThrowsApiGatewayException() {
+        // Arrange
+        httpClient = client("/error", new OrderCodec());
+
+        // Act
+        final var exception = assertThrows(CompletionException.class,
+                () -> httpClient.executeAsync(HttpMethod.POST, new Order("C-3", 1), Order.class).join());
+
+        // Assert
+        final var cause = assertInstanceOf(ApiGatewayException.class, exception.getCause());
+        assertEquals(400, cause.getStatusCode());
+        assertEquals("invalid order", cause.getErrorBody());
+    }
+
+    @Test
+    void testTypedExecuteWithoutCodecThrowsIllegalStateException() {
+        // Arrange
+        httpClient = client("/echo", null);
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class,
+                () -> httpClient.execute(HttpMethod.POST, new Order("D-4", 1), Order.class));
+    }
+
+    private HttpClient client(final String path, final Codec codec) {
+        return new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "secretKey", "us-west-2",
+                        "http://localhost:" + server.getAddress().getPort() + path, "execute-api", 10_000))
+                .codec(codec)
+                .build();
+    }
+
+    private record Order(String id, int quantity) {
+    }
+
+    /**
+     * Writes orders as {@code id;quantity} and reads them back.
+     */
+    private static final class OrderCodec implements Codec {
+
+        @Override
+        public ContentType contentType() {
+            return ContentType.TEXT;
+        }
+
+        @Override
+        public void encode(final Object value, final OutputStream out) throws IOException {
+            final var order = (Order) value;
+            out.write(order.id().getBytes(StandardCharsets.UTF_8));
+            out.write(';');
+            out.write(Integer.toString(order.quantity()).getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public <T> T decode(final InputStream in, final Class<T> type) throws IOException {
+            final var text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            final var separator = text.lastIndexOf(';');
+            return type.cast(new Order(text.substring(0, separator),
+                    Integer.parseInt(text.substring(separator + 1))));
+        }
+    }
+}
@@ -0,0 +1,137 @@
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.CompressionProperties;
+import com.github.mrcrobben.model.ContentEncoding;
+import com.github.mrcrobben.model.HttpMethod;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.IoUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HttpClientCompressionTest {
+
+    private static final String PAYLOAD = "{\"items\":[" + "{\"name\":\"item\",\"price\":42},".repeat(200) + "{}]}";
+
+    private final Map<String, String> received = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            final var headers = exchange.getRequestHeaders();
+            final var raw = exchange.getRequestBody().readAllBytes();
+            received.put("content-encoding", String.valueOf(headers.getFirst("Content-Encoding")));
+            received.put("accept-encoding", String.valueOf(headers.getFirst("Accept-Encoding")));
+            received.put("content-sha256", headers.getFirst("x-amz-content-sha256"));
+            received.put("raw-sha256", sha256(raw));
+            received.put("raw-length", Integer.toString(raw.length));
+            final var payload = "gzip".equals(headers.getFirst("Content-Encoding"))
+                    ? new GZIPInputStream(new ByteArrayInputStream(raw)).readAllBytes() : raw;
+            received.put("payload", new String(payload, StandardCharsets.UTF_8));
+
+            var body = "Response Body".repeat(100).getBytes(StandardCharsets.UTF_8);
+            if (String.valueOf(headers.getFirst("Accept-Encoding")).contains("gzip")) {
+                final var out = new ByteArrayOutputStream();
+                try (var gzip = new GZIPOutputStream(out)) {
+                    gzip.write(body);
+                }
+                body = out.toByteArray();
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void testLargePayloadIsCompressedBeforeSigning() throws Exception {
+        // Arrange
+        httpClient = client(CompressionProperties.STANDARD);
+
+        // Act
+        final var response = IoUtils.toUtf8String(httpClient.execute(HttpMethod.POST, PAYLOAD, ContentType.JSON));
+
+        // Assert
+        assertEquals("Response Body".repeat(100), response);
+        assertEquals("gzip", received.get("content-encoding"));
+        assertEquals(PAYLOAD, received.get("payload"));
+        assertEquals(received.get("raw-sha256"), received.get("content-sha256"));
+        assertEquals("gzip, deflate", received.get("accept-encoding"));
+    }
+
+    @Test
+    void testSmallOrBinaryPayloadIsNotCompressed() {
+        // Arrange
+        httpClient = client(new CompressionProperties(ContentEncoding.GZIP, 1024, false));
+
+        // Act
+        httpClient.execute(HttpMethod.POST, "{}", ContentType.JSON);
+        final var smallEncoding = received.get("content-encoding");
+        httpClient.execute(HttpMethod.POST, PAYLOAD.getBytes(StandardCharsets.UTF_8), ContentType.OCTET_STREAM);
+
+        // Assert
+        assertEquals("null", smallEncoding);
+        assertEquals("null", received.get("content-encoding"));
+        assertEquals(Integer.toString(PAYLOAD.length()), received.get("raw-length"));
+        assertEquals("null", received.get("accept-encoding"));
+    }
+
+    @Test
+    void testAsyncResponseIsDecompressed() throws Exception {
+        // Arrange
+        httpClient = client(CompressionProperties.STANDARD);
+
+        // Act
+        final var response = IoUtils.toUtf8String(httpClient.executeAsync(HttpMethod.POST, PAYLOAD,
+                ContentType.JSON).join());
+
+        // Assert
+        assertEquals("Response Body".repeat(100), response);
+        assertEquals(PAYLOAD, received.get("payload"));
+    }
+
+    private HttpClient client(final CompressionProperties compressionProperties) {
+        final var endpoint = "http://localhost:" + server.getAddress().getPort() + "/";
+        return new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "secretKey", "us-west-2", endpoint, "execute-api",
+                        10_000))
+                .compressionProperties(compressionProperties)
+                .build();
+    }
+
+    private static String sha256(final byte[] content) {
+        try {
+            return BinaryUtils.toHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
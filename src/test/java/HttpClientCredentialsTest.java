@@ -0,0 +1,252 @@
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.exception.ApiGatewayException;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsSessionCredentials;
+import software.amazon.awssdk.identity.spi.AwsCredentialsIdentity;
+import software.amazon.awssdk.identity.spi.IdentityProvider;
+import software.amazon.awssdk.identity.spi.ResolveIdentityRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientCredentialsTest {
+
+    private final List<String> accessKeys = new CopyOnWriteArrayList<>();
+    private final List<String> sessionTokens = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            final var authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            final var credential = authorization.substring(authorization.indexOf("Credential=") + 11);
+            accessKeys.add(credential.substring(0, credential.indexOf('/')));
+            sessionTokens.add(String.valueOf(exchange.getRequestHeaders().getFirst("X-Amz-Security-Token")));
+            final var body = "OK".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testRequestsAreSignedWithProvidedSessionCredentials() throws IOException {
+        // Arrange
+        final var provider = new FakeCredentialsProvider(call -> CompletableFuture.completedFuture(
+                credentials(call, Duration.ofHours(1))));
+        httpClient = client(provider);
+
+        // Act
+        send();
+        send();
+
+        // Assert
+        assertEquals(List.of("AKID1", "AKID1"), accessKeys);
+        assertEquals(List.of("token1", "token1"), sessionTokens);
+        assertEquals(1, provider.calls.size());
+    }
+
+    @Test
+    void testCredentialsAreRefreshedAheadOfExpiration() throws Exception {
+        // Arrange
+        final var provider = new FakeCredentialsProvider(call -> CompletableFuture.completedFuture(
+                credentials(call, Duration.ofSeconds(2))));
+        httpClient = client(provider);
+
+        // Act
+        send();
+        waitFor(() -> {
+            send();
+            return lastAccessKey().equals("AKID2");
+        });
+
+        // Assert
+        assertEquals("AKID1", accessKeys.get(0));
+        assertEquals("token1", sessionTokens.get(0));
+        assertEquals("token2", sessionTokens.get(sessionTokens.size() - 1));
+    }
+
+    @Test
+    void testShortLivedCredentialsAreRefreshedAfterHalfTheirLifetime() throws Exception {
+        // Arrange
+        final var provider = new FakeCredentialsProvider(call -> CompletableFuture.completedFuture(
+                credentials(call, Duration.ofSeconds(4))));
+        final var start = System.nanoTime();
+        httpClient = client(provider);
+        provider.calls.take();
+
+        // Act
+        final var refresh = provider.calls.poll(5, TimeUnit.SECONDS);
+        final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        assertEquals(2, refresh);
+        assertTrue(elapsed.compareTo(Duration.ofMillis(1_500)) >= 0, "elapsed " + elapsed);
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(4)) < 0, "elapsed " + elapsed);
+    }
+
+    @Test
+    void testRequestsDoNotWaitForRefresh() throws Exception {
+        // Arrange
+        final var refreshed = new CompletableFuture<AwsCredentialsIdentity>();
+        final var provider = new FakeCredentialsProvider(call -> call == 1
+                ? CompletableFuture.completedFuture(credentials(1, Duration.ofSeconds(2)))
+                : refreshed);
+        httpClient = client(provider);
+        provider.calls.take();
+        assertNotNull(provider.calls.poll(5, TimeUnit.SECONDS));
+
+        // Act
+        final var start = System.nanoTime();
+        send();
+        final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        refreshed.complete(credentials(2, Duration.ofHours(1)));
+        waitFor(() -> {
+            send();
+            return lastAccessKey().equals("AKID2");
+        });
+
+        // Assert
+        assertTrue(elapsed.compareTo(Duration.ofMillis(500)) < 0, "elapsed " + elapsed);
+        assertEquals("AKID1", accessKeys.get(0));
+        assertEquals("token2", sessionTokens.get(sessionTokens.size() - 1));
+    }
+
+    @Test
+    void testFailedRefreshKeepsCurrentCredentialsAndIsRetried() throws Exception {
+        // Arrange
+        final var provider = new FakeCredentialsProvider(call -> call == 2
+                ? CompletableFuture.failedFuture(new IllegalStateException("metadata service unavailable"))
+                : CompletableFuture.completedFuture(credentials(call, Duration.ofSeconds(2))));
+        httpClient = client(provider);
+        provider.calls.take();
+
+        // Act
+        assertEquals(2, provider.calls.poll(5, TimeUnit.SECONDS));
+        send();
+        waitFor(() -> {
+            send();
+            return lastAccessKey().equals("AKID3");
+        });
+
+        // Assert
+        assertEquals("AKID1", accessKeys.get(0));
+        assertTrue(accessKeys.stream().allMatch(key -> key.equals("AKID1") || key.equals("AKID3")));
+    }
+
+    @Test
+    void testFailingInitialResolutionFailsBuild() {
+        // Arrange
+        final var provider = new FakeCredentialsProvider(call -> CompletableFuture.failedFuture(
+                new IllegalStateException("no credentials")));
+
+        // Act & Assert
+        assertThrows(ApiGatewayException.class, () -> client(provider));
+    }
+
+    private HttpClient client(final IdentityProvider<AwsCredentialsIdentity> provider) {
+        return new HttpClient.Builder()
+                .awsProperties(new AwsProperties(null, null, "us-west-2",
+                        "http://localhost:" + server.getAddress().getPort() + "/", "execute-api", 10_000))
+                .credentialsProvider(provider)
+                .build();
+    }
+
+    private void send() throws IOException {
+        try (InputStream response = httpClient.execute(HttpMethod.POST, "{}", ContentType.JSON)) {
+            response.readAllBytes();
+        }
+    }
+
+    private String lastAccessKey() {
+        return accessKeys.get(accessKeys.size() - 1);
+    }
+
+    private static AwsCredentialsIdentity credentials(final int generation, final Duration lifetime) {
+        return AwsSessionCredentials.builder()
+                .accessKeyId("AKID" + generation)
+                .secretAccessKey("secret" + generation)
+                .sessionToken("token" + generation)
+                .expirationTime(Instant.now().plus(lifetime))
+                .build();
+    }
+
+    private static void waitFor(final Condition condition) throws Exception {
+        final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.test()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(20);
+        }
+    }
+
+    private interface Condition {
+        boolean test() throws Exception;
+    }
+
+    /**
+     * Resolves the credentials produced for each call and records the number of every call.
+     */
+    private static final class FakeCredentialsProvider implements IdentityProvider<AwsCredentialsIdentity> {
+
+        private final BlockingQueue<Integer> calls = new LinkedBlockingQueue<>();
+        private final IntFunction<CompletableFuture<AwsCredentialsIdentity>> responses;
+        private int count;
+
+        FakeCredentialsProvider(final IntFunction<CompletableFuture<AwsCredentialsIdentity>> responses) {
+            this.responses = responses;
+        }
+
+        @Override
+        public Class<AwsCredentialsIdentity> identityType() {
+            return AwsCredentialsIdentity.class;
+        }
+
+        @Override
+        public synchronized CompletableFuture<AwsCredentialsIdentity> resolveIdentity(
+                final ResolveIdentityRequest request) {
+            final var call = ++count;
+            calls.add(call);
+            return responses.apply(call);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.client.RequestBody;
+import com.github.mrcrobben.exception.ApiGatewayException;
+import com.github.mrcrobben.exception.RequestRejectedException;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.CircuitBreakerProperties;
+import com.github.mrcrobben.model.HedgeProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.model.RetryProperties;
+import com.github.mrcrobben.resilience.CircuitBreaker;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.utils.IoUtils;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientHedgingTest {
+
+    private static final int LARGE_BODY_SIZE = 8 * 1024 * 1024;
+
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/cold-start", exchange -> {
+            try {
+                if (requests.incrementAndGet() == 1) {
+                    Thread.sleep(3_000);
+                }
+                exchange.getRequestBody().readAllBytes();
+                final var body = "Response Body".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.createContext("/degraded", exchange -> {
+            try {
+                exchange.getRequestBody().readAllBytes();
+                if (requests.incrementAndGet() == 1) {
+                    Thread.sleep(500);
+                    final var body = "Response Body".getBytes(StandardCharsets.UTF_8);
+                    exchange.sendResponseHeaders(200, body.length);
+                    exchange.getResponseBody().write(body);
+                } else {
+                    exchange.sendResponseHeaders(503, -1);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.createContext("/large", exchange -> {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, LARGE_BODY_SIZE);
+            exchange.getResponseBody().write(new byte[LARGE_BODY_SIZE]);
+            exchange.close();
+        });
+        server.createContext("/error", exchange -> {
+            requests.incrementAndGet();
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testSlowGetRequestIsHedged() throws Exception {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties("/cold-start"))
+                .hedgeProperties(new HedgeProperties(100, 0))
+                .build();
+
+        // Act
+        final var start = System.nanoTime();
+        final var response = IoUtils.toUtf8String(httpClient.execute(HttpMethod.GET, "", ContentType.JSON));
+        final var elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertEquals("Response Body", response);
+        assertEquals(1, httpClient.getHedgedRequestCount());
+        assertTrue(elapsedMillis < 2_000, "Hedged request waited for the slow attempt, took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void testFastServerErrorDoesNotBeatSlowerSuccess() throws Exception {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties("/degraded"))
+                .hedgeProperties(new HedgeProperties(100, 0))
+                .build();
+
+        // Act
+        try (var response = httpClient.executeForResponse(HttpMethod.GET, RequestBody.fromString(""),
+                ContentType.JSON)) {
+
+            // Assert
+            assertEquals(200, response.statusCode());
+            assertEquals("Response Body", IoUtils.toUtf8String(response.body()));
+        }
+        assertEquals(2, requests.get());
+        assertEquals(1, httpClient.getHedgedRequestCount());
+    }
+
+    @Test
+    void testHedgedResponseIsBufferedBeforeItIsReturned() throws Exception {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties("/large"))
+                .hedgeProperties(new HedgeProperties(10_000, 0))
+                .build();
+
+        // Act
+        try (var response = httpClient.executeForResponse(HttpMethod.GET, RequestBody.fromString(""),
+                ContentType.JSON)) {
+            server.stop(0);
+
+            // Assert
+            assertEquals(LARGE_BODY_SIZE, response.body().readAllBytes().length);
+        }
+    }
+
+    @Test
+    void testNonIdempotentRequestIsNotHedged() {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties("/cold-start"))
+                .hedgeProperties(new HedgeProperties(100, 0))
+                .build();
+
+        // Act
+        httpClient.execute(HttpMethod.POST, "{}", ContentType.JSON);
+
+        // Assert
+        assertEquals(1, requests.get());
+        assertEquals(0, httpClient.getHedgedRequestCount());
+    }
+
+    @Test
+    void testOpenCircuitFailsFast() {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties("/error"))
+                .circuitBreakerProperties(new CircuitBreakerProperties(10, 2, 50, 10_000, 100, 60_000))
+                .build();
+
+        // Act
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ApiGatewayException.class, () -> httpClient.execute(HttpMethod.GET, "", ContentType.JSON));
+        }
+        final var exception = assertThrows(ApiGatewayException.class,
+                () -> httpClient.execute(HttpMethod.GET, "", ContentType.JSON));
+
+        // Assert
+        assertEquals(2, requests.get());
+        assertEquals(503, exception.getStatusCode());
+        assertEquals(CircuitBreaker.State.OPEN, httpClient.getCircuitState());
+    }
+
+    @Test
+    void testRequestRejectedByOpenCircuitIsNotRetried() {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties("/error"))
+                .retryProperties(RetryProperties.STANDARD)
+                .circuitBreakerProperties(new CircuitBreakerProperties(10, 2, 50, 10_000, 100, 60_000))
+                .build();
+
+        // Act
+        final var exception = assertThrows(RequestRejectedException.class,
+                () -> httpClient.execute(HttpMethod.GET, "", ContentType.JSON));
+
+        // Assert
+        assertEquals(2, requests.get());
+        assertEquals(503, exception.getStatusCode());
+    }
+
+    private AwsProperties awsProperties(final String path) {
+        final var endpoint = "http://localhost:" + server.getAddress().getPort() + path;
+
+        return new AwsProperties("accessKey", "secretKey", "us-west-2", endpoint, "execute-api", 10_000);
+    }
+}
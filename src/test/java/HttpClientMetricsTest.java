@@ -0,0 +1,110 @@
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.metrics.HistogramRecorder;
+import com.github.mrcrobben.metrics.RequestMetrics;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.model.RetryProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.utils.IoUtils;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientMetricsTest {
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final List<RequestMetrics> reported = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/flaky", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            if (requests.incrementAndGet() == 1) {
+                exchange.sendResponseHeaders(503, -1);
+            } else {
+                final var body = "Response Body".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void testListenerReceivesMetricsWhenResponseIsClosed() throws Exception {
+        // Arrange
+        httpClient = clientBuilder().requestListener(reported::add).build();
+
+        // Act
+        final var body = httpClient.execute(HttpMethod.POST, "{\"id\":1}", ContentType.JSON);
+        final var reportedBeforeClose = reported.size();
+        IoUtils.toUtf8String(body);
+        body.close();
+
+        // Assert
+        assertEquals(0, reportedBeforeClose);
+        assertEquals(1, reported.size());
+        final var metrics = reported.get(0);
+        assertEquals(200, metrics.statusCode());
+        assertEquals(2, metrics.attempts());
+        assertEquals(1, metrics.retryCount());
+        assertEquals(16, metrics.bytesSent());
+        assertEquals("Response Body".length(), metrics.bytesReceived());
+        assertEquals(HttpMethod.POST, metrics.method());
+        assertTrue(metrics.signingNanos() > 0);
+        assertTrue(metrics.timeToFirstByteNanos() > 0);
+        assertTrue(metrics.totalNanos() >= metrics.timeToFirstByteNanos());
+    }
+
+    @Test
+    void testHistogramRecorderTracksAsyncRequestsPerRoute() throws Exception {
+        // Arrange
+        final var recorder = new HistogramRecorder();
+        httpClient = clientBuilder().requestListener(recorder).build();
+
+        // Act
+        httpClient.executeAsync(HttpMethod.POST, "{}", ContentType.JSON).get(10, TimeUnit.SECONDS);
+        httpClient.executeAsync(HttpMethod.POST, "{}", ContentType.JSON).get(10, TimeUnit.SECONDS);
+
+        // Assert
+        final var latency = recorder.latency(endpoint(), HttpMethod.POST).orElseThrow();
+        assertEquals(2, latency.count());
+        assertTrue(latency.valueAtPercentile(99) > 0);
+        assertTrue(recorder.latency(endpoint(), HttpMethod.GET).isEmpty());
+    }
+
+    private HttpClient.Builder clientBuilder() {
+        return new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "secretKey", "us-west-2", endpoint(), "execute-api",
+                        10_000))
+                .retryProperties(new RetryProperties(3, 10, 100, 500, 5, true));
+    }
+
+    private String endpoint() {
+        return "http://localhost:" + server.getAddress().getPort() + "/flaky";
+    }
+}
@@ -0,0 +1,188 @@
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.client.RequestBody;
+import com.github.mrcrobben.metrics.HistogramRecorder;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.EndpointProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.model.RoutingProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientRoutingTest {
+
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final Map<String, String> authorizations = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        for (String path : List.of("/fast", "/slow", "/error")) {
+            server.createContext(path, exchange -> {
+                try {
+                    requests.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+                    authorizations.put(path, exchange.getRequestHeaders().getFirst("Authorization"));
+                    exchange.getRequestBody().readAllBytes();
+                    if (path.equals("/slow")) {
+                        Thread.sleep(200);
+                    }
+                    if (path.equals("/error")) {
+                        exchange.sendResponseHeaders(500, -1);
+                        return;
+                    }
+                    final var body = "Response Body".getBytes(StandardCharsets.UTF_8);
+                    exchange.sendResponseHeaders(200, body.length);
+                    exchange.getResponseBody().write(body);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    exchange.close();
+                }
+            });
+        }
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testRequestsPreferFasterEndpoint() {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties())
+                .routingProperties(RoutingProperties.of(List.of(endpoint("/slow", "us-west-2"),
+                        endpoint("/fast", "us-west-2"))))
+                .build();
+
+        // Act
+        executeTimes(20);
+
+        // Assert
+        assertEquals(1, count("/slow"));
+        assertEquals(19, count("/fast"));
+    }
+
+    @Test
+    void testFailingEndpointIsEjected() {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties())
+                .routingProperties(new RoutingProperties(List.of(endpoint("/error", "us-west-2"),
+                        endpoint("/fast", "us-west-2")), 1, 60_000, 60_000))
+                .build();
+
+        // Act
+        executeTimes(10);
+
+        // Assert
+        assertEquals(1, count("/error"));
+        assertEquals(9, count("/fast"));
+        assertTrue(httpClient.getEndpoints().get(0).isEjected());
+        assertFalse(httpClient.getEndpoints().get(1).isEjected());
+    }
+
+    @Test
+    void testReturningEndpointRecoversGradually() throws InterruptedException {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties())
+                .routingProperties(new RoutingProperties(List.of(endpoint("/error", "us-west-2"),
+                        endpoint("/fast", "us-west-2")), 1, 100, 60_000))
+                .build();
+        executeTimes(2);
+        Thread.sleep(150);
+
+        // Act
+        executeTimes(10);
+
+        // Assert
+        assertFalse(httpClient.getEndpoints().get(0).isEjected());
+        assertEquals(1, count("/error"));
+        assertEquals(11, count("/fast"));
+    }
+
+    @Test
+    void testMetricsAreReportedPerRoutedEndpoint() {
+        // Arrange
+        final var recorder = new HistogramRecorder();
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties())
+                .routingProperties(RoutingProperties.of(List.of(endpoint("/slow", "us-west-2"),
+                        endpoint("/fast", "us-west-2"))))
+                .requestListener(recorder)
+                .build();
+
+        // Act
+        executeTimes(5);
+
+        // Assert
+        assertEquals(1, recorder.latency(endpoint("/slow", "us-west-2").endpoint(), HttpMethod.GET)
+                .orElseThrow().count());
+        assertEquals(4, recorder.latency(endpoint("/fast", "us-west-2").endpoint(), HttpMethod.GET)
+                .orElseThrow().count());
+    }
+
+    @Test
+    void testRequestIsSignedForRegionOfEndpoint() {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties())
+                .routingProperties(RoutingProperties.of(List.of(endpoint("/fast", "eu-central-1"))))
+                .build();
+
+        // Act
+        executeTimes(1);
+
+        // Assert
+        assertTrue(authorizations.get("/fast").contains("/eu-central-1/execute-api/aws4_request"));
+    }
+
+    private void executeTimes(final int times) {
+        for (int i = 0; i < times; i++) {
+            httpClient.executeForResponse(HttpMethod.GET, RequestBody.fromString(""), ContentType.JSON).close();
+        }
+    }
+
+    private int count(final String path) {
+        final var count = requests.get(path);
+        return count != null ? count.get() : 0;
+    }
+
+    private EndpointProperties endpoint(final String path, final String region) {
+        return new EndpointProperties("http://localhost:" + server.getAddress().getPort() + path, region);
+    }
+
+    private AwsProperties awsProperties() {
+        final var endpoint = "http://localhost:" + server.getAddress().getPort() + "/fast";
+
+        return new AwsProperties("accessKey", "secretKey", "us-west-2", endpoint, "execute-api", 10_000);
+    }
+}
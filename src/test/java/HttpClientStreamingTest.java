@@ -0,0 +1,135 @@
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.client.RequestBody;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.utils.IoUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientStreamingTest {
+
+    private final AtomicReference<byte[]> receivedBody = new AtomicReference<>();
+    private final AtomicReference<String> receivedContentLength = new AtomicReference<>();
+
+    private HttpServer server;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            receivedContentLength.set(exchange.getRequestHeaders().getFirst("Content-Length"));
+            receivedBody.set(exchange.getRequestBody().readAllBytes());
+            final var body = "Response Body".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        httpClient = new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "secretKey", "us-west-2",
+                        "http://localhost:" + server.getAddress().getPort(), "execute-api", 10_000))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void testExecuteWithMemoryMappedFile(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        final var payload = randomBytes(4 * 1024 * 1024);
+        final var file = Files.write(tempDir.resolve("payload.bin"), payload);
+
+        // Act
+        final var response = httpClient.execute(HttpMethod.POST, file, ContentType.JSON);
+
+        // Assert
+        assertEquals("Response Body", IoUtils.toUtf8String(response));
+        assertArrayEquals(payload, receivedBody.get());
+        assertEquals(Integer.toString(payload.length), receivedContentLength.get());
+    }
+
+    @Test
+    void testExecuteWithByteBufferSendsRemainingBytesOnly() throws Exception {
+        // Arrange
+        final var buffer = ByteBuffer.wrap("skip-payload".getBytes());
+        buffer.position(5);
+
+        // Act
+        IoUtils.toUtf8String(httpClient.execute(HttpMethod.POST, buffer, ContentType.JSON));
+
+        // Assert
+        assertEquals("payload", new String(receivedBody.get()));
+        assertEquals(5, buffer.position());
+    }
+
+    @Test
+    void testExecuteWithMarkableInputStream() throws Exception {
+        // Arrange
+        final var payload = randomBytes(64 * 1024);
+
+        // Act
+        IoUtils.toUtf8String(httpClient.execute(HttpMethod.POST, new ByteArrayInputStream(payload), payload.length,
+                ContentType.JSON));
+
+        // Assert
+        assertArrayEquals(payload, receivedBody.get());
+    }
+
+    @Test
+    void testExecuteRejectsSignedNonMarkableInputStream() {
+        // Arrange
+        final var stream = new FilterInputStream(new ByteArrayInputStream(new byte[16])) {
+            @Override
+            public boolean markSupported() {
+                return false;
+            }
+        };
+        final var body = RequestBody.fromInputStream(stream, 16);
+
+        // Act & Assert
+        assertFalse(body.isRepeatable());
+        assertThrows(IllegalArgumentException.class, () -> httpClient.execute(HttpMethod.POST, body, ContentType.JSON));
+    }
+
+    @Test
+    void testExecuteAsyncRejectsStreamedBody() {
+        // Arrange
+        final var body = RequestBody.fromInputStream(new ByteArrayInputStream(new byte[16]), 16);
+
+        // Act & Assert
+        assertTrue(body.isRepeatable());
+        assertThrows(IllegalArgumentException.class,
+                () -> httpClient.executeAsync(HttpMethod.POST, body, ContentType.JSON));
+    }
+
+    private static byte[] randomBytes(final int size) {
+        final var bytes = new byte[size];
+        new Random(42).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,102 @@
+import com.github.mrcrobben.client.ApiRequest;
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.utils.IoUtils;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientTemplateTest {
+
+    private final Map<String, String> received = new ConcurrentHashMap<>();
+
+    private HttpServer server;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/prod", exchange -> {
+            received.put("path", exchange.getRequestURI().getRawPath());
+            received.put("query", String.valueOf(exchange.getRequestURI().getRawQuery()));
+            received.put("x-api-key", String.valueOf(exchange.getRequestHeaders().getFirst("x-api-key")));
+            received.put("authorization", exchange.getRequestHeaders().getFirst("Authorization"));
+            exchange.getRequestBody().readAllBytes();
+            final var body = "Response Body".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        final var endpoint = "http://localhost:" + server.getAddress().getPort() + "/prod";
+        httpClient = new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "secretKey", "us-west-2", endpoint, "execute-api",
+                        10_000))
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    void testTemplateExpandsPathQueryAndHeaders() throws Exception {
+        // Arrange
+        final var template = httpClient.prepare(HttpMethod.GET, "/orders/{id}/items", ContentType.JSON,
+                Map.of("x-api-key", "key"));
+
+        // Act
+        final var response = httpClient.execute(template.bind("a b/c")
+                .queryParameter("expand", "price list")
+                .header("x-trace", "1")
+                .build());
+
+        // Assert
+        assertEquals("Response Body", IoUtils.toUtf8String(response));
+        assertEquals("/prod/orders/a%20b%2Fc/items", received.get("path"));
+        assertEquals("expand=price%20list", received.get("query"));
+        assertEquals("key", received.get("x-api-key"));
+        assertTrue(received.get("authorization").contains("SignedHeaders="));
+        assertTrue(received.get("authorization").contains("x-api-key"));
+    }
+
+    @Test
+    void testRequestWithoutPathTargetsEndpoint() throws Exception {
+        // Act
+        final var response = httpClient.execute(new ApiRequest.Builder()
+                .method(HttpMethod.GET)
+                .queryParameter("page", "2")
+                .build());
+
+        // Assert
+        assertEquals("Response Body", IoUtils.toUtf8String(response));
+        assertEquals("/prod", received.get("path"));
+        assertEquals("page=2", received.get("query"));
+    }
+
+    @Test
+    void testMalformedTemplateIsRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> httpClient.prepare(HttpMethod.GET, "/orders/{id", ContentType.JSON));
+        assertThrows(IllegalArgumentException.class,
+                () -> httpClient.prepare(HttpMethod.GET, "orders/{id}", ContentType.JSON));
+        assertThrows(IllegalArgumentException.class,
+                () -> httpClient.prepare(HttpMethod.GET, "/orders/{id}", ContentType.JSON).bind());
+    }
+}
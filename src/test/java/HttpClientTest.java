@@ -1,12 +1,17 @@
+import com.github.mrcrobben.client.ApiGatewayResponse;
 import com.github.mrcrobben.client.ContentType;
 import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.client.RequestBody;
 import com.github.mrcrobben.exception.ApiGatewayException;
 import com.github.mrcrobben.model.AwsProperties;
 import com.github.mrcrobben.model.HttpMethod;
 import com.github.mrcrobben.model.ProxyProperties;
+import com.github.mrcrobben.model.RetryProperties;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.platform.commons.util.ReflectionUtils;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import software.amazon.awssdk.http.*;
@@ -18,7 +23,9 @@ import java.lang.reflect.Field;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -64,6 +71,11 @@ class HttpClientTest {
 
     }
 
+    @AfterEach
+    void tearDown() {
+        httpClient.close();
+    }
+
     @Test
     void testExecuteSuccessfulRequest() throws Exception {
         // Arrange
@@ -131,4 +143,101 @@ class HttpClientTest {
 
         assertEquals("Response body is empty!", exception.getMessage());
     }
+
+    @Test
+    void testExecuteRequestFailureCarriesStatusAndRequestId() throws Exception {
+        // Arrange
+        final var errorResponse = SdkHttpResponse.builder()
+                .statusCode(429)
+                .putHeader("x-amzn-RequestId", "request-1")
+                .build();
+        final var closed = new boolean[1];
+        final var errorStream = new ByteArrayInputStream("{\"message\":\"Too Many Requests\"}".getBytes()) {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+
+        when(httpExecuteResponse.httpResponse()).thenReturn(errorResponse);
+        when(httpExecuteResponse.responseBody()).thenReturn(Optional.of(AbortableInputStream.create(errorStream)));
+        when(sdkHttpClient.prepareRequest(any())).thenReturn(executableHttpRequest);
+        when(executableHttpRequest.call()).thenReturn(httpExecuteResponse);
+
+        // Act
+        ApiGatewayException exception = assertThrows(ApiGatewayException.class,
+                () -> httpClient.execute(HttpMethod.POST, "Test payload", ContentType.JSON));
+
+        // Assert
+        assertEquals(429, exception.getStatusCode());
+        assertEquals("request-1", exception.getRequestId());
+        assertEquals("{\"message\":\"Too Many Requests\"}", exception.getErrorBody());
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    void testClosingResponseAbortsLargeUnreadBody() throws Exception {
+        // Arrange
+        final var abortable = mock(Abortable.class);
+        final var largeBody = AbortableInputStream.create(new ByteArrayInputStream(new byte[1024 * 1024]), abortable);
+
+        when(httpExecuteResponse.httpResponse()).thenReturn(SdkHttpResponse.builder().statusCode(200).build());
+        when(httpExecuteResponse.responseBody()).thenReturn(Optional.of(largeBody));
+        when(sdkHttpClient.prepareRequest(any())).thenReturn(executableHttpRequest);
+        when(executableHttpRequest.call()).thenReturn(httpExecuteResponse);
+
+        // Act
+        try (ApiGatewayResponse response = httpClient.executeForResponse(HttpMethod.GET,
+                RequestBody.fromString(""), ContentType.JSON)) {
+            assertEquals(200, response.statusCode());
+        }
+
+        // Assert
+        verify(abortable, times(1)).abort();
+    }
+
+    @Test
+    void testExecuteRetriesThrottledRequestAndSignsEachAttempt() throws Exception {
+        // Arrange
+        try (var retryingClient = new HttpClient.Builder()
+                .awsProperties(awsProperties)
+                .proxyProperties(proxyProperties)
+                .retryProperties(new RetryProperties(2, 1, 1_000, 100, 5, false))
+                .build()) {
+            final Field field = ReflectionUtils
+                    .findFields(HttpClient.class, f -> f.getName().equals("client"),
+                            ReflectionUtils.HierarchyTraversalMode.TOP_DOWN)
+                    .get(0);
+            field.setAccessible(true);
+            field.set(retryingClient, sdkHttpClient);
+
+            // The server asks for one second, so the retry is signed in a later second than the first attempt
+            final var throttled = mock(HttpExecuteResponse.class);
+            when(throttled.httpResponse()).thenReturn(SdkHttpResponse.builder()
+                    .statusCode(429)
+                    .putHeader("Retry-After", "1")
+                    .build());
+            when(throttled.responseBody()).thenReturn(Optional.empty());
+            when(httpExecuteResponse.httpResponse()).thenReturn(SdkHttpResponse.builder().statusCode(200).build());
+            when(httpExecuteResponse.responseBody()).thenReturn(Optional.of(
+                    AbortableInputStream.create(new ByteArrayInputStream("Response Body".getBytes()))));
+            when(sdkHttpClient.prepareRequest(any(HttpExecuteRequest.class))).thenReturn(executableHttpRequest);
+            when(executableHttpRequest.call()).thenReturn(throttled, httpExecuteResponse);
+
+            // Act
+            InputStream resultStream = retryingClient.execute(HttpMethod.POST, "Test payload", ContentType.JSON);
+
+            // Assert
+            assertEquals("Response Body", IoUtils.toUtf8String(resultStream));
+            final var captor = ArgumentCaptor.forClass(HttpExecuteRequest.class);
+            verify(sdkHttpClient, times(2)).prepareRequest(captor.capture());
+            final var first = captor.getAllValues().get(0).httpRequest();
+            final var retry = captor.getAllValues().get(1).httpRequest();
+            assertTrue(first.firstMatchingHeader("X-Amz-Date").isPresent());
+            assertTrue(retry.firstMatchingHeader("X-Amz-Date").isPresent());
+            assertNotEquals(first.firstMatchingHeader("X-Amz-Date"), retry.firstMatchingHeader("X-Amz-Date"));
+            assertNotEquals(first.firstMatchingHeader("Authorization"), retry.firstMatchingHeader("Authorization"));
+            assertTrue(retry.firstMatchingHeader("Authorization").orElseThrow().contains("Signature="));
+        }
+    }
 }
@@ -0,0 +1,210 @@
+import com.github.mrcrobben.client.ClientConfigurationBuilder;
+import com.github.mrcrobben.client.ClientFactory;
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.model.ProxyProperties;
+import com.github.mrcrobben.model.TransportType;
+import com.sun.net.httpserver.HttpServer;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http2.DefaultHttp2DataFrame;
+import io.netty.handler.codec.http2.DefaultHttp2Headers;
+import io.netty.handler.codec.http2.DefaultHttp2HeadersFrame;
+import io.netty.handler.codec.http2.Http2DataFrame;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2HeadersFrame;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientTransportTest {
+
+    private static final int REQUESTS = 50;
+    private static final byte[] RESPONSE = "Response Body".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger signedRequests = new AtomicInteger();
+    private final Set<String> http2Connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger http2Streams = new AtomicInteger();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private EventLoopGroup http2Group;
+    private Channel http2Server;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            if (exchange.getRequestHeaders().getFirst("Authorization").startsWith("AWS4-HMAC-SHA256")) {
+                signedRequests.incrementAndGet();
+            }
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            exchange.getResponseBody().write(RESPONSE);
+            exchange.close();
+        });
+        server.start();
+
+        http2Group = new NioEventLoopGroup(1);
+        http2Server = new ServerBootstrap()
+                .group(http2Group)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(final SocketChannel channel) {
+                        channel.pipeline().addLast(Http2FrameCodecBuilder.forServer().build(),
+                                new Http2MultiplexHandler(new ChannelInitializer<Http2StreamChannel>() {
+                                    @Override
+                                    protected void initChannel(final Http2StreamChannel stream) {
+                                        stream.pipeline().addLast(new Http2StreamHandler());
+                                    }
+                                }));
+                    }
+                })
+                .bind("localhost", 0)
+                .sync()
+                .channel();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        http2Server.close().sync();
+        http2Group.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+    }
+
+    @Test
+    void testUrlConnectionTransportSendsSignedRequests() throws Exception {
+        // Arrange
+        httpClient = ClientFactory.create(new ClientConfigurationBuilder()
+                .awsProperties(awsProperties(server.getAddress().getPort()))
+                .proxyProperties(new ProxyProperties(false, null, 0, null, null))
+                .transportType(TransportType.URL_CONNECTION)
+                .createClientConfiguration());
+
+        // Act
+        final String body;
+        try (InputStream response = httpClient.execute(HttpMethod.POST, "{\"key\":\"value\"}", ContentType.JSON)) {
+            body = new String(response.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        // Assert
+        assertEquals("Response Body", body);
+        assertEquals(1, signedRequests.get());
+    }
+
+    @Test
+    void testHttp2TransportMultiplexesConcurrentRequests() throws Exception {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties(((InetSocketAddress) http2Server.localAddress()).getPort()))
+                .transportType(TransportType.HTTP2)
+                .build();
+        httpClient.execute(HttpMethod.POST, "{}", ContentType.JSON).close();
+
+        // Act
+        final List<CompletableFuture<InputStream>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            futures.add(httpClient.executeAsync(HttpMethod.POST, "{\"request\":" + i + "}", ContentType.JSON));
+        }
+        final List<String> bodies = new ArrayList<>();
+        for (CompletableFuture<InputStream> future : futures) {
+            try (InputStream response = future.join()) {
+                bodies.add(new String(response.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+
+        // Assert
+        assertTrue(bodies.stream().allMatch("Response Body"::equals));
+        assertEquals(REQUESTS + 1, http2Streams.get());
+        assertEquals(1, http2Connections.size(), "Requests were not multiplexed over one connection");
+    }
+
+    @Test
+    void testHttp2TransportStreamsBlockingResponses() throws Exception {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties(((InetSocketAddress) http2Server.localAddress()).getPort()))
+                .transportType(TransportType.HTTP2)
+                .build();
+
+        // Act
+        final String body;
+        try (InputStream response = httpClient.execute(HttpMethod.GET, "", ContentType.JSON)) {
+            body = new String(response.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        // Assert
+        assertEquals("Response Body", body);
+        assertEquals(1, signedRequests.get());
+    }
+
+    private static AwsProperties awsProperties(final int port) {
+        return new AwsProperties("accessKey", "secretKey", "us-west-2", "http://localhost:" + port + "/",
+                "execute-api", 10_000);
+    }
+
+    /**
+     * Answers every HTTP/2 stream once the request has been received completely.
+     */
+    private final class Http2StreamHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+            var endStream = false;
+            if (msg instanceof Http2HeadersFrame) {
+                final var headers = (Http2HeadersFrame) msg;
+                final var authorization = headers.headers().get("authorization");
+                if (authorization != null && authorization.toString().startsWith("AWS4-HMAC-SHA256")) {
+                    signedRequests.incrementAndGet();
+                }
+                http2Connections.add(ctx.channel().parent().id().asLongText());
+                http2Streams.incrementAndGet();
+                endStream = headers.isEndStream();
+            } else if (msg instanceof Http2DataFrame) {
+                final var data = (Http2DataFrame) msg;
+                endStream = data.isEndStream();
+                data.release();
+            }
+            if (endStream) {
+                ctx.write(new DefaultHttp2HeadersFrame(new DefaultHttp2Headers().status("200")));
+                ctx.writeAndFlush(new DefaultHttp2DataFrame(Unpooled.wrappedBuffer(RESPONSE), true));
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.EndpointProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.model.PoolProperties;
+import com.github.mrcrobben.model.RoutingProperties;
+import com.github.mrcrobben.model.WarmUpProperties;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpClientWarmUpTest {
+
+    private final Set<Integer> warmUpPorts = ConcurrentHashMap.newKeySet();
+    private final List<Integer> requestPorts = new CopyOnWriteArrayList<>();
+    private final Set<String> warmUpPaths = ConcurrentHashMap.newKeySet();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverExecutor = Executors.newCachedThreadPool();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/", exchange -> {
+            final var port = exchange.getRemoteAddress().getPort();
+            exchange.getRequestBody().readAllBytes();
+            if (exchange.getRequestMethod().equals("OPTIONS")) {
+                warmUpPorts.add(port);
+                warmUpPaths.add(exchange.getRequestURI().getRawPath());
+            } else {
+                requestPorts.add(port);
+            }
+            exchange.sendResponseHeaders(200, 2);
+            exchange.getResponseBody().write("OK".getBytes());
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void testWarmUpOpensPooledConnections() throws Exception {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties(server.getAddress().getPort()))
+                .warmUpProperties(new WarmUpProperties(4, 5_000, false))
+                .build();
+
+        // Act
+        final var report = httpClient.getWarmUp().getNow(null);
+        httpClient.execute(HttpMethod.POST, "{}", ContentType.JSON).close();
+
+        // Assert
+        assertEquals(4, report.connections());
+        assertEquals(0, report.failures());
+        assertTrue(report.signingNanos() > 0);
+        assertEquals(4, warmUpPorts.size());
+        assertTrue(warmUpPorts.contains(requestPorts.get(0)), "Request did not reuse a warmed-up connection");
+        assertEquals(1, requestPorts.size());
+    }
+
+    @Test
+    void testWarmUpRequestsAreSentToConfiguredPath() {
+        // Arrange
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties(server.getAddress().getPort()))
+                .warmUpProperties(new WarmUpProperties(2, 5_000, false, "/health"))
+                .build();
+
+        // Act
+        final var report = httpClient.warmUp(2);
+
+        // Assert
+        assertEquals(2, report.connections());
+        assertEquals(Set.of("/health"), warmUpPaths);
+        assertTrue(requestPorts.isEmpty());
+    }
+
+    @Test
+    void testWarmUpIsLimitedToPoolSize() {
+        // Arrange
+        final var routing = RoutingProperties.of(List.of(
+                new EndpointProperties("http://localhost:" + server.getAddress().getPort() + "/a", "us-west-2"),
+                new EndpointProperties("http://localhost:" + server.getAddress().getPort() + "/b", "us-west-2")));
+        final var start = System.nanoTime();
+
+        // Act
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties(server.getAddress().getPort()))
+                .routingProperties(routing)
+                .poolProperties(new PoolProperties(2, null, null, null, null, null, null, null))
+                .warmUpProperties(new WarmUpProperties(8, 5_000, false))
+                .build();
+        final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Assert
+        final var report = httpClient.getWarmUp().join();
+        assertEquals(4, report.connections());
+        assertEquals(0, report.failures());
+        assertTrue(elapsed.compareTo(Duration.ofSeconds(2)) < 0, "elapsed " + elapsed);
+    }
+
+    @Test
+    void testBackgroundWarmUpReportsFailures() throws Exception {
+        // Arrange
+        final int closedPort;
+        try (var socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        httpClient = new HttpClient.Builder()
+                .awsProperties(awsProperties(closedPort))
+                .warmUpProperties(new WarmUpProperties(2, 5_000, true))
+                .build();
+
+        // Act
+        final var report = httpClient.getWarmUp().join();
+
+        // Assert
+        assertEquals(0, report.connections());
+        assertEquals(2, report.failures());
+    }
+
+    private static AwsProperties awsProperties(final int port) {
+        return new AwsProperties("accessKey", "secretKey", "us-west-2", "http://localhost:" + port + "/",
+                "execute-api", 10_000);
+    }
+}
@@ -0,0 +1,47 @@
+import com.github.mrcrobben.metrics.LatencyHistogram;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testPercentilesAreWithinBucketPrecision() {
+        // Arrange
+        final var histogram = new LatencyHistogram();
+
+        // Act
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        // Assert
+        assertEquals(1_000, histogram.count());
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(500), histogram.valueAtPercentile(50));
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(990), histogram.valueAtPercentile(99));
+        assertWithin(TimeUnit.MICROSECONDS.toNanos(1_000), histogram.valueAtPercentile(100));
+    }
+
+    @Test
+    void testSmallValuesAreExact() {
+        // Arrange
+        final var histogram = new LatencyHistogram();
+
+        // Act
+        histogram.record(3);
+        histogram.record(-5);
+
+        // Assert
+        assertEquals(0, histogram.valueAtPercentile(50));
+        assertEquals(3, histogram.valueAtPercentile(100));
+        assertEquals(1.5, histogram.mean());
+    }
+
+    private static void assertWithin(final long expected, final long actual) {
+        assertTrue(Math.abs(actual - expected) <= expected / 50,
+                "Expected about " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,188 @@
+import com.github.mrcrobben.client.ApiRequest;
+import com.github.mrcrobben.client.ContentType;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.client.RequestBody;
+import com.github.mrcrobben.model.AwsProperties;
+import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.model.RetryProperties;
+import com.github.mrcrobben.model.TransportType;
+import com.github.mrcrobben.testing.LoadGenerator;
+import com.github.mrcrobben.testing.LocalGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalGatewayTest {
+
+    private LocalGateway gateway;
+    private HttpClient httpClient;
+
+    @AfterEach
+    void tearDown() {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        if (gateway != null) {
+            gateway.close();
+        }
+    }
+
+    @Test
+    void testSignedRequestsAreAccepted() throws Exception {
+        // Arrange
+        gateway = new LocalGateway.Builder().payloadSize(1_000).build();
+        httpClient = new HttpClient.Builder().awsProperties(gateway.awsProperties("/prod")).build();
+        final var request = new ApiRequest.Builder()
+                .method(HttpMethod.POST)
+                .contentType(ContentType.JSON)
+                .path("/orders/a%20b")
+                .queryParameter("z", "1")
+                .queryParameter("a", "x=y&z")
+                .header("X-Trace", "  spaced   value ")
+                .body(RequestBody.fromString("{\"id\":1}"))
+                .build();
+
+        // Act
+        try (var response = httpClient.executeForResponse(request)) {
+
+            // Assert
+            assertEquals(200, response.statusCode());
+            assertEquals(1_000, response.body().readAllBytes().length);
+        }
+        assertEquals(1, gateway.getRequestCount());
+        assertEquals(0, gateway.getRejectedCount());
+    }
+
+    @Test
+    void testSignedGetRequestsAreAcceptedOverUrlConnection() {
+        // Arrange
+        gateway = new LocalGateway.Builder().build();
+        httpClient = new HttpClient.Builder()
+                .awsProperties(gateway.awsProperties("/prod"))
+                .transportType(TransportType.URL_CONNECTION)
+                .build();
+
+        // Act
+        try (var response = httpClient.executeForResponse(ApiRequest.of(HttpMethod.GET, "", ContentType.JSON))) {
+
+            // Assert
+            assertEquals(200, response.statusCode());
+        }
+        assertEquals(0, gateway.getRejectedCount());
+    }
+
+    @Test
+    void testRequestsSignedWithAnotherSecretAreRejected() {
+        // Arrange
+        gateway = new LocalGateway.Builder().credentials("accessKey", "secretKey").build();
+        httpClient = new HttpClient.Builder()
+                .awsProperties(new AwsProperties("accessKey", "otherSecret", "us-west-2",
+                        gateway.endpoint() + "/prod", "execute-api", 10_000))
+                .build();
+
+        // Act
+        try (var response = httpClient.executeForResponse(ApiRequest.of(HttpMethod.POST, "{}", ContentType.JSON))) {
+
+            // Assert
+            assertEquals(403, response.statusCode());
+            assertTrue(response.errorBody().contains("signature we calculated does not match"));
+        }
+        assertEquals(1, gateway.getRejectedCount());
+    }
+
+    @Test
+    void testUnsignedRequestsAreRejected() throws Exception {
+        // Arrange
+        gateway = new LocalGateway.Builder().build();
+
+        // Act
+        final var response = java.net.http.HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create(gateway.endpoint() + "/prod")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        // Assert
+        assertEquals(403, response.statusCode());
+        assertEquals("{\"message\":\"Missing Authentication Token\"}", response.body());
+    }
+
+    @Test
+    void testThrottlingAndServerErrorsAreInjected() {
+        // Arrange
+        try (var throttling = new LocalGateway.Builder().throttleRate(1).build();
+             var failing = new LocalGateway.Builder().serverErrors(1, 502).build();
+             var throttledClient = new HttpClient.Builder().awsProperties(throttling.awsProperties("/")).build();
+             var failingClient = new HttpClient.Builder().awsProperties(failing.awsProperties("/")).build()) {
+
+            // Act
+            final var throttled = throttledClient.executeForResponse(ApiRequest.of(HttpMethod.GET, "",
+                    ContentType.JSON));
+            final var failed = failingClient.executeForResponse(ApiRequest.of(HttpMethod.GET, "", ContentType.JSON));
+
+            // Assert
+            assertEquals(429, throttled.statusCode());
+            assertEquals(502, failed.statusCode());
+            throttled.close();
+            failed.close();
+            assertEquals(1, throttling.getThrottledCount());
+            assertEquals(1, failing.getServerErrorCount());
+        }
+    }
+
+    @Test
+    void testLatencyIsInjected() {
+        // Arrange
+        gateway = new LocalGateway.Builder().latency(Duration.ofMillis(100), Duration.ZERO).build();
+        httpClient = new HttpClient.Builder().awsProperties(gateway.awsProperties("/prod")).build();
+
+        // Act
+        final var start = System.nanoTime();
+        try (var response = httpClient.executeForResponse(ApiRequest.of(HttpMethod.GET, "", ContentType.JSON))) {
+            final var elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            // Assert
+            assertEquals(200, response.statusCode());
+            assertTrue(elapsed.compareTo(Duration.ofMillis(100)) >= 0, "elapsed " + elapsed);
+        }
+    }
+
+    @Test
+    void testLoadGeneratorReportsThroughputLatencyAndErrors() throws Exception {
+        // Arrange
+        gateway = new LocalGateway.Builder()
+                .latency(Duration.ofMillis(5), Duration.ofMillis(5))
+                .throttleRate(0.2)
+                .build();
+        httpClient = new HttpClient.Builder()
+                .awsProperties(gateway.awsProperties("/prod"))
+                .retryProperties(RetryProperties.DISABLED)
+                .build();
+        final var generator = new LoadGenerator.Builder()
+                .httpClient(httpClient)
+                .request(() -> ApiRequest.of(HttpMethod.POST, "{}", ContentType.JSON))
+                .rate(400)
+                .concurrency(8)
+                .duration(Duration.ofMillis(500))
+                .build();
+
+        // Act
+        final var report = generator.run();
+
+        // Assert
+        assertEquals(200, report.requests());
+        assertEquals(200, gateway.getRequestCount());
+        assertEquals(0, gateway.getRejectedCount());
+        assertEquals(gateway.getThrottledCount(), report.throttled());
+        assertEquals(report.requests(), report.successes() + report.throttled());
+        assertEquals((double) report.throttled() / report.requests(), report.errorRate(), 1e-9);
+        assertTrue(report.throughput() > 100, "throughput " + report.throughput());
+        assertTrue(report.latencyAtPercentile(99) >= Duration.ofMillis(5).toNanos());
+        assertTrue(report.latencyAtPercentile(50) <= report.latencyAtPercentile(99));
+    }
+}
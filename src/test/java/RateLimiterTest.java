@@ -0,0 +1,57 @@
+import com.github.mrcrobben.model.RateLimitProperties;
+import com.github.mrcrobben.resilience.RateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void testBurstIsAvailableImmediately() {
+        // Arrange
+        final var limiter = new RateLimiter(new RateLimitProperties(1, 5, 0));
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void testBlockingAcquireWaitsForSteadyRate() throws Exception {
+        // Arrange
+        final var limiter = new RateLimiter(new RateLimitProperties(20, 1, 1_000));
+        assertTrue(limiter.tryAcquire());
+
+        // Act
+        final var start = System.nanoTime();
+        assertTrue(limiter.acquire(Duration.ofSeconds(1)));
+        assertTrue(limiter.acquire(Duration.ofSeconds(1)));
+        final var elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Assert
+        assertTrue(elapsedMillis >= 80, "Permits were granted too early, after " + elapsedMillis + " ms");
+        assertFalse(limiter.acquire(Duration.ZERO));
+    }
+
+    @Test
+    void testAsyncAcquireCompletesWithoutBlocking() throws Exception {
+        // Arrange
+        final var limiter = new RateLimiter(new RateLimitProperties(10, 1, 1_000));
+        assertTrue(limiter.tryAcquire());
+
+        // Act
+        final var permit = limiter.acquireAsync(Duration.ofSeconds(1));
+        final var rejected = limiter.acquireAsync(Duration.ofMillis(50));
+
+        // Assert
+        assertFalse(permit.isDone());
+        assertTrue(permit.get(1, TimeUnit.SECONDS));
+        assertFalse(rejected.join());
+    }
+}
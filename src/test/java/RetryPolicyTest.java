@@ -0,0 +1,79 @@
+import com.github.mrcrobben.model.HttpMethod;
+import com.github.mrcrobben.model.RetryProperties;
+import com.github.mrcrobben.resilience.RetryPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryPolicyTest {
+
+    @Test
+    void testThrottledRequestsAreRetriedForAllMethods() {
+        // Arrange
+        final var policy = new RetryPolicy(new RetryProperties(3, 10, 1_000, 100, 5, false));
+
+        // Act & Assert
+        assertTrue(policy.nextDelay(HttpMethod.POST, true, 1, 429, null).isPresent());
+        assertTrue(policy.nextDelay(HttpMethod.GET, true, 1, 503, null).isPresent());
+        assertFalse(policy.nextDelay(HttpMethod.POST, true, 1, 503, null).isPresent());
+        assertFalse(policy.nextDelay(HttpMethod.PATCH, true, 1, -1, null).isPresent());
+        assertFalse(policy.nextDelay(HttpMethod.GET, true, 1, 400, null).isPresent());
+    }
+
+    @Test
+    void testAttemptsAndRepeatabilityLimitRetries() {
+        // Arrange
+        final var policy = new RetryPolicy(new RetryProperties(3, 10, 1_000, 100, 5, true));
+
+        // Act & Assert
+        assertTrue(policy.nextDelay(HttpMethod.POST, true, 2, 502, null).isPresent());
+        assertFalse(policy.nextDelay(HttpMethod.POST, true, 3, 502, null).isPresent());
+        assertFalse(policy.nextDelay(HttpMethod.POST, false, 1, 502, null).isPresent());
+    }
+
+    @Test
+    void testRetryAfterIsHonouredAndCapped() {
+        // Arrange
+        final var policy = new RetryPolicy(new RetryProperties(5, 1, 3_000, 100, 1, false));
+
+        // Act
+        final var delay = policy.nextDelay(HttpMethod.GET, true, 1, 429, "2").orElseThrow();
+        final var capped = policy.nextDelay(HttpMethod.GET, true, 1, 429, "120").orElseThrow();
+
+        // Assert
+        assertEquals(Duration.ofSeconds(2), delay);
+        assertEquals(Duration.ofSeconds(3), capped);
+    }
+
+    @Test
+    void testRetryBudgetStopsRetriesUntilRefilled() {
+        // Arrange
+        final var policy = new RetryPolicy(new RetryProperties(3, 0, 0, 10, 5, false));
+
+        // Act & Assert
+        assertTrue(policy.nextDelay(HttpMethod.GET, true, 1, 503, null).isPresent());
+        assertTrue(policy.nextDelay(HttpMethod.GET, true, 1, 503, null).isPresent());
+        assertFalse(policy.nextDelay(HttpMethod.GET, true, 1, 503, null).isPresent());
+
+        for (int i = 0; i < 5; i++) {
+            policy.onSuccess();
+        }
+        assertTrue(policy.nextDelay(HttpMethod.GET, true, 1, 503, null).isPresent());
+        assertEquals(0, policy.budget().available());
+    }
+
+    @Test
+    void testInvalidPropertiesAreRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new RetryProperties(0, 10, 1_000, 100, 5, false));
+        assertThrows(IllegalArgumentException.class, () -> new RetryProperties(3, -1, 1_000, 100, 5, false));
+        assertThrows(IllegalArgumentException.class, () -> new RetryProperties(3, 10, -1, 100, 5, false));
+        assertThrows(IllegalArgumentException.class, () -> new RetryProperties(3, 100, 10, 100, 5, false));
+        assertThrows(IllegalArgumentException.class, () -> new RetryProperties(3, 10, 1_000, -1, 5, false));
+    }
+}
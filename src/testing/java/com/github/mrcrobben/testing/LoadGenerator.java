@@ -0,0 +1,243 @@
+package com.github.mrcrobben.testing;
+
+import com.github.mrcrobben.client.ApiRequest;
+import com.github.mrcrobben.client.HttpClient;
+import com.github.mrcrobben.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Drives an {@link HttpClient} at a target request rate and concurrency for a given duration, and reports
+ * throughput, latency percentiles and error rates in a {@link LoadReport}.
+ * <p>
+ * Requests are scheduled at fixed intervals from the start of the run and executed by a fixed number of workers,
+ * each sending one blocking request at a time and reading its body. When all workers are busy the following
+ * requests start late, and their latency is counted from the time they were scheduled, so a saturated client shows
+ * up in the percentiles instead of silently lowering the rate. Without a target rate the workers send requests back
+ * to back. Exactly {@code rate * duration} requests are scheduled; the run ends once all of them have completed.
+ * </p>
+ * <pre>{@code
+ * LoadReport report = new LoadGenerator.Builder()
+ *         .httpClient(client)
+ *         .request(() -> ApiRequest.of(HttpMethod.POST, "{}", ContentType.JSON))
+ *         .rate(500)
+ *         .concurrency(32)
+ *         .duration(Duration.ofSeconds(30))
+ *         .build()
+ *         .run();
+ * }</pre>
+ */
+public final class LoadGenerator {
+
+    private final HttpClient httpClient;
+    private final Supplier<ApiRequest> request;
+    private final int rate;
+    private final int concurrency;
+    private final Duration duration;
+
+    private LoadGenerator(final Builder builder) {
+        if (builder.httpClient == null) {
+            throw new IllegalArgumentException("HTTP client must not be null.");
+        }
+        if (builder.request == null) {
+            throw new IllegalArgumentException("Request must not be null.");
+        }
+        this.httpClient = builder.httpClient;
+        this.request = builder.request;
+        this.rate = builder.rate;
+        this.concurrency = builder.concurrency;
+        this.duration = builder.duration;
+    }
+
+    /**
+     * Runs the load test and waits for it to complete.
+     *
+     * @return the {@link LoadReport} of the run.
+     * @throws InterruptedException if the calling thread is interrupted; the workers are stopped.
+     */
+    public LoadReport run() throws InterruptedException {
+        final var latency = new LatencyHistogram();
+        final var successes = new LongAdder();
+        final var throttled = new LongAdder();
+        final var serverErrors = new LongAdder();
+        final var clientErrors = new LongAdder();
+        final var failures = new LongAdder();
+        final var next = new AtomicLong();
+
+        final var durationNanos = duration.toNanos();
+        final var intervalNanos = rate > 0 ? 1e9 / rate : 0;
+        final var scheduled = rate > 0 ? durationNanos * rate / 1_000_000_000L : Long.MAX_VALUE;
+
+        final var threads = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            final var thread = new Thread(runnable, "api-gateway-load-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        final var start = System.nanoTime();
+        final var end = start + durationNanos;
+        final List<Future<?>> workers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(executor.submit(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    final var index = next.getAndIncrement();
+                    if (index >= scheduled) {
+                        return;
+                    }
+                    final long startAt;
+                    if (rate > 0) {
+                        startAt = start + (long) (index * intervalNanos);
+                        for (var wait = startAt - System.nanoTime(); wait > 0; wait = startAt - System.nanoTime()) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    } else {
+                        startAt = System.nanoTime();
+                        if (startAt - end >= 0) {
+                            return;
+                        }
+                    }
+
+                    final var status = execute();
+                    latency.record(System.nanoTime() - startAt);
+                    if (status < 0) {
+                        failures.increment();
+                    } else if (status < 300) {
+                        successes.increment();
+                    } else if (status == 429) {
+                        throttled.increment();
+                    } else if (status >= 500) {
+                        serverErrors.increment();
+                    } else {
+                        clientErrors.increment();
+                    }
+                }
+            }));
+        }
+        executor.shutdown();
+        try {
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new LoadReport(latency.count(), successes.sum(), throttled.sum(), serverErrors.sum(),
+                clientErrors.sum(), failures.sum(), System.nanoTime() - start, latency);
+    }
+
+    /**
+     * Executes one request and reads its body.
+     *
+     * @return the status code, or {@code -1} if no response was received.
+     */
+    private int execute() {
+        try (var response = httpClient.executeForResponse(request.get())) {
+            response.body().transferTo(OutputStream.nullOutputStream());
+            return response.statusCode();
+        } catch (IOException | RuntimeException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Builder of {@link LoadGenerator} instances.
+     */
+    public static class Builder {
+
+        private HttpClient httpClient;
+        private Supplier<ApiRequest> request;
+        private int rate;
+        private int concurrency = 1;
+        private Duration duration = Duration.ofSeconds(10);
+
+        /**
+         * Sets the client to drive.
+         *
+         * @param httpClient the client. Must not be {@code null}.
+         * @return this builder.
+         */
+        public Builder httpClient(final HttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * Sets the supplier of the requests to send. It is called once per request, from the workers.
+         *
+         * @param request the thread-safe request supplier. Must not be {@code null}.
+         * @return this builder.
+         */
+        public Builder request(final Supplier<ApiRequest> request) {
+            this.request = request;
+            return this;
+        }
+
+        /**
+         * Sets the target rate. Defaults to {@code 0}, sending requests back to back for the duration.
+         *
+         * @param rate the number of requests per second, or {@code 0} for no target rate. Must not be negative.
+         * @return this builder.
+         */
+        public Builder rate(final int rate) {
+            if (rate < 0) {
+                throw new IllegalArgumentException("Rate must not be negative.");
+            }
+            this.rate = rate;
+            return this;
+        }
+
+        /**
+         * Sets the number of workers, the maximum number of requests in flight. Defaults to {@code 1}.
+         *
+         * @param concurrency the number of workers. Must be positive.
+         * @return this builder.
+         */
+        public Builder concurrency(final int concurrency) {
+            if (concurrency < 1) {
+                throw new IllegalArgumentException("Concurrency must be positive.");
+            }
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * Sets the duration over which requests are scheduled. Defaults to 10 seconds.
+         *
+         * @param duration the duration. Must not be {@code null} or negative.
+         * @return this builder.
+         */
+        public Builder duration(final Duration duration) {
+            if (duration == null || duration.isNegative()) {
+                throw new IllegalArgumentException("Duration must not be null or negative.");
+            }
+            this.duration = duration;
+            return this;
+        }
+
+        /**
+         * Builds the load generator.
+         *
+         * @return a new {@code LoadGenerator}.
+         * @throws IllegalArgumentException if no client or request supplier is set.
+         */
+        public LoadGenerator build() {
+            return new LoadGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.github.mrcrobben.testing;
+
+import com.github.mrcrobben.metrics.LatencyHistogram;
+
+/**
+ * The outcome of a load test run by a {@link LoadGenerator}.
+ * <p>
+ * Latencies are measured from the time a request was scheduled to start, not from the time it was sent, so time
+ * spent waiting for a free worker while the client falls behind the target rate is included.
+ * </p>
+ *
+ * @param requests the number of requests completed, successfully or not.
+ * @param successes the number of requests answered with a 2xx status.
+ * @param throttled the number of requests answered with {@code 429}.
+ * @param serverErrors the number of requests answered with a 5xx status.
+ * @param clientErrors the number of requests answered with another 4xx status.
+ * @param failures the number of requests that received no response, including requests rejected by the client.
+ * @param elapsedNanos the time from the first scheduled request to the last completed one.
+ * @param latency the histogram of the latencies of all completed requests.
+ */
+public record LoadReport(long requests,
+                         long successes,
+                         long throttled,
+                         long serverErrors,
+                         long clientErrors,
+                         long failures,
+                         long elapsedNanos,
+                         LatencyHistogram latency) {
+
+    /**
+     * Returns the number of requests completed per second.
+     *
+     * @return the throughput, or {@code 0} if no time elapsed.
+     */
+    public double throughput() {
+        return elapsedNanos > 0 ? requests * 1e9 / elapsedNanos : 0;
+    }
+
+    /**
+     * Returns the share of the requests that did not succeed.
+     *
+     * @return the error rate between {@code 0} and {@code 1}, or {@code 0} if no request completed.
+     */
+    public double errorRate() {
+        return requests > 0 ? (double) (requests - successes) / requests : 0;
+    }
+
+    /**
+     * Returns the latency at the given percentile.
+     *
+     * @param percentile the percentile, between {@code 0} and {@code 100}.
+     * @return the latency in nanoseconds.
+     */
+    public long latencyAtPercentile(final double percentile) {
+        return latency.valueAtPercentile(percentile);
+    }
+}
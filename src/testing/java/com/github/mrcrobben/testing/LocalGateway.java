@@ -0,0 +1,404 @@
+package com.github.mrcrobben.testing;
+
+import com.github.mrcrobben.model.AwsProperties;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An embeddable stand-in for the API Gateway, for integration and load tests that must not reach AWS.
+ * <p>
+ * The gateway listens on the loopback interface and answers requests to any path. Like the API Gateway with IAM
+ * authorization, it first verifies the AWS Signature Version 4 of every request against the configured credentials,
+ * region and service, and rejects requests with a missing or invalid signature with {@code 403}. It then throttles a
+ * share of the requests with {@code 429}, both before the integration is reached. The remaining requests are answered
+ * after an injected latency, either with a server error or with {@code 200} and a payload of the configured size.
+ * </p>
+ * <p>
+ * Latency is injected without holding a thread, so thousands of requests can be in flight. Faults are drawn at
+ * random per request; rates of {@code 0} and {@code 1} make them deterministic. Counters of the answered requests
+ * are kept for assertions.
+ * </p>
+ * <pre>{@code
+ * try (LocalGateway gateway = new LocalGateway.Builder().credentials("accessKey", "secretKey").build()) {
+ *     HttpClient client = new HttpClient.Builder().awsProperties(gateway.awsProperties("/prod/orders")).build();
+ *     // ...
+ * }
+ * }</pre>
+ */
+public final class LocalGateway implements AutoCloseable {
+
+    private static final byte[] THROTTLED = "{\"message\":\"Too Many Requests\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SERVER_ERROR = "{\"message\":\"Internal server error\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final String accessKey;
+    private final String secretKey;
+    private final String region;
+    private final String serviceName;
+    private final SignatureVerifier verifier;
+    private final long latencyNanos;
+    private final long jitterNanos;
+    private final double throttleRate;
+    private final double serverErrorRate;
+    private final int serverErrorStatus;
+    private final byte[] payload;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+
+    private LocalGateway(final Builder builder) {
+        this.accessKey = builder.accessKey;
+        this.secretKey = builder.secretKey;
+        this.region = builder.region;
+        this.serviceName = builder.serviceName;
+        this.verifier = builder.verifySignatures
+                ? new SignatureVerifier(accessKey, secretKey, region, serviceName, Clock.systemUTC())
+                : null;
+        this.latencyNanos = builder.latency.toNanos();
+        this.jitterNanos = builder.jitter.toNanos();
+        this.throttleRate = builder.throttleRate;
+        this.serverErrorRate = builder.serverErrorRate;
+        this.serverErrorStatus = builder.serverErrorStatus;
+        this.payload = new byte[builder.payloadSize];
+        Arrays.fill(payload, (byte) 'x');
+
+        final var threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final var thread = new Thread(runnable, "local-gateway-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final var thread = new Thread(runnable, "local-gateway-latency");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), builder.port),
+                    1024);
+        } catch (IOException e) {
+            executor.shutdownNow();
+            scheduler.shutdownNow();
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Returns the base URL of the gateway, without a trailing slash.
+     *
+     * @return the URL, such as {@code http://127.0.0.1:50123}.
+     */
+    public String endpoint() {
+        return "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Returns AWS properties with the credentials, region and service of this gateway, for a client sending
+     * requests to the given path.
+     *
+     * @param path the resource path of the endpoint, such as {@code /prod/orders}. Must not be {@code null}.
+     * @return the {@link AwsProperties}, with a socket timeout of 10 seconds.
+     */
+    public AwsProperties awsProperties(final String path) {
+        if (path == null) {
+            throw new IllegalArgumentException("Path must not be null.");
+        }
+        return new AwsProperties(accessKey, secretKey, region, endpoint() + path, serviceName, 10_000);
+    }
+
+    /**
+     * Returns the number of requests received.
+     *
+     * @return the number of requests, whatever they were answered with.
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns the number of requests rejected with {@code 403} for a missing or invalid signature.
+     *
+     * @return the number of rejected requests.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the number of requests throttled with {@code 429}.
+     *
+     * @return the number of throttled requests.
+     */
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    /**
+     * Returns the number of requests answered with an injected server error.
+     *
+     * @return the number of server errors.
+     */
+    public long getServerErrorCount() {
+        return serverErrors.sum();
+    }
+
+    /**
+     * Stops the gateway, dropping requests in flight.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        final var body = exchange.getRequestBody().readAllBytes();
+        requests.increment();
+
+        if (verifier != null) {
+            final var reason = verifier.verify(exchange.getRequestMethod(), exchange.getRequestURI(),
+                    exchange.getRequestHeaders(), body);
+            if (reason.isPresent()) {
+                rejected.increment();
+                respond(exchange, 403, "application/json",
+                        ("{\"message\":\"" + reason.get() + "\"}").getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+
+        final var random = ThreadLocalRandom.current();
+        if (throttleRate > 0 && random.nextDouble() < throttleRate) {
+            throttled.increment();
+            respond(exchange, 429, "application/json", THROTTLED);
+            return;
+        }
+
+        final var failed = serverErrorRate > 0 && random.nextDouble() < serverErrorRate;
+        final Runnable reply = () -> {
+            if (failed) {
+                serverErrors.increment();
+                respondQuietly(exchange, serverErrorStatus, "application/json", SERVER_ERROR);
+            } else {
+                respondQuietly(exchange, 200, "text/plain", payload);
+            }
+        };
+        final var delay = latencyNanos + (jitterNanos > 0 ? random.nextLong(jitterNanos + 1) : 0);
+        if (delay > 0) {
+            scheduler.schedule(() -> executor.execute(reply), delay, TimeUnit.NANOSECONDS);
+        } else {
+            reply.run();
+        }
+    }
+
+    private static void respondQuietly(final HttpExchange exchange, final int status, final String contentType,
+                                       final byte[] body) {
+        try {
+            respond(exchange, status, contentType, body);
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+
+    private static void respond(final HttpExchange exchange, final int status, final String contentType,
+                                final byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("x-amzn-RequestId", UUID.randomUUID().toString());
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (var out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Builder of {@link LocalGateway} instances. The gateway is started by {@link #build()}.
+     */
+    public static class Builder {
+
+        private String accessKey = "accessKey";
+        private String secretKey = "secretKey";
+        private String region = "us-west-2";
+        private String serviceName = "execute-api";
+        private boolean verifySignatures = true;
+        private int port;
+        private Duration latency = Duration.ZERO;
+        private Duration jitter = Duration.ZERO;
+        private double throttleRate;
+        private double serverErrorRate;
+        private int serverErrorStatus = 503;
+        private int payloadSize = 16;
+
+        /**
+         * Sets the credentials requests must be signed with. Defaults to {@code accessKey} and {@code secretKey}.
+         *
+         * @param accessKey the access key id. Must not be {@code null}.
+         * @param secretKey the secret access key. Must not be {@code null}.
+         * @return this builder.
+         */
+        public Builder credentials(final String accessKey, final String secretKey) {
+            if (accessKey == null || secretKey == null) {
+                throw new IllegalArgumentException("Credentials must not be null.");
+            }
+            this.accessKey = accessKey;
+            this.secretKey = secretKey;
+            return this;
+        }
+
+        /**
+         * Sets the region requests must be signed for. Defaults to {@code us-west-2}.
+         *
+         * @param region the signing region. Must not be {@code null}.
+         * @return this builder.
+         */
+        public Builder region(final String region) {
+            if (region == null) {
+                throw new IllegalArgumentException("Region must not be null.");
+            }
+            this.region = region;
+            return this;
+        }
+
+        /**
+         * Sets the service requests must be signed for. Defaults to {@code execute-api}.
+         *
+         * @param serviceName the signing name of the service. Must not be {@code null}.
+         * @return this builder.
+         */
+        public Builder serviceName(final String serviceName) {
+            if (serviceName == null) {
+                throw new IllegalArgumentException("Service name must not be null.");
+            }
+            this.serviceName = serviceName;
+            return this;
+        }
+
+        /**
+         * Sets whether signatures are verified. Defaults to {@code true}.
+         *
+         * @param verifySignatures {@code false} to accept unsigned requests.
+         * @return this builder.
+         */
+        public Builder verifySignatures(final boolean verifySignatures) {
+            this.verifySignatures = verifySignatures;
+            return this;
+        }
+
+        /**
+         * Sets the port to listen on. Defaults to {@code 0}, an ephemeral port.
+         *
+         * @param port the port, between {@code 0} and {@code 65535}.
+         * @return this builder.
+         */
+        public Builder port(final int port) {
+            if (port < 0 || port > 65_535) {
+                throw new IllegalArgumentException("Port must be between 0 and 65535.");
+            }
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Sets the latency injected before a request that passed authorization and throttling is answered. The
+         * latency of a request is the base latency plus a uniformly distributed share of the jitter. Defaults to no
+         * latency.
+         *
+         * @param latency the base latency. Must not be {@code null} or negative.
+         * @param jitter the maximum latency added to the base latency. Must not be {@code null} or negative.
+         * @return this builder.
+         */
+        public Builder latency(final Duration latency, final Duration jitter) {
+            if (latency == null || jitter == null) {
+                throw new IllegalArgumentException("Latency must not be null.");
+            }
+            if (latency.isNegative() || jitter.isNegative()) {
+                throw new IllegalArgumentException("Latency must not be negative.");
+            }
+            this.latency = latency;
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Sets the share of signed requests answered with {@code 429}. Defaults to {@code 0}.
+         *
+         * @param throttleRate the share, between {@code 0} and {@code 1}.
+         * @return this builder.
+         */
+        public Builder throttleRate(final double throttleRate) {
+            this.throttleRate = rate(throttleRate);
+            return this;
+        }
+
+        /**
+         * Sets the share of the requests that were not throttled answered with a server error. Defaults to
+         * {@code 0}.
+         *
+         * @param serverErrorRate the share, between {@code 0} and {@code 1}.
+         * @param status the status of the server errors, such as {@code 502} or {@code 503}. Must be a 5xx status.
+         * @return this builder.
+         */
+        public Builder serverErrors(final double serverErrorRate, final int status) {
+            if (status < 500 || status > 599) {
+                throw new IllegalArgumentException("Server error status must be between 500 and 599.");
+            }
+            this.serverErrorRate = rate(serverErrorRate);
+            this.serverErrorStatus = status;
+            return this;
+        }
+
+        /**
+         * Sets the size of the plain text payload of successful responses. Defaults to 16 bytes.
+         *
+         * @param payloadSize the size in bytes. Must not be negative.
+         * @return this builder.
+         */
+        public Builder payloadSize(final int payloadSize) {
+            if (payloadSize < 0) {
+                throw new IllegalArgumentException("Payload size must not be negative.");
+            }
+            this.payloadSize = payloadSize;
+            return this;
+        }
+
+        /**
+         * Builds and starts the gateway.
+         *
+         * @return a new, listening {@code LocalGateway}.
+         * @throws UncheckedIOException if the port cannot be bound.
+         */
+        public LocalGateway build() {
+            return new LocalGateway(this);
+        }
+
+        private static double rate(final double rate) {
+            if (!(rate >= 0 && rate <= 1)) {
+                throw new IllegalArgumentException("Rate must be between 0 and 1.");
+            }
+            return rate;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.github.mrcrobben.testing;
+
+import com.sun.net.httpserver.Headers;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Verifies AWS Signature Version 4 signatures of requests as received on the wire.
+ * <p>
+ * The canonical request is rebuilt independently of the SDK signer from the method, raw path, raw query, the headers
+ * listed as signed and the received payload, following the rules the API Gateway applies: the path is normalized and
+ * encoded a second time, the query parameters are sorted, and the payload hash sent in
+ * {@code x-amz-content-sha256} must match the payload unless it is {@code UNSIGNED-PAYLOAD}. The signature is then
+ * recomputed with the known secret key and compared in constant time.
+ * </p>
+ */
+final class SignatureVerifier {
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+    private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private final String accessKey;
+    private final byte[] secretKey;
+    private final String region;
+    private final String serviceName;
+    private final Clock clock;
+
+    SignatureVerifier(final String accessKey, final String secretKey, final String region, final String serviceName,
+                      final Clock clock) {
+        this.accessKey = accessKey;
+        this.secretKey = ("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8);
+        this.region = region;
+        this.serviceName = serviceName;
+        this.clock = clock;
+    }
+
+    /**
+     * Verifies the signature of a request.
+     *
+     * @param method the request method.
+     * @param uri the request URI as received, with its raw path and query.
+     * @param headers the request headers.
+     * @param payload the request payload as received.
+     * @return the reason the request is rejected with, as the API Gateway words it, or an empty {@link Optional} if
+     * the signature is valid.
+     */
+    Optional<String> verify(final String method, final URI uri, final Headers headers, final byte[] payload) {
+        final var authorization = headers.getFirst("Authorization");
+        if (authorization == null) {
+            return Optional.of("Missing Authentication Token");
+        }
+        final var fields = Authorization.parse(authorization);
+        if (fields == null) {
+            return Optional.of("Authorization header requires 'Credential', 'SignedHeaders' and 'Signature'.");
+        }
+
+        final var scope = fields.credential().split("/");
+        if (scope.length != 5 || !"aws4_request".equals(scope[4])) {
+            return Optional.of("Credential should be scoped to a valid region.");
+        }
+        if (!accessKey.equals(scope[0])) {
+            return Optional.of("The security token included in the request is invalid.");
+        }
+        if (!region.equals(scope[2])) {
+            return Optional.of("Credential should be scoped to a valid region, not '" + scope[2] + "'.");
+        }
+        if (!serviceName.equals(scope[3])) {
+            return Optional.of("Credential should be scoped to correct service: '" + serviceName + "'.");
+        }
+
+        final var amzDate = headers.getFirst("X-Amz-Date");
+        final Instant signedAt;
+        try {
+            signedAt = amzDate != null ? Instant.from(AMZ_DATE.parse(amzDate)) : null;
+        } catch (DateTimeParseException e) {
+            return Optional.of("Date must be in ISO-8601 'basic format'.");
+        }
+        if (signedAt == null || !amzDate.startsWith(scope[1])) {
+            return Optional.of("Date in Credential scope does not match YYYYMMDD from ISO-8601 version of date.");
+        }
+        if (Duration.between(signedAt, clock.instant()).abs().compareTo(MAX_CLOCK_SKEW) > 0) {
+            return Optional.of("Signature expired: " + amzDate + " is now earlier or later than the allowed skew.");
+        }
+
+        final var payloadHash = hex(sha256(payload));
+        final var contentHash = headers.getFirst("X-Amz-Content-Sha256");
+        if (contentHash != null && !UNSIGNED_PAYLOAD.equals(contentHash) && !contentHash.equals(payloadHash)) {
+            return Optional.of("The provided 'x-amz-content-sha256' header does not match what was computed.");
+        }
+
+        final var canonicalHeaders = new StringBuilder();
+        for (String name : fields.signedHeaders()) {
+            final var values = headers.get(name);
+            if (values == null) {
+                return Optional.of("The request signature we calculated does not match the signature you provided.");
+            }
+            canonicalHeaders.append(name).append(':');
+            for (int i = 0; i < values.size(); i++) {
+                canonicalHeaders.append(i == 0 ? "" : ",").append(trimAll(values.get(i)));
+            }
+            canonicalHeaders.append('\n');
+        }
+
+        final var canonicalRequest = method + '\n'
+                + canonicalPath(uri.getRawPath()) + '\n'
+                + canonicalQuery(uri.getRawQuery()) + '\n'
+                + canonicalHeaders + '\n'
+                + String.join(";", fields.signedHeaders()) + '\n'
+                + (contentHash != null ? contentHash : payloadHash);
+        final var stringToSign = ALGORITHM + '\n'
+                + amzDate + '\n'
+                + fields.credential().substring(accessKey.length() + 1) + '\n'
+                + hex(sha256(canonicalRequest.getBytes(StandardCharsets.UTF_8)));
+
+        var key = hmac(secretKey, scope[1]);
+        key = hmac(key, scope[2]);
+        key = hmac(key, scope[3]);
+        key = hmac(key, scope[4]);
+        final var expected = hex(hmac(key, stringToSign)).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, fields.signature().getBytes(StandardCharsets.US_ASCII))) {
+            return Optional.of("The request signature we calculated does not match the signature you provided.");
+        }
+        return Optional.empty();
+    }
+
+    private static String canonicalPath(final String rawPath) {
+        if (rawPath == null || rawPath.isEmpty()) {
+            return "/";
+        }
+        final var normalized = URI.create(rawPath).normalize().getRawPath();
+        return SdkHttpUtils.urlEncodeIgnoreSlashes(normalized.startsWith("/") ? normalized : "/" + normalized);
+    }
+
+    private static String canonicalQuery(final String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        final List<String> parameters = new ArrayList<>();
+        for (String parameter : rawQuery.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            final var separator = parameter.indexOf('=');
+            final var name = separator < 0 ? parameter : parameter.substring(0, separator);
+            final var value = separator < 0 ? "" : parameter.substring(separator + 1);
+            parameters.add(SdkHttpUtils.urlEncode(SdkHttpUtils.urlDecode(name)) + '='
+                    + SdkHttpUtils.urlEncode(SdkHttpUtils.urlDecode(value)));
+        }
+        parameters.sort(null);
+        return String.join("&", parameters);
+    }
+
+    private static String trimAll(final String value) {
+        return value.trim().replaceAll(" +", " ");
+    }
+
+    private static byte[] sha256(final byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] hmac(final byte[] key, final String data) {
+        try {
+            final var mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(final byte[] bytes) {
+        return BinaryUtils.toHex(bytes);
+    }
+
+    /**
+     * The fields of an {@code AWS4-HMAC-SHA256} authorization header.
+     */
+    private record Authorization(String credential, List<String> signedHeaders, String signature) {
+
+        static Authorization parse(final String header) {
+            if (!header.startsWith(ALGORITHM + " ")) {
+                return null;
+            }
+            String credential = null;
+            String signedHeaders = null;
+            String signature = null;
+            for (String field : header.substring(ALGORITHM.length() + 1).split(",")) {
+                final var separator = field.indexOf('=');
+                if (separator < 0) {
+                    return null;
+                }
+                final var value = field.substring(separator + 1).trim();
+                switch (field.substring(0, separator).trim()) {
+                    case "Credential" -> credential = value;
+                    case "SignedHeaders" -> signedHeaders = value;
+                    case "Signature" -> signature = value;
+                    default -> {
+                        return null;
+                    }
+                }
+            }
+            if (credential == null || signedHeaders == null || signature == null) {
+                return null;
+            }
+            return new Authorization(credential, List.of(signedHeaders.toLowerCase(Locale.ROOT).split(";")),
+                    signature);
+        }
+    }
+}